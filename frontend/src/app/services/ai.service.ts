@@ -1,6 +1,6 @@
 import { HttpClient } from '@angular/common/http';
 import { inject, Injectable } from '@angular/core';
-import { map } from 'rxjs';
+import { exhaustMap, first, map, take, timer } from 'rxjs';
 
 import { environment } from '../../app/src/environments/environment';
 import { ApiResponse } from '../core/api/api-response.model';
@@ -72,6 +72,17 @@ export interface AiResumeExtractionResponse {
   createdCount?: number | null;
 }
 
+export type AiJobStatus = 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED';
+
+export interface AiJob<T> {
+  id: number;
+  type: string;
+  status: AiJobStatus;
+  progress?: number | null;
+  result?: T | null;
+  error?: string | null;
+}
+
 @Injectable({ providedIn: 'root' })
 export class AiService {
   private readonly http = inject(HttpClient);
@@ -99,7 +110,30 @@ export class AiService {
       form.append('language', language);
     }
     return this.http
-      .post<ApiResponse<AiResumeExtractionResponse>>(`${this.baseUrl}/ai/resume/extract`, form)
+      .post<ApiResponse<AiJob<AiResumeExtractionResponse>>>(`${this.baseUrl}/ai/resume/extract`, form)
+      .pipe(exhaustMap(res => this.waitForJob<AiResumeExtractionResponse>(res.data.id)));
+  }
+
+  getJob<T>(id: number) {
+    return this.http
+      .get<ApiResponse<AiJob<T>>>(`${this.baseUrl}/ai/jobs/${id}`)
       .pipe(map(res => res.data));
   }
+
+  private waitForJob<T>(id: number, intervalMs = 1000, maxWaitMs = 120000) {
+    return timer(0, intervalMs).pipe(
+      take(Math.ceil(maxWaitMs / intervalMs)),
+      exhaustMap(() => this.getJob<T>(id)),
+      first(job => job.status === 'SUCCEEDED' || job.status === 'FAILED', null),
+      map(job => {
+        if (!job) {
+          throw new Error('Resume extraction timed out.');
+        }
+        if (job.status === 'FAILED') {
+          throw new Error(job.error || 'Resume extraction failed.');
+        }
+        return job.result ?? null;
+      })
+    );
+  }
 }
@@ -0,0 +1,237 @@
+package com.towork.ai.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.towork.ai.config.AiFeature;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.util.AiVectorUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed cache of raw model responses, keyed by a hash of model, prompts and sampling settings.
+ * The memory tier is a Caffeine cache (W-TinyLFU eviction, per-entry TTL); the optional disk tier stores one
+ * JSON file per key so entries survive restarts, except for {@code ai.cache.disk-excluded-features}. A periodic
+ * sweep deletes expired disk entries and caps the tier at {@code ai.cache.disk-max-entries} files.
+ */
+@Component
+@Slf4j
+public class AiResponseCache {
+
+    private final AiProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Entry> memory;
+
+    public AiResponseCache(AiProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getCache().getMaxEntries()))
+                .expireAfter(new EntryExpiry())
+                .build();
+        Gauge.builder("ai.cache.size", memory, Cache::estimatedSize)
+                .description("Entries in the in-memory AI response cache")
+                .register(meterRegistry);
+    }
+
+    public String key(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens) {
+        String material = properties.getOpenai().getChatModel() + '\u0000' + systemPrompt + '\u0000' + userPrompt
+                + '\u0000' + temperature + '\u0000' + maxTokens;
+        return AiVectorUtils.sha256(material);
+    }
+
+    public Optional<String> get(AiFeature feature, String key) {
+        if (ttl(feature).isZero()) {
+            return Optional.empty();
+        }
+        Entry entry = memory.getIfPresent(key);
+        if (entry != null) {
+            record(feature, "hit", "memory");
+            return Optional.of(entry.getContent());
+        }
+        entry = readDisk(feature, key);
+        if (entry != null) {
+            memory.put(key, entry);
+            record(feature, "hit", "disk");
+            return Optional.of(entry.getContent());
+        }
+        record(feature, "miss", "none");
+        return Optional.empty();
+    }
+
+    public void put(AiFeature feature, String key, String content) {
+        Duration ttl = ttl(feature);
+        if (ttl.isZero() || content == null) {
+            return;
+        }
+        Entry entry = new Entry(content, System.currentTimeMillis() + ttl.toMillis());
+        memory.put(key, entry);
+        writeDisk(feature, key, entry);
+    }
+
+    public void invalidateAll() {
+        memory.invalidateAll();
+    }
+
+    @Scheduled(fixedDelayString = "${ai.cache.disk-sweep-interval-ms:600000}", initialDelay = 60000)
+    public void sweepDisk() {
+        AiProperties.Cache cache = properties.getCache();
+        Path root = Paths.get(cache.getDiskDirectory());
+        if (!cache.isDiskEnabled() || !Files.isDirectory(root)) {
+            return;
+        }
+        List<Path> live = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            files.filter(file -> Files.isRegularFile(file) && file.toString().endsWith(".json")).forEach(file -> {
+                try {
+                    if (objectMapper.readValue(file.toFile(), Entry.class).getExpiresAt() > now) {
+                        live.add(file);
+                    } else {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException ex) {
+                    deleteQuietly(file);
+                }
+            });
+        } catch (IOException ex) {
+            log.warn("AI cache disk sweep failed: {}", ex.getMessage());
+            return;
+        }
+        int excess = live.size() - Math.max(0, cache.getDiskMaxEntries());
+        if (excess > 0) {
+            live.sort(Comparator.comparingLong(AiResponseCache::lastModified));
+            live.subList(0, excess).forEach(AiResponseCache::deleteQuietly);
+        }
+    }
+
+    private Duration ttl(AiFeature feature) {
+        AiProperties.Cache cache = properties.getCache();
+        if (!cache.isEnabled()) {
+            return Duration.ZERO;
+        }
+        Integer minutes = cache.getTtlMinutes().getOrDefault(feature.key(), cache.getDefaultTtlMinutes());
+        return minutes == null || minutes <= 0 ? Duration.ZERO : Duration.ofMinutes(minutes);
+    }
+
+    private void record(AiFeature feature, String result, String tier) {
+        Counter.builder("ai.cache.requests")
+                .tag("feature", feature.key())
+                .tag("result", result)
+                .tag("tier", tier)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private boolean onDisk(AiFeature feature) {
+        AiProperties.Cache cache = properties.getCache();
+        return cache.isDiskEnabled() && !cache.getDiskExcludedFeatures().contains(feature.key());
+    }
+
+    private Entry readDisk(AiFeature feature, String key) {
+        if (!onDisk(feature)) {
+            return null;
+        }
+        Path file = diskFile(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            Entry entry = objectMapper.readValue(file.toFile(), Entry.class);
+            if (entry.getExpiresAt() > System.currentTimeMillis()) {
+                return entry;
+            }
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Failed to read AI cache entry {}: {}", file, ex.getMessage());
+        }
+        return null;
+    }
+
+    private void writeDisk(AiFeature feature, String key, Entry entry) {
+        if (!onDisk(feature)) {
+            return;
+        }
+        Path file = diskFile(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+            objectMapper.writeValue(tmp.toFile(), entry);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.warn("Failed to write AI cache entry {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Failed to delete AI cache entry {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private Path diskFile(String key) {
+        return Paths.get(properties.getCache().getDiskDirectory(), key.substring(0, 2), key + ".json");
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String content;
+        private long expiresAt;
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return remainingNanos(entry);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return remainingNanos(entry);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long remainingNanos(Entry entry) {
+            return Duration.ofMillis(Math.max(0, entry.getExpiresAt() - System.currentTimeMillis())).toNanos();
+        }
+    }
+}
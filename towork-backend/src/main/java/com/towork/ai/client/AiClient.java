@@ -1,11 +1,21 @@
 package com.towork.ai.client;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
-public interface AiClient {
+public interface AiClient extends EmbeddingClient {
     String chat(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens);
 
     String chatJson(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens);
 
-    List<Double> embed(String input);
+    CompletableFuture<String> chatAsync(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens);
+
+    CompletableFuture<String> chatJsonAsync(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens);
+
+    /**
+     * Streams a JSON-mode chat completion, passing each content delta to {@code onDelta};
+     * completes with the full content.
+     */
+    CompletableFuture<String> chatJsonStream(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens,
+                                             Consumer<String> onDelta);
 }
@@ -0,0 +1,13 @@
+package com.towork.ai.client;
+
+import java.util.List;
+
+/**
+ * Source of text embeddings; {@link AiClient} calls the remote provider, {@link HashingEmbeddingClient} runs in-process.
+ */
+public interface EmbeddingClient {
+
+    List<Double> embed(String input);
+
+    List<List<Double>> embedBatch(List<String> inputs);
+}
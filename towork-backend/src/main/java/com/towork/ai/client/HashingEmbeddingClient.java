@@ -0,0 +1,174 @@
+package com.towork.ai.client;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.matching.TextAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process embeddings built with the hashing trick: analyzed words, word n-grams and character n-grams of each
+ * word are hashed into a fixed number of signed buckets, weighted by TF-IDF and L2-normalized. IDF comes from
+ * {@link #fit(Collection)} over our own corpus; before the first fit every feature weighs the same.
+ * No network call, so it works with {@code ai.enabled=false}.
+ */
+public class HashingEmbeddingClient implements EmbeddingClient {
+
+    private static final int WORD_SEED = 0x2545F491;
+    private static final int CHAR_SEED = 0x6A09E667;
+
+    private final int dimensions;
+    private final int wordNgramMax;
+    private final int charNgramMin;
+    private final int charNgramMax;
+    private final double charNgramWeight;
+    private volatile Idf idf = new Idf(Map.of(), 0, 0L);
+
+    public HashingEmbeddingClient(AiProperties.Embedding properties) {
+        this.dimensions = Math.max(1, properties.getHashingDimensions());
+        this.wordNgramMax = Math.max(1, properties.getWordNgramMax());
+        this.charNgramMin = Math.max(1, properties.getCharNgramMin());
+        this.charNgramMax = Math.max(charNgramMin, properties.getCharNgramMax());
+        this.charNgramWeight = properties.getCharNgramWeight();
+    }
+
+    /**
+     * Replaces the IDF table with document frequencies counted over {@code documents}.
+     */
+    public void fit(Collection<String> documents) {
+        Map<Integer, Integer> frequencies = new HashMap<>();
+        int count = 0;
+        for (String document : documents) {
+            if (document == null || document.isBlank()) {
+                continue;
+            }
+            count++;
+            for (Integer feature : features(document).keySet()) {
+                frequencies.merge(feature, 1, Integer::sum);
+            }
+        }
+        long fingerprint = count;
+        for (Map.Entry<Integer, Integer> frequency : frequencies.entrySet()) {
+            fingerprint += mix64(((long) frequency.getKey() << 32) | frequency.getValue());
+        }
+        idf = new Idf(frequencies, count, fingerprint);
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Model name under which vectors of this client are comparable: it includes a fingerprint of the IDF table,
+     * since the same text embeds differently after a fit over another corpus.
+     */
+    public String model() {
+        return "hashing-" + dimensions + "-" + Long.toHexString(idf.fingerprint());
+    }
+
+    @Override
+    public List<Double> embed(String input) {
+        Idf current = idf;
+        double[] vector = new double[dimensions];
+        for (Map.Entry<Integer, Double> feature : features(input).entrySet()) {
+            int hash = feature.getKey();
+            double frequency = feature.getValue();
+            double weight = (frequency > 1.0 ? 1.0 + Math.log(frequency) : frequency) * current.weight(hash);
+            // the sign comes from bits the bucket index does not use, so collisions cancel out on average
+            vector[Math.floorMod(hash, dimensions)] += (mix(hash) & 1) == 0 ? weight : -weight;
+        }
+        double norm = 0.0;
+        for (double value : vector) {
+            norm += value * value;
+        }
+        double inverse = norm == 0.0 ? 0.0 : 1.0 / Math.sqrt(norm);
+        List<Double> embedding = new ArrayList<>(dimensions);
+        for (double value : vector) {
+            embedding.add(value * inverse);
+        }
+        return embedding;
+    }
+
+    @Override
+    public List<List<Double>> embedBatch(List<String> inputs) {
+        if (inputs == null || inputs.isEmpty()) {
+            return List.of();
+        }
+        List<List<Double>> embeddings = new ArrayList<>(inputs.size());
+        for (String input : inputs) {
+            embeddings.add(embed(input));
+        }
+        return embeddings;
+    }
+
+    /**
+     * Hashed feature to its raw frequency; character n-grams of a word share {@code charNgramWeight} so long words
+     * do not outweigh short ones.
+     */
+    private Map<Integer, Double> features(String text) {
+        List<String> words = TextAnalyzer.analyze(text);
+        Map<Integer, Double> features = new HashMap<>();
+        for (int i = 0; i < words.size(); i++) {
+            StringBuilder gram = new StringBuilder(words.get(i));
+            features.merge(hash(gram, WORD_SEED), 1.0, Double::sum);
+            for (int n = 2; n <= wordNgramMax && i + n <= words.size(); n++) {
+                gram.append(' ').append(words.get(i + n - 1));
+                features.merge(hash(gram, WORD_SEED), 1.0, Double::sum);
+            }
+            addCharNgrams(words.get(i), features);
+        }
+        return features;
+    }
+
+    private void addCharNgrams(String word, Map<Integer, Double> features) {
+        if (charNgramWeight <= 0) {
+            return;
+        }
+        String bounded = "<" + word + ">";
+        Set<Integer> grams = new HashSet<>();
+        for (int n = charNgramMin; n <= charNgramMax; n++) {
+            for (int start = 0; start + n <= bounded.length(); start++) {
+                grams.add(hash(bounded.subSequence(start, start + n), CHAR_SEED));
+            }
+        }
+        double weight = charNgramWeight / Math.max(1, grams.size());
+        for (Integer gram : grams) {
+            features.merge(gram, weight, Double::sum);
+        }
+    }
+
+    /** FNV-1a over the UTF-16 chars, seeded per feature kind so a word and an equal character n-gram hash apart. */
+    private static int hash(CharSequence value, int seed) {
+        int hash = 0x811C9DC5 ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash >>> 16;
+    }
+
+    /** SplitMix64 finalizer; summed over the IDF entries it gives an order-independent fingerprint. */
+    private static long mix64(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private record Idf(Map<Integer, Integer> frequencies, int documents, long fingerprint) {
+        double weight(int feature) {
+            return Math.log((1.0 + documents) / (1.0 + frequencies.getOrDefault(feature, 0))) + 1.0;
+        }
+    }
+}
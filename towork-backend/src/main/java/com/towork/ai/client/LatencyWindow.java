@@ -0,0 +1,38 @@
+package com.towork.ai.client;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer of the most recent call latencies, used to derive percentiles such as the hedging delay.
+ */
+public class LatencyWindow {
+
+    private final long[] samples;
+    private final int minSamples;
+    private int next;
+    private int count;
+
+    public LatencyWindow(int capacity, int minSamples) {
+        this.samples = new long[Math.max(1, capacity)];
+        this.minSamples = Math.max(1, minSamples);
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    /**
+     * @return the percentile in nanoseconds, or -1 while fewer than {@code minSamples} latencies were recorded
+     */
+    public synchronized long percentile(double percentile) {
+        if (count < minSamples) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.min(count - 1, Math.max(0, index))];
+    }
+}
@@ -1,9 +1,11 @@
 package com.towork.ai.client;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.towork.ai.config.AiProperties;
-import lombok.RequiredArgsConstructor;
+import com.towork.ai.util.MicroBatcher;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
@@ -11,54 +13,185 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Component
-@RequiredArgsConstructor
 public class OpenAiClient implements AiClient {
 
     private final AiProperties properties;
     private final ObjectMapper objectMapper;
     private final HttpClient aiHttpClient;
+    private final MicroBatcher<String, List<Double>> embeddingBatcher;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyWindow chatLatencies = new LatencyWindow(256, 20);
+
+    public OpenAiClient(AiProperties properties, ObjectMapper objectMapper, HttpClient aiHttpClient) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.aiHttpClient = aiHttpClient;
+        int coalesceMillis = properties.getOpenai().getEmbeddingCoalesceMillis();
+        this.embeddingBatcher = coalesceMillis > 0
+                ? new MicroBatcher<>("openai-embeddings", batchSize(), Duration.ofMillis(coalesceMillis),
+                        properties.getResilience().getMaxConcurrency(), this::embedBatch)
+                : null;
+        AiProperties.Resilience resilience = properties.getResilience();
+        this.limiter = new AdaptiveConcurrencyLimiter(resilience.getInitialConcurrency(),
+                resilience.getMinConcurrency(), resilience.getMaxConcurrency(), resilience.getBackoffRatio());
+        this.circuitBreaker = new CircuitBreaker("openai", resilience.getCircuitFailureThreshold(),
+                Duration.ofSeconds(resilience.getCircuitOpenSeconds()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (embeddingBatcher != null) {
+            embeddingBatcher.close();
+        }
+    }
 
     @Override
     public String chat(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens) {
-        return chatInternal(systemPrompt, userPrompt, temperature, maxTokens, false);
+        return join(chatAsync(systemPrompt, userPrompt, temperature, maxTokens));
     }
 
     @Override
     public String chatJson(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens) {
+        return join(chatJsonAsync(systemPrompt, userPrompt, temperature, maxTokens));
+    }
+
+    @Override
+    public CompletableFuture<String> chatAsync(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens) {
+        return chatInternal(systemPrompt, userPrompt, temperature, maxTokens, false);
+    }
+
+    @Override
+    public CompletableFuture<String> chatJsonAsync(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens) {
         return chatInternal(systemPrompt, userPrompt, temperature, maxTokens, true);
     }
 
     @Override
     public List<Double> embed(String input) {
         ensureEnabled();
+        if (embeddingBatcher == null) {
+            return embedBatch(List.of(input)).get(0);
+        }
+        return join(embeddingBatcher.submit(input));
+    }
+
+    @Override
+    public List<List<Double>> embedBatch(List<String> inputs) {
+        ensureEnabled();
+        if (inputs == null || inputs.isEmpty()) {
+            return List.of();
+        }
+        List<List<Double>> embeddings = new ArrayList<>(inputs.size());
+        int batchSize = batchSize();
+        for (int start = 0; start < inputs.size(); start += batchSize) {
+            List<String> chunk = inputs.subList(start, Math.min(inputs.size(), start + batchSize));
+            embeddings.addAll(embedChunk(chunk));
+        }
+        return embeddings;
+    }
+
+    private List<List<Double>> embedChunk(List<String> inputs) {
         Map<String, Object> payload = new LinkedHashMap<>();
         payload.put("model", properties.getOpenai().getEmbeddingModel());
-        payload.put("input", input);
+        payload.put("input", inputs);
 
-        String responseBody = post("/embeddings", payload);
+        String responseBody = join(postAsync("/embeddings", payload, false));
         try {
             JsonNode root = objectMapper.readTree(responseBody);
             JsonNode data = root.path("data");
-            if (!data.isArray() || data.isEmpty()) {
+            if (!data.isArray() || data.size() != inputs.size()) {
                 throw new AiException("OpenAI embeddings response missing data");
             }
-            JsonNode embedding = data.get(0).path("embedding");
-            if (!embedding.isArray()) {
-                throw new AiException("OpenAI embeddings response missing embedding");
+            List<List<Double>> embeddings = new ArrayList<>(Collections.nCopies(inputs.size(), null));
+            JavaType vectorType = objectMapper.getTypeFactory().constructCollectionType(List.class, Double.class);
+            for (int i = 0; i < data.size(); i++) {
+                JsonNode item = data.get(i);
+                JsonNode embedding = item.path("embedding");
+                if (!embedding.isArray()) {
+                    throw new AiException("OpenAI embeddings response missing embedding");
+                }
+                int index = item.path("index").asInt(i);
+                // with the count already checked, in-range unique indices fill every slot exactly once
+                if (index < 0 || index >= inputs.size() || embeddings.get(index) != null) {
+                    throw new AiException("OpenAI embeddings response has invalid index " + index);
+                }
+                embeddings.set(index, objectMapper.convertValue(embedding, vectorType));
             }
-            return objectMapper.convertValue(embedding, objectMapper.getTypeFactory().constructCollectionType(List.class, Double.class));
+            return embeddings;
         } catch (Exception ex) {
             throw new AiException("Failed to parse OpenAI embeddings response", ex);
         }
     }
 
-    private String chatInternal(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens, boolean jsonMode) {
-        ensureEnabled();
+    private int batchSize() {
+        return Math.max(1, properties.getOpenai().getEmbeddingBatchSize());
+    }
+
+    @Override
+    public CompletableFuture<String> chatJsonStream(String systemPrompt, String userPrompt, Double temperature,
+                                                    Integer maxTokens, Consumer<String> onDelta) {
+        Map<String, Object> payload = chatPayload(systemPrompt, userPrompt, temperature, maxTokens, true);
+        payload.put("stream", true);
+        HttpRequest request;
+        try {
+            request = buildRequest("/chat/completions", payload);
+        } catch (AiException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        if (!circuitBreaker.allowRequest()) {
+            return CompletableFuture.failedFuture(new AiException("OpenAI circuit is open, skipping request"));
+        }
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.onIgnored();
+            return CompletableFuture.failedFuture(new AiException("OpenAI concurrency limit reached ("
+                    + limiter.getLimit() + ")"));
+        }
+
+        ChatStreamSubscriber subscriber = new ChatStreamSubscriber(objectMapper, onDelta);
+        return aiHttpClient.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(subscriber))
+                .handle((response, error) -> {
+                    if (error != null || isOverloaded(response.statusCode())) {
+                        limiter.onDropped();
+                        circuitBreaker.onFailure();
+                    } else {
+                        limiter.onSuccess();
+                        circuitBreaker.onSuccess();
+                    }
+                    if (error != null) {
+                        throw new AiException("OpenAI streaming request failed", unwrap(error));
+                    }
+                    if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                        throw new AiException("OpenAI request failed: HTTP " + response.statusCode() + " - "
+                                + subscriber.errorBody());
+                    }
+                    return subscriber.content();
+                });
+    }
+
+    private CompletableFuture<String> chatInternal(String systemPrompt, String userPrompt, Double temperature,
+                                                   Integer maxTokens, boolean jsonMode) {
+        return postAsync("/chat/completions", chatPayload(systemPrompt, userPrompt, temperature, maxTokens, jsonMode), true)
+                .thenApply(this::parseChatContent);
+    }
+
+    private Map<String, Object> chatPayload(String systemPrompt, String userPrompt, Double temperature,
+                                            Integer maxTokens, boolean jsonMode) {
         Map<String, Object> payload = new LinkedHashMap<>();
         payload.put("model", properties.getOpenai().getChatModel());
         payload.put("temperature", temperature != null ? temperature : properties.getOpenai().getTemperature());
@@ -70,8 +203,10 @@ public class OpenAiClient implements AiClient {
         if (jsonMode) {
             payload.put("response_format", Map.of("type", "json_object"));
         }
+        return payload;
+    }
 
-        String responseBody = post("/chat/completions", payload);
+    private String parseChatContent(String responseBody) {
         try {
             JsonNode root = objectMapper.readTree(responseBody);
             JsonNode content = root.path("choices").path(0).path("message").path("content");
@@ -84,29 +219,147 @@ public class OpenAiClient implements AiClient {
         }
     }
 
-    private String post(String path, Object payload) {
+    private HttpRequest buildRequest(String path, Object payload) {
+        ensureEnabled();
         try {
             String json = objectMapper.writeValueAsString(payload);
-            HttpRequest request = HttpRequest.newBuilder()
+            return HttpRequest.newBuilder()
                     .uri(URI.create(properties.getOpenai().getBaseUrl() + path))
                     .timeout(Duration.ofSeconds(properties.getOpenai().getTimeoutSeconds()))
                     .header("Authorization", "Bearer " + properties.getOpenai().getApiKey())
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(json))
                     .build();
-
-            HttpResponse<String> response = aiHttpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                return response.body();
-            }
-            throw new AiException("OpenAI request failed: HTTP " + response.statusCode() + " - " + response.body());
-        } catch (AiException ex) {
-            throw ex;
         } catch (Exception ex) {
             throw new AiException("OpenAI request failed", ex);
         }
     }
 
+    private CompletableFuture<String> postAsync(String path, Object payload, boolean hedgeable) {
+        HttpRequest request;
+        try {
+            request = buildRequest(path, payload);
+        } catch (AiException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        if (!circuitBreaker.allowRequest()) {
+            return CompletableFuture.failedFuture(new AiException("OpenAI circuit is open, skipping request"));
+        }
+        // chat latencies are recorded even with hedging off, so enabling it starts from a warm percentile
+        CompletableFuture<HttpResponse<String>> response = hedgeable && properties.getResilience().isHedgingEnabled()
+                ? hedgedSend(request)
+                : send(request, hedgeable ? chatLatencies : null);
+        return response.handle((result, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                if (cause instanceof AiException aiException) {
+                    circuitBreaker.onIgnored();
+                    throw aiException;
+                }
+                circuitBreaker.onFailure();
+                throw new AiException("OpenAI request failed", cause);
+            }
+            if (isOverloaded(result.statusCode())) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            if (result.statusCode() >= 200 && result.statusCode() < 300) {
+                return result.body();
+            }
+            throw new AiException("OpenAI request failed: HTTP " + result.statusCode() + " - " + result.body());
+        });
+    }
+
+    /**
+     * Sends one attempt under the adaptive concurrency limit; timeouts and 429/5xx responses shrink the limit.
+     */
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request, LatencyWindow latencies) {
+        if (!limiter.tryAcquire()) {
+            return CompletableFuture.failedFuture(new AiException("OpenAI concurrency limit reached ("
+                    + limiter.getLimit() + ")"));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> sent = aiHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        sent.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                limiter.onIgnored();
+            } else if (error != null || isOverloaded(response.statusCode())) {
+                limiter.onDropped();
+            } else {
+                limiter.onSuccess();
+                if (latencies != null) {
+                    latencies.record(System.nanoTime() - start);
+                }
+            }
+        });
+        return sent;
+    }
+
+    /**
+     * Sends a second identical request once the first has been outstanding longer than the configured latency
+     * percentile and completes with whichever succeeds first; the slower attempt is cancelled.
+     */
+    private CompletableFuture<HttpResponse<String>> hedgedSend(HttpRequest request) {
+        AiProperties.Resilience resilience = properties.getResilience();
+        long percentile = chatLatencies.percentile(resilience.getHedgingPercentile());
+        CompletableFuture<HttpResponse<String>> primary = send(request, chatLatencies);
+        if (percentile < 0) {
+            return primary;
+        }
+        long delayMillis = Math.max(resilience.getHedgingMinDelayMillis(), Duration.ofNanos(percentile).toMillis());
+        CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        List<CompletableFuture<HttpResponse<String>>> attempts = new CopyOnWriteArrayList<>(List.of(primary));
+        BiConsumer<HttpResponse<String>, Throwable> onAttempt = (response, error) -> {
+            int remaining = pending.decrementAndGet();
+            if (error == null) {
+                result.complete(response);
+            } else if (remaining == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+        primary.whenComplete(onAttempt);
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone() || pending.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+                return;
+            }
+            CompletableFuture<HttpResponse<String>> hedge = send(request, chatLatencies);
+            attempts.add(hedge);
+            hedge.whenComplete(onAttempt);
+            if (result.isDone()) {
+                hedge.cancel(true);
+            }
+        });
+        result.whenComplete((response, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+        return result;
+    }
+
+    private static boolean isOverloaded(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = unwrap(ex);
+            if (cause instanceof AiException aiException) {
+                throw aiException;
+            }
+            throw new AiException("OpenAI request failed", cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while (current instanceof CompletionException && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
     private void ensureEnabled() {
         if (!properties.isEnabled()) {
             throw new AiException("AI is disabled");
@@ -116,4 +369,63 @@ public class OpenAiClient implements AiClient {
             throw new AiException("OpenAI API key is missing");
         }
     }
+
+    /**
+     * Reads the server-sent events of a streamed chat completion and forwards each content delta.
+     */
+    private static final class ChatStreamSubscriber implements Flow.Subscriber<String> {
+        private final ObjectMapper objectMapper;
+        private final Consumer<String> onDelta;
+        private final StringBuilder content = new StringBuilder();
+        private final StringBuilder errorBody = new StringBuilder();
+
+        private ChatStreamSubscriber(ObjectMapper objectMapper, Consumer<String> onDelta) {
+            this.objectMapper = objectMapper;
+            this.onDelta = onDelta;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data:")) {
+                if (!line.isBlank()) {
+                    errorBody.append(line);
+                }
+                return;
+            }
+            String data = line.substring(5).trim();
+            if (data.isEmpty() || "[DONE]".equals(data)) {
+                return;
+            }
+            try {
+                JsonNode delta = objectMapper.readTree(data).path("choices").path(0).path("delta").path("content");
+                if (delta.isTextual() && !delta.asText().isEmpty()) {
+                    content.append(delta.asText());
+                    onDelta.accept(delta.asText());
+                }
+            } catch (Exception ex) {
+                errorBody.append(data);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        private String content() {
+            return content.toString();
+        }
+
+        private String errorBody() {
+            return errorBody.toString();
+        }
+    }
 }
@@ -3,12 +3,14 @@ package com.towork.ai.config;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
 
 @Configuration
 @EnableConfigurationProperties(AiProperties.class)
+@EnableScheduling
 public class AiConfig {
 
     @Bean
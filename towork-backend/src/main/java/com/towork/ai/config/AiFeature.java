@@ -0,0 +1,22 @@
+package com.towork.ai.config;
+
+import java.util.Locale;
+
+/**
+ * AI call sites, used to key per-feature settings such as cache TTLs.
+ */
+public enum AiFeature {
+    MATCHING,
+    DOMAINE_SUGGESTION,
+    MISSION_DRAFT,
+    REWRITE,
+    MISSION_SUMMARY,
+    CONVERSATION_SUMMARY,
+    MODERATION,
+    RESUME_EXTRACTION;
+
+    /** Property key, e.g. {@code mission-summary}. */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -3,14 +3,29 @@ package com.towork.ai.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Data
 @ConfigurationProperties(prefix = "ai")
 public class AiProperties {
 
     private boolean enabled = false;
     private OpenAi openai = new OpenAi();
+    private Embedding embedding = new Embedding();
     private Moderation moderation = new Moderation();
     private Features features = new Features();
+    private Cache cache = new Cache();
+    private Resilience resilience = new Resilience();
+    private Resume resume = new Resume();
+    private Jobs jobs = new Jobs();
+    private Matching matching = new Matching();
+    private Feed feed = new Feed();
+    private Conversation conversation = new Conversation();
+    private DomaineSuggestion domaineSuggestion = new DomaineSuggestion();
 
     @Data
     public static class OpenAi {
@@ -22,6 +37,35 @@ public class AiProperties {
         private int maxTokens = 800;
         private int timeoutSeconds = 20;
         private int maxInputChars = 6000;
+        private int embeddingBatchSize = 256;
+        private int embeddingCoalesceMillis = 5;
+    }
+
+    @Data
+    public static class Embedding {
+        /** {@code openai} calls the remote embeddings endpoint; {@code hashing} embeds in-process. */
+        private String provider = "openai";
+        private int hashingDimensions = 512;
+        /** Longest run of consecutive words hashed as one feature. */
+        private int wordNgramMax = 2;
+        private int charNgramMin = 3;
+        private int charNgramMax = 5;
+        /** Total weight of a word's character n-grams relative to the word itself; 0 disables them. */
+        private double charNgramWeight = 1.0;
+        /** {@code flat} scans every vector; {@code hnsw} searches the int8-quantized graph index. */
+        private String index = "flat";
+        private int hnswM = 16;
+        private int hnswEfConstruction = 100;
+        private int hnswEfSearch = 64;
+        /** Graph candidates re-scored with full-precision vectors, per requested hit. */
+        private int hnswRerankFactor = 4;
+        /** Graph index snapshot, memory-mapped on startup; empty keeps the index in memory only. */
+        private String snapshotPath = "";
+        /** Share of deleted graph nodes above which the index is rebuilt from live vectors after a load. */
+        private double compactDeletedRatio = 0.3;
+        /** Workers re-embedding changed profiles off the request thread. */
+        private int refreshThreads = 1;
+        private int refreshQueueCapacity = 500;
     }
 
     @Data
@@ -29,6 +73,102 @@ public class AiProperties {
         private boolean enabled = true;
         private boolean block = false;
         private double blockScore = 0.75;
+        private int workerThreads = 2;
+        private int queueCapacity = 1000;
+        private int sweepBatchSize = 100;
+        /** Max messages scored by one prompt; 1 disables batching. */
+        private int batchSize = 16;
+        private long batchWaitMillis = 10;
+        private Prefilter prefilter = new Prefilter();
+    }
+
+    @Data
+    public static class Prefilter {
+        private boolean enabled = true;
+        /** Local score at or above which content is flagged without calling the model. */
+        private double rejectScore = 0.9;
+        /**
+         * Signal-free content up to this length is accepted without calling the model. Kept to short replies
+         * ("ok merci", a greeting): the lexicon cannot see paraphrased scams, so longer text goes to the model.
+         */
+        private int acceptMaxChars = 40;
+        private int repeatedCharRun = 6;
+        /** Lexicon terms per moderation label (e.g. {@code SCAM}, {@code HARASSMENT}). */
+        private Map<String, List<String>> lexicon = new HashMap<>();
+    }
+
+    @Data
+    public static class Resume {
+        private int maxPages = 20;
+        private int timeoutSeconds = 10;
+        /** Heap PDFBox may use per document before spilling to a scratch file. */
+        private int maxMainMemoryMb = 8;
+        private int maxScratchMb = 128;
+        /** Scratch file directory; empty uses {@code java.io.tmpdir}. */
+        private String scratchDirectory = "";
+    }
+
+    @Data
+    public static class Jobs {
+        private int workerThreads = 2;
+        private int queueCapacity = 100;
+        private int maxAttempts = 3;
+        private int sweepBatchSize = 50;
+    }
+
+    @Data
+    public static class Matching {
+        /** Rate may exceed the mission budget by this factor before the freelancer is filtered out. */
+        private double budgetTolerance = 1.2;
+        /** Minimum freelancer rating per mission {@code NiveauExperience}; missing levels have no minimum. */
+        private Map<String, Double> minRating = new HashMap<>();
+        /** Semantic / index hits fetched per shortlist slot, leaving room for hard-constraint rejections. */
+        private int overfetchFactor = 3;
+        /** Candidates kept by retrieval and scored by the feature ranker. */
+        private int retrievalSize = 50;
+        /** Top ranked candidates sent to the model for reranking; 0 skips the model. */
+        private int rerankSize = 8;
+        /** Linear ranker weight per {@code RankingFeature} name. */
+        private Map<String, Double> weights = new HashMap<>();
+        private int recencyHalfLifeDays = 90;
+        /** Upper bound on how long a cached recommendation list is served, whatever the invalidation events. */
+        private int cacheTtlMinutes = 60;
+        private long cacheMaxEntries = 10000;
+        private int refreshThreads = 2;
+        private int refreshQueueCapacity = 200;
+    }
+
+    @Data
+    public static class Feed {
+        /** Ranked missions kept per freelancer; pages beyond it are empty. */
+        private int size = 200;
+        /** Time a feed request waits for a cold feed before answering with the latest published missions. */
+        private long latencyBudgetMillis = 150;
+        private long cacheMaxEntries = 10000;
+        private int cacheTtlMinutes = 60;
+        private int workerThreads = 2;
+        private int queueCapacity = 100;
+    }
+
+    @Data
+    public static class Conversation {
+        /** New messages folded into the rolling summary per model call; also the size of a first summary. */
+        private int summaryBatchSize = 50;
+    }
+
+    @Data
+    public static class DomaineSuggestion {
+        /** Domains retrieved locally and sent to the model for final ranking. */
+        private int candidateSize = 8;
+        /**
+         * Coverage (share of the domain's own BM25 weight found in the mission) at which the top domain is
+         * returned without a model call...
+         */
+        private double confidenceScore = 0.5;
+        /** ...provided the second candidate scores at least this fraction below it. */
+        private double confidenceMargin = 0.2;
+        /** With no lexical candidate, a catalogue up to this size is sent to the model whole. */
+        private int catalogueMaxSize = 60;
     }
 
     @Data
@@ -40,4 +180,33 @@ public class AiProperties {
         private boolean resumeExtraction = true;
         private boolean moderation = true;
     }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private long maxEntries = 5000;
+        private int defaultTtlMinutes = 60;
+        /** TTL per {@link AiFeature} key (e.g. {@code mission-summary}); 0 disables caching for that feature. */
+        private Map<String, Integer> ttlMinutes = new HashMap<>();
+        private boolean diskEnabled = false;
+        private String diskDirectory = System.getProperty("java.io.tmpdir") + "/towork-ai-cache";
+        /** Features kept out of the disk tier: their prompts carry user content that must not outlive memory. */
+        private Set<String> diskExcludedFeatures = new HashSet<>(Set.of("moderation", "resume-extraction",
+                "conversation-summary", "rewrite"));
+        /** Files kept by the periodic disk sweep once expired ones are gone; the oldest are deleted beyond it. */
+        private int diskMaxEntries = 20000;
+    }
+
+    @Data
+    public static class Resilience {
+        private int initialConcurrency = 16;
+        private int minConcurrency = 2;
+        private int maxConcurrency = 64;
+        private double backoffRatio = 0.7;
+        private int circuitFailureThreshold = 5;
+        private int circuitOpenSeconds = 30;
+        private boolean hedgingEnabled = false;
+        private double hedgingPercentile = 95.0;
+        private int hedgingMinDelayMillis = 250;
+    }
 }
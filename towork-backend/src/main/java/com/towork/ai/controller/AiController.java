@@ -1,21 +1,25 @@
 package com.towork.ai.controller;
 
 import com.towork.ai.dto.AiDraftRequest;
-import com.towork.ai.dto.AiDraftResponse;
 import com.towork.ai.dto.AiModerationRequest;
-import com.towork.ai.dto.AiModerationResponse;
-import com.towork.ai.dto.AiResumeExtractionResponse;
+import com.towork.ai.dto.AiJobResponse;
 import com.towork.ai.dto.AiRewriteRequest;
-import com.towork.ai.dto.AiRewriteResponse;
 import com.towork.ai.service.AiFeatureService;
+import com.towork.ai.service.AiJobService;
 import com.towork.ai.service.AiModerationService;
-import com.towork.ai.service.AiResumeService;
 import com.towork.config.MessageResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/ai")
@@ -24,31 +28,78 @@ public class AiController {
 
     private final AiFeatureService aiFeatureService;
     private final AiModerationService aiModerationService;
-    private final AiResumeService aiResumeService;
+    private final AiJobService aiJobService;
 
     @PostMapping("/draft/mission")
-    public ResponseEntity<MessageResponse> draftMission(@RequestBody AiDraftRequest request) {
-        AiDraftResponse response = aiFeatureService.draftMission(request);
-        return ResponseEntity.ok(MessageResponse.success("Mission draft generated", response));
+    public CompletableFuture<ResponseEntity<MessageResponse>> draftMission(@RequestBody AiDraftRequest request) {
+        return aiFeatureService.draftMissionAsync(request)
+                .thenApply(response -> ResponseEntity.ok(MessageResponse.success("Mission draft generated", response)));
     }
 
     @PostMapping("/rewrite")
-    public ResponseEntity<MessageResponse> rewriteText(@RequestBody AiRewriteRequest request) {
-        AiRewriteResponse response = aiFeatureService.rewriteText(request);
-        return ResponseEntity.ok(MessageResponse.success("Rewrite completed", response));
+    public CompletableFuture<ResponseEntity<MessageResponse>> rewriteText(@RequestBody AiRewriteRequest request) {
+        return aiFeatureService.rewriteTextAsync(request)
+                .thenApply(response -> ResponseEntity.ok(MessageResponse.success("Rewrite completed", response)));
+    }
+
+    @PostMapping(value = "/draft/mission", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDraftMission(@RequestBody AiDraftRequest request) {
+        SseEmitter emitter = new SseEmitter();
+        aiFeatureService.streamDraftMission(request, (field, text) -> sendDelta(emitter, field, text))
+                .whenComplete((response, error) -> finish(emitter, "Mission draft generated", response, error));
+        return emitter;
+    }
+
+    @PostMapping(value = "/rewrite", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRewriteText(@RequestBody AiRewriteRequest request) {
+        SseEmitter emitter = new SseEmitter();
+        aiFeatureService.streamRewriteText(request, (field, text) -> sendDelta(emitter, field, text))
+                .whenComplete((response, error) -> finish(emitter, "Rewrite completed", response, error));
+        return emitter;
     }
 
     @PostMapping("/moderate")
-    public ResponseEntity<MessageResponse> moderate(@RequestBody AiModerationRequest request) {
-        AiModerationResponse response = aiModerationService.moderate(request.getContent());
-        return ResponseEntity.ok(MessageResponse.success("Moderation completed", response));
+    public CompletableFuture<ResponseEntity<MessageResponse>> moderate(@RequestBody AiModerationRequest request) {
+        return aiModerationService.moderateOrAllowAsync(request.getContent())
+                .thenApply(response -> ResponseEntity.ok(MessageResponse.success("Moderation completed", response)));
     }
 
     @PostMapping(value = "/resume/extract", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<MessageResponse> extractResume(@RequestPart("file") MultipartFile file,
                                                          @RequestParam(required = false) Long freelancerId,
-                                                         @RequestParam(required = false) String language) {
-        AiResumeExtractionResponse response = aiResumeService.extractSkills(file, freelancerId, language);
-        return ResponseEntity.ok(MessageResponse.success("Resume processed", response));
+                                                         @RequestParam(required = false) String language,
+                                                         Authentication authentication) {
+        AiJobResponse job = aiJobService.submitResumeExtraction(file, freelancerId, language, username(authentication));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(MessageResponse.success("Resume extraction queued", job));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<MessageResponse> getJob(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(MessageResponse.success("Job retrieved", aiJobService.getJob(id, username(authentication))));
+    }
+
+    private String username(Authentication authentication) {
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private void sendDelta(SseEmitter emitter, String field, String text) {
+        try {
+            emitter.send(SseEmitter.event().name("delta").data(Map.of("field", field, "text", text)));
+        } catch (IOException | IllegalStateException ex) {
+            // client went away; the final event will fail the same way and close the emitter
+        }
+    }
+
+    private void finish(SseEmitter emitter, String message, Object response, Throwable error) {
+        if (error != null) {
+            emitter.completeWithError(error);
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name("done").data(MessageResponse.success(message, response)));
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            emitter.completeWithError(ex);
+        }
     }
 }
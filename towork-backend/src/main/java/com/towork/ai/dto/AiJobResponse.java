@@ -0,0 +1,25 @@
+package com.towork.ai.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.towork.ai.entity.AiJobStatus;
+import com.towork.ai.entity.AiJobType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiJobResponse {
+    private Long id;
+    private AiJobType type;
+    private AiJobStatus status;
+    private Integer progress;
+    private JsonNode result;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,8 @@
+package com.towork.ai.entity;
+
+public enum AiJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,5 @@
+package com.towork.ai.entity;
+
+public enum AiJobType {
+    RESUME_EXTRACTION
+}
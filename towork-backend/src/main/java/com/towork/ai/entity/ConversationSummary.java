@@ -0,0 +1,32 @@
+package com.towork.ai.entity;
+
+import com.towork.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "conversation_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ConversationSummary extends BaseEntity {
+
+    @Column(name = "candidature_id", nullable = false, unique = true)
+    private Long candidatureId;
+
+    @Column(name = "language", nullable = false, length = 10)
+    private String language;
+
+    @Column(name = "summary", nullable = false, columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "next_steps", nullable = false, columnDefinition = "TEXT")
+    private String nextSteps; // JSON array of strings
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+}
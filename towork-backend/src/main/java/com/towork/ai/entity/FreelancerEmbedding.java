@@ -0,0 +1,32 @@
+package com.towork.ai.entity;
+
+import com.towork.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "freelancer_embeddings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class FreelancerEmbedding extends BaseEntity {
+
+    @Column(name = "freelancer_id", nullable = false, unique = true)
+    private Long freelancerId;
+
+    @Column(name = "model", nullable = false)
+    private String model;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "dimensions", nullable = false)
+    private Integer dimensions;
+
+    @Column(name = "vector", nullable = false)
+    private byte[] vector; // float32 little-endian
+}
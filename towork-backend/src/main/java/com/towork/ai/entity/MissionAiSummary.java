@@ -0,0 +1,34 @@
+package com.towork.ai.entity;
+
+import com.towork.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "mission_ai_summaries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_mission_ai_summaries_mission_language",
+                columnNames = {"mission_id", "language"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class MissionAiSummary extends BaseEntity {
+
+    @Column(name = "mission_id", nullable = false)
+    private Long missionId;
+
+    @Column(name = "language", nullable = false, length = 10)
+    private String language;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "summary", nullable = false, columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "next_steps", nullable = false, columnDefinition = "TEXT")
+    private String nextSteps; // JSON array of strings
+}
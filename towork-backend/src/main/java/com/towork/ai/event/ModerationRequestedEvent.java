@@ -0,0 +1,20 @@
+package com.towork.ai.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when user content is saved with a pending moderation state.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ModerationRequestedEvent {
+
+    public enum Target {
+        MESSAGE,
+        CANDIDATURE_MESSAGE
+    }
+
+    private final Target target;
+    private final Long contentId;
+}
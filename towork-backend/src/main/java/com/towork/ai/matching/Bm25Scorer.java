@@ -0,0 +1,171 @@
+package com.towork.ai.matching;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Okapi BM25 over a fixed corpus. Documents are analyzed once at build time into sorted term-id / frequency
+ * arrays together with their lengths and per-term IDF; a {@link Query} is resolved to term ids once and then
+ * scored against any document with a merge over two sorted int arrays, without allocating.
+ * Document ids are the positions in the list passed to {@link #build(List)}.
+ */
+public final class Bm25Scorer {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    private final Map<String, Integer> termIds;
+    private final double[] idf;
+    private final int[][] docTerms;
+    private final int[][] docFrequencies;
+    private final double[] lengthNorm;
+    /** Score each document gets from a query containing every one of its terms. */
+    private final double[] selfScores;
+
+    private Bm25Scorer(Map<String, Integer> termIds, double[] idf, int[][] docTerms, int[][] docFrequencies,
+                       double[] lengthNorm) {
+        this.termIds = termIds;
+        this.idf = idf;
+        this.docTerms = docTerms;
+        this.docFrequencies = docFrequencies;
+        this.lengthNorm = lengthNorm;
+        this.selfScores = new double[docTerms.length];
+        for (int d = 0; d < docTerms.length; d++) {
+            for (int i = 0; i < docTerms[d].length; i++) {
+                double f = docFrequencies[d][i];
+                selfScores[d] += idf[docTerms[d][i]] * f * (K1 + 1) / (f + lengthNorm[d]);
+            }
+        }
+    }
+
+    public static Bm25Scorer build(List<String> documents) {
+        Map<String, Integer> termIds = new HashMap<>();
+        int count = documents.size();
+        int[][] docTerms = new int[count][];
+        int[][] docFrequencies = new int[count][];
+        int[] lengths = new int[count];
+        long totalLength = 0;
+
+        for (int d = 0; d < count; d++) {
+            List<String> tokens = TextAnalyzer.analyze(documents.get(d));
+            Map<Integer, Integer> frequencies = new HashMap<>();
+            for (String token : tokens) {
+                Integer id = termIds.computeIfAbsent(token, key -> termIds.size());
+                frequencies.merge(id, 1, Integer::sum);
+            }
+            int[] terms = frequencies.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            int[] tf = new int[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                tf[i] = frequencies.get(terms[i]);
+            }
+            docTerms[d] = terms;
+            docFrequencies[d] = tf;
+            lengths[d] = tokens.size();
+            totalLength += tokens.size();
+        }
+
+        int[] documentFrequency = new int[termIds.size()];
+        for (int[] terms : docTerms) {
+            for (int term : terms) {
+                documentFrequency[term]++;
+            }
+        }
+        double[] idf = new double[termIds.size()];
+        for (int t = 0; t < idf.length; t++) {
+            idf[t] = idf(count, documentFrequency[t]);
+        }
+        double averageLength = count == 0 ? 0.0 : totalLength / (double) count;
+        double[] lengthNorm = new double[count];
+        for (int d = 0; d < count; d++) {
+            lengthNorm[d] = K1 * (1 - B + B * (averageLength == 0 ? 1.0 : lengths[d] / averageLength));
+        }
+        return new Bm25Scorer(termIds, idf, docTerms, docFrequencies, lengthNorm);
+    }
+
+    public int size() {
+        return docTerms.length;
+    }
+
+    /**
+     * Resolves the query against the corpus vocabulary; terms absent from every document cannot match.
+     */
+    public Query query(String text) {
+        Set<String> analyzed = new HashSet<>(TextAnalyzer.analyze(text));
+        int[] terms = analyzed.stream()
+                .map(termIds::get)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .toArray();
+        double[] weights = new double[terms.length];
+        // unknown terms still count towards the upper bound so partial matches are not inflated
+        double unseenIdf = idf(size(), 0);
+        double maxScore = (analyzed.size() - terms.length) * unseenIdf * (K1 + 1);
+        for (int i = 0; i < terms.length; i++) {
+            weights[i] = idf[terms[i]];
+            maxScore += weights[i] * (K1 + 1);
+        }
+        return new Query(terms, weights, maxScore);
+    }
+
+    public double score(Query query, int document) {
+        int[] terms = docTerms[document];
+        int[] tf = docFrequencies[document];
+        double norm = lengthNorm[document];
+        double score = 0.0;
+        int q = 0;
+        int d = 0;
+        while (q < query.terms.length && d < terms.length) {
+            if (query.terms[q] == terms[d]) {
+                double f = tf[d];
+                score += query.weights[q] * f * (K1 + 1) / (f + norm);
+                q++;
+                d++;
+            } else if (query.terms[q] < terms[d]) {
+                q++;
+            } else {
+                d++;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * BM25 score scaled into [0, 1) by the query's upper bound, for display next to model scores.
+     */
+    public double normalizedScore(Query query, int document) {
+        return query.maxScore == 0.0 ? 0.0 : score(query, document) / query.maxScore;
+    }
+
+    /**
+     * Share of the document's own BM25 mass matched by the query, in [0, 1]. Unlike {@link #normalizedScore} it
+     * does not shrink as the query grows, so it can be compared to a fixed threshold for long texts.
+     */
+    public double coverage(Query query, int document) {
+        return selfScores[document] == 0.0 ? 0.0 : score(query, document) / selfScores[document];
+    }
+
+    static double idf(int documents, int documentFrequency) {
+        return Math.log(1.0 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    public static final class Query {
+        private final int[] terms;
+        private final double[] weights;
+        private final double maxScore;
+
+        private Query(int[] terms, double[] weights, double maxScore) {
+            this.terms = terms;
+            this.weights = weights;
+            this.maxScore = maxScore;
+        }
+
+        public boolean isEmpty() {
+            return terms.length == 0;
+        }
+    }
+}
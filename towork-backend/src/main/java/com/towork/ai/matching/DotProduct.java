@@ -0,0 +1,7 @@
+package com.towork.ai.matching;
+
+import java.nio.ByteBuffer;
+
+interface DotProduct {
+    float dot(ByteBuffer matrix, int byteOffset, float[] query);
+}
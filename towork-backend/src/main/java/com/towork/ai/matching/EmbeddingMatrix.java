@@ -0,0 +1,204 @@
+package com.towork.ai.matching;
+
+import com.towork.ai.util.AiVectorUtils;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Unit-normalized embeddings stored row by row in one contiguous off-heap buffer.
+ * Top-k search is a single sequential scan computing dot products (= cosine similarity),
+ * SIMD-accelerated through the Vector API when {@code --add-modules jdk.incubator.vector} is set.
+ */
+@Slf4j
+public class EmbeddingMatrix implements VectorIndex {
+
+    static final DotProduct DOT_PRODUCT = selectDotProduct();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int dimensions;
+    private final int rowBytes;
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private ByteBuffer data;
+    private long[] idByRow;
+    private int rows;
+
+    public EmbeddingMatrix(int dimensions) {
+        this(dimensions, 256);
+    }
+
+    public EmbeddingMatrix(int dimensions, int initialCapacity) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("Embedding dimensions must be positive");
+        }
+        this.dimensions = dimensions;
+        this.rowBytes = dimensions * Float.BYTES;
+        int capacity = Math.max(1, initialCapacity);
+        this.data = allocate(capacity);
+        this.idByRow = new long[capacity];
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public void put(long id, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions but got " + vector.length);
+        }
+        float[] normalized = AiVectorUtils.normalize(vector);
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.get(id);
+            if (row == null) {
+                ensureCapacity(rows + 1);
+                row = rows++;
+                rowById.put(id, row);
+                idByRow[row] = id;
+            }
+            int offset = offset(row);
+            for (int i = 0; i < dimensions; i++) {
+                data.putFloat(offset + i * Float.BYTES, normalized[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(id);
+            if (row == null) {
+                return;
+            }
+            int last = --rows;
+            if (row != last) {
+                data.put(offset(row), data, offset(last), rowBytes);
+                long movedId = idByRow[last];
+                idByRow[row] = movedId;
+                rowById.put(movedId, row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return rowById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hit> search(float[] query, int limit) {
+        if (query == null || query.length != dimensions || limit <= 0) {
+            return List.of();
+        }
+        float[] normalized = AiVectorUtils.normalize(query);
+        Comparator<Hit> order = Comparator.comparingDouble(Hit::getScore);
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, Math.max(1, rows)), order);
+            float threshold = Float.NEGATIVE_INFINITY;
+            for (int row = 0; row < rows; row++) {
+                float score = DOT_PRODUCT.dot(data, offset(row), normalized);
+                if (top.size() < limit) {
+                    top.add(new Hit(idByRow[row], score));
+                    if (top.size() == limit) {
+                        threshold = (float) top.peek().getScore();
+                    }
+                } else if (score > threshold) {
+                    top.poll();
+                    top.add(new Hit(idByRow[row], score));
+                    threshold = (float) top.peek().getScore();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(order.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        int capacity = idByRow.length;
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = (int) Math.min(Math.max(required, (long) capacity * 2), Integer.MAX_VALUE / rowBytes);
+        if (newCapacity < required) {
+            throw new IllegalStateException("Embedding matrix cannot hold " + required + " rows of " + dimensions
+                    + " dimensions within the 2 GB buffer limit");
+        }
+        ByteBuffer grown = allocate(newCapacity);
+        grown.put(0, data, 0, offset(rows));
+        data = grown;
+        idByRow = Arrays.copyOf(idByRow, newCapacity);
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        long bytes = (long) capacity * rowBytes;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Embedding matrix of " + capacity + " rows of " + dimensions
+                    + " dimensions exceeds the 2 GB buffer limit");
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /** Byte offset of a row; {@link #allocate} keeps the whole buffer under 2 GB, so it fits in an int. */
+    private int offset(int row) {
+        return (int) ((long) row * rowBytes);
+    }
+
+    private static DotProduct selectDotProduct() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // loaded by name: it is compiled apart, against the incubator module (see pom.xml)
+                DotProduct simd = (DotProduct) Class.forName("com.towork.ai.matching.SimdDotProduct")
+                        .getDeclaredConstructor().newInstance();
+                ByteBuffer probe = ByteBuffer.allocateDirect(64 * Float.BYTES).order(ByteOrder.nativeOrder());
+                simd.dot(probe, 0, new float[64]);
+                log.info("Embedding search uses the Vector API");
+                return simd;
+            } catch (LinkageError | ReflectiveOperationException | RuntimeException ex) {
+                log.info("Vector API unavailable ({}), embedding search uses scalar code", ex.toString());
+            }
+        }
+        return new ScalarDotProduct();
+    }
+
+    @Data
+    public static class Hit {
+        private final long id;
+        private final double score;
+    }
+}
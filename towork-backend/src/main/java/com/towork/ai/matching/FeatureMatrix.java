@@ -0,0 +1,118 @@
+package com.towork.ai.matching;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed-width float rows plus one sorted term-hash array per id, stored in flat primitive arrays so a row
+ * can be replaced in place and read without allocating per-row objects. Removal swaps in the last row.
+ */
+public class FeatureMatrix {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int width;
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private float[] values;
+    private int[][] terms;
+    private long[] idByRow;
+    private int rows;
+
+    public FeatureMatrix(int width) {
+        this(width, 256);
+    }
+
+    public FeatureMatrix(int width, int initialCapacity) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Feature width must be positive");
+        }
+        this.width = width;
+        int capacity = Math.max(1, initialCapacity);
+        this.values = new float[capacity * width];
+        this.terms = new int[capacity][];
+        this.idByRow = new long[capacity];
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public void put(long id, float[] row, int[] rowTerms) {
+        if (row.length != width) {
+            throw new IllegalArgumentException("Expected " + width + " features but got " + row.length);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer index = rowById.get(id);
+            if (index == null) {
+                ensureCapacity(rows + 1);
+                index = rows++;
+                rowById.put(id, index);
+                idByRow[index] = id;
+            }
+            System.arraycopy(row, 0, values, index * width, width);
+            terms[index] = rowTerms == null ? new int[0] : rowTerms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer index = rowById.remove(id);
+            if (index == null) {
+                return;
+            }
+            int last = --rows;
+            if (index != last) {
+                System.arraycopy(values, last * width, values, index * width, width);
+                terms[index] = terms[last];
+                long movedId = idByRow[last];
+                idByRow[index] = movedId;
+                rowById.put(movedId, index);
+            }
+            terms[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the row of {@code id} into {@code target} and returns its term hashes, or {@code null} when absent.
+     */
+    public int[] read(long id, float[] target) {
+        lock.readLock().lock();
+        try {
+            Integer index = rowById.get(id);
+            if (index == null) {
+                return null;
+            }
+            System.arraycopy(values, index * width, target, 0, width);
+            return terms[index];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        int capacity = idByRow.length;
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(required, capacity * 2);
+        values = Arrays.copyOf(values, newCapacity * width);
+        terms = Arrays.copyOf(terms, newCapacity);
+        idByRow = Arrays.copyOf(idByRow, newCapacity);
+    }
+}
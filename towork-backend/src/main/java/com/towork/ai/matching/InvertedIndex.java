@@ -0,0 +1,423 @@
+package com.towork.ai.matching;
+
+import lombok.Data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe in-memory inverted index: term -> posting list of (document slot, term frequency).
+ * Documents are identified by a long id and mapped to dense int slots so that query-time
+ * accumulation runs over primitive arrays instead of boxed maps. Document lengths are tracked as well, so
+ * {@link #bm25} scores documents against the live corpus statistics without re-analyzing them.
+ */
+public class InvertedIndex {
+
+    /** Ascending hit order: matched-term count, then summed term frequency, then lower id first. */
+    public static final Comparator<Hit> HIT_ORDER = Comparator.comparingInt(Hit::getMatchedTerms)
+            .thenComparingInt(Hit::getTermFrequency)
+            .thenComparing(Hit::getDocumentId, Comparator.reverseOrder());
+    /** Order of {@link #searchBm25} hits: BM25 score, then matched terms. */
+    public static final Comparator<Hit> SCORE_ORDER = Comparator.comparingDouble(Hit::getScore)
+            .thenComparingInt(Hit::getMatchedTerms)
+            .thenComparing(Hit::getDocumentId, Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private long[] idBySlot = new long[64];
+    private String[][] termsBySlot = new String[64][];
+    private int[] lengthBySlot = new int[64];
+    private long totalLength;
+    private int slotCount;
+
+    public void put(long documentId, String text) {
+        Map<String, Integer> frequencies = termFrequencies(text);
+        lock.writeLock().lock();
+        try {
+            removeInternal(documentId);
+            if (!frequencies.isEmpty()) {
+                addInternal(documentId, frequencies);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long documentId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(documentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(Map<Long, String> documents) {
+        Map<Long, Map<String, Integer>> tokenized = new HashMap<>();
+        documents.forEach((id, text) -> {
+            Map<String, Integer> frequencies = termFrequencies(text);
+            if (!frequencies.isEmpty()) {
+                tokenized.put(id, frequencies);
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotById.clear();
+            freeSlots.clear();
+            slotCount = 0;
+            totalLength = 0;
+            Arrays.fill(termsBySlot, null);
+            tokenized.forEach(this::addInternal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long documentId) {
+        lock.readLock().lock();
+        try {
+            return slotById.containsKey(documentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every document sharing at least one term with the query and returns the best {@code limit}
+     * ordered by matched-term ratio, then by summed term frequency.
+     */
+    public List<Hit> search(Collection<String> queryTerms, int limit) {
+        if (queryTerms == null || queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>(queryTerms);
+        lock.readLock().lock();
+        try {
+            int[] matched = new int[slotCount];
+            int[] frequency = new int[slotCount];
+            int[] touched = new int[slotCount];
+            int touchedCount = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (matched[slot] == 0) {
+                        touched[touchedCount++] = slot;
+                    }
+                    matched[slot]++;
+                    frequency[slot] += list.frequencies[i];
+                }
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, Math.max(1, touchedCount)), HIT_ORDER);
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                Hit hit = new Hit(idBySlot[slot], matched[slot], frequency[slot],
+                        matched[slot] / (double) terms.size());
+                if (top.size() < limit) {
+                    top.add(hit);
+                } else if (HIT_ORDER.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(HIT_ORDER.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best {@code limit} documents by BM25 against the live corpus statistics, each scored as
+     * {@link #bm25(Collection, Collection)} does.
+     */
+    public List<Hit> searchBm25(Collection<String> queryTerms, int limit) {
+        if (queryTerms == null || queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>(queryTerms);
+        lock.readLock().lock();
+        try {
+            int[] matched = new int[slotCount];
+            int[] frequency = new int[slotCount];
+            double[] scores = new double[slotCount];
+            int[] touched = new int[slotCount];
+            int touchedCount = 0;
+            double averageLength = averageLength();
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Bm25Scorer.idf(slotById.size(), list.size);
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (matched[slot] == 0) {
+                        touched[touchedCount++] = slot;
+                    }
+                    matched[slot]++;
+                    frequency[slot] += list.frequencies[i];
+                    scores[slot] += termScore(idf, list.frequencies[i], lengthBySlot[slot], averageLength);
+                }
+            }
+
+            double maxScore = maxScore(terms);
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, Math.max(1, touchedCount)), SCORE_ORDER);
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                Hit hit = new Hit(idBySlot[slot], matched[slot], frequency[slot],
+                        maxScore == 0.0 ? 0.0 : scores[slot] / maxScore);
+                if (top.size() < limit) {
+                    top.add(hit);
+                } else if (SCORE_ORDER.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(SCORE_ORDER.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 scores of the given indexed documents, scaled into [0, 1) by the query's upper bound as
+     * {@link Bm25Scorer#normalizedScore} does; ids that are not indexed are left out.
+     */
+    public Map<Long, Double> bm25(Collection<String> queryTerms, Collection<Long> documentIds) {
+        if (queryTerms == null || queryTerms.isEmpty() || documentIds == null || documentIds.isEmpty()) {
+            return Map.of();
+        }
+        Set<String> terms = new LinkedHashSet<>(queryTerms);
+        lock.readLock().lock();
+        try {
+            boolean[] wanted = new boolean[slotCount];
+            Map<Long, Integer> slots = new HashMap<>();
+            for (Long id : documentIds) {
+                Integer slot = id == null ? null : slotById.get(id);
+                if (slot != null) {
+                    wanted[slot] = true;
+                    slots.put(id, slot);
+                }
+            }
+            double[] scores = new double[slotCount];
+            double averageLength = averageLength();
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Bm25Scorer.idf(slotById.size(), list.size);
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (wanted[slot]) {
+                        scores[slot] += termScore(idf, list.frequencies[i], lengthBySlot[slot], averageLength);
+                    }
+                }
+            }
+            double maxScore = maxScore(terms);
+            Map<Long, Double> result = new HashMap<>();
+            slots.forEach((id, slot) -> result.put(id, maxScore == 0.0 ? 0.0 : scores[slot] / maxScore));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores a document outside the index as {@link #bm25(Collection, Collection)} would, against the corpus
+     * statistics of the indexed documents.
+     */
+    public double bm25(Collection<String> queryTerms, String text) {
+        if (queryTerms == null || queryTerms.isEmpty()) {
+            return 0.0;
+        }
+        Set<String> terms = new LinkedHashSet<>(queryTerms);
+        Map<String, Integer> frequencies = termFrequencies(text);
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        lock.readLock().lock();
+        try {
+            double averageLength = slotById.isEmpty() ? length : averageLength();
+            double score = 0.0;
+            for (String term : terms) {
+                Integer frequency = frequencies.get(term);
+                if (frequency != null) {
+                    Postings list = postings.get(term);
+                    double idf = Bm25Scorer.idf(slotById.size(), list == null ? 0 : list.size);
+                    score += termScore(idf, frequency, length, averageLength);
+                }
+            }
+            double maxScore = maxScore(terms);
+            return maxScore == 0.0 ? 0.0 : score / maxScore;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static Set<String> queryTerms(String text) {
+        return termFrequencies(text).keySet();
+    }
+
+    /**
+     * Scores one document outside the index exactly as {@link #search} would; {@code null} when no term matches.
+     */
+    public static Hit match(long documentId, Collection<String> queryTerms, String text) {
+        if (queryTerms == null || queryTerms.isEmpty()) {
+            return null;
+        }
+        Set<String> terms = new LinkedHashSet<>(queryTerms);
+        Map<String, Integer> frequencies = termFrequencies(text);
+        int matched = 0;
+        int frequency = 0;
+        for (String term : terms) {
+            Integer count = frequencies.get(term);
+            if (count != null) {
+                matched++;
+                frequency += count;
+            }
+        }
+        return matched == 0 ? null : new Hit(documentId, matched, frequency, matched / (double) terms.size());
+    }
+
+    static Map<String, Integer> termFrequencies(String text) {
+        if (text == null || text.isBlank()) {
+            return Map.of();
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : TextAnalyzer.analyze(text)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private double averageLength() {
+        return slotById.isEmpty() ? 0.0 : totalLength / (double) slotById.size();
+    }
+
+    private double maxScore(Set<String> terms) {
+        double maxScore = 0.0;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            maxScore += Bm25Scorer.idf(slotById.size(), list == null ? 0 : list.size) * (Bm25Scorer.K1 + 1);
+        }
+        return maxScore;
+    }
+
+    private static double termScore(double idf, int frequency, int length, double averageLength) {
+        double norm = Bm25Scorer.K1 * (1 - Bm25Scorer.B
+                + Bm25Scorer.B * (averageLength == 0.0 ? 1.0 : length / averageLength));
+        return idf * frequency * (Bm25Scorer.K1 + 1) / (frequency + norm);
+    }
+
+    private void addInternal(long documentId, Map<String, Integer> frequencies) {
+        int slot = allocateSlot();
+        slotById.put(documentId, slot);
+        idBySlot[slot] = documentId;
+        String[] terms = frequencies.keySet().toArray(new String[0]);
+        termsBySlot[slot] = terms;
+        int length = 0;
+        for (String term : terms) {
+            int frequency = frequencies.get(term);
+            postings.computeIfAbsent(term, key -> new Postings()).add(slot, frequency);
+            length += frequency;
+        }
+        lengthBySlot[slot] = length;
+        totalLength += length;
+    }
+
+    private void removeInternal(long documentId) {
+        Integer slot = slotById.remove(documentId);
+        if (slot == null) {
+            return;
+        }
+        for (String term : termsBySlot[slot]) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(slot) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        termsBySlot[slot] = null;
+        totalLength -= lengthBySlot[slot];
+        lengthBySlot[slot] = 0;
+        freeSlots.push(slot);
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (slotCount == idBySlot.length) {
+            int capacity = idBySlot.length * 2;
+            idBySlot = Arrays.copyOf(idBySlot, capacity);
+            termsBySlot = Arrays.copyOf(termsBySlot, capacity);
+            lengthBySlot = Arrays.copyOf(lengthBySlot, capacity);
+        }
+        return slotCount++;
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    frequencies[i] = frequencies[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Data
+    public static class Hit {
+        private final long documentId;
+        private final int matchedTerms;
+        private final int termFrequency;
+        private final double score;
+    }
+}
@@ -0,0 +1,36 @@
+package com.towork.ai.matching;
+
+import java.util.Map;
+
+/**
+ * Weighted sum over a {@link RankingFeature} vector. Weights come from configuration keyed by feature name;
+ * features without a weight are ignored.
+ */
+public final class LinearRanker {
+
+    private final double[] weights;
+
+    public LinearRanker(double[] weights) {
+        if (weights.length != RankingFeature.values().length) {
+            throw new IllegalArgumentException("Expected one weight per ranking feature");
+        }
+        this.weights = weights.clone();
+    }
+
+    public static LinearRanker fromWeights(Map<String, Double> configured) {
+        double[] weights = new double[RankingFeature.values().length];
+        for (RankingFeature feature : RankingFeature.values()) {
+            Double weight = configured == null ? null : configured.get(feature.name());
+            weights[feature.ordinal()] = weight == null ? 0.0 : weight;
+        }
+        return new LinearRanker(weights);
+    }
+
+    public double score(double[] features) {
+        double score = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            score += weights[i] * features[i];
+        }
+        return score;
+    }
+}
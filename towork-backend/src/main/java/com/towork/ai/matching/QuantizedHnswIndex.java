@@ -0,0 +1,593 @@
+package com.towork.ai.matching;
+
+import com.towork.ai.util.AiVectorUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Approximate nearest-neighbour index: an HNSW graph navigated with int8 scalar-quantized vectors (one scale per
+ * vector), whose best {@code limit * rerankFactor} candidates are re-scored with the full-precision vectors.
+ * <p>
+ * Deletes and replacements tombstone the old node, which keeps routing searches but is never returned;
+ * {@link #compacted()} rebuilds the graph from live nodes. {@link #save(Path, String)} writes a snapshot that
+ * {@link #load(Path, int, int, int)} memory-maps: codes and links are read onto the heap, while full-precision
+ * vectors stay in the mapped file and are only paged in for re-ranking. Nodes inserted after the load keep their
+ * vector on the heap until the next snapshot.
+ */
+public class QuantizedHnswIndex implements VectorIndex {
+
+    private static final int MAGIC = 0x57534E48; // "HNSW"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 128;
+    /** Fixed header fields, followed by the length-prefixed UTF-8 name of the embedding model. */
+    private static final int FIXED_HEADER_BYTES = 40;
+    private static final int FLOATS_ALIGNMENT = 64;
+    private static final Comparator<Candidate> BY_SCORE = Comparator.comparingDouble(Candidate::score);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int dimensions;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final int rerankFactor;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final Map<Long, Integer> nodeById = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] ids;
+    private long[] fingerprints;
+    private byte[][] codes;
+    private float[] scales;
+    /** node -> level -> {count, neighbour...} */
+    private int[][][] links;
+    /** Full-precision vectors of nodes that are not in {@link #mapped}. */
+    private float[][] vectors;
+    private ByteBuffer mapped;
+    private int nodes;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private String model;
+
+    public QuantizedHnswIndex(int dimensions, int m, int efConstruction, int efSearch, int rerankFactor) {
+        this(dimensions, m, efConstruction, efSearch, rerankFactor, 256);
+    }
+
+    private QuantizedHnswIndex(int dimensions, int m, int efConstruction, int efSearch, int rerankFactor,
+                               int initialCapacity) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("Embedding dimensions must be positive");
+        }
+        this.dimensions = dimensions;
+        this.m = Math.max(2, m);
+        this.efConstruction = Math.max(this.m, efConstruction);
+        this.efSearch = Math.max(1, efSearch);
+        this.rerankFactor = Math.max(1, rerankFactor);
+        this.levelMultiplier = 1.0 / Math.log(this.m);
+        int capacity = Math.max(1, initialCapacity);
+        this.ids = new long[capacity];
+        this.fingerprints = new long[capacity];
+        this.codes = new byte[capacity][];
+        this.scales = new float[capacity];
+        this.links = new int[capacity][][];
+        this.vectors = new float[capacity][];
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /** Embedding model recorded in the snapshot this index was loaded from; {@code null} for a fresh index. */
+    public String model() {
+        return model;
+    }
+
+    /** Re-putting an identical vector is a no-op, so reconciling against a loaded snapshot only touches changes. */
+    @Override
+    public void put(long id, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions but got " + vector.length);
+        }
+        float[] normalized = AiVectorUtils.normalize(vector);
+        long fingerprint = fingerprint(normalized);
+        lock.writeLock().lock();
+        try {
+            Integer existing = nodeById.get(id);
+            if (existing != null) {
+                if (fingerprints[existing] == fingerprint) {
+                    return;
+                }
+                deleted.set(existing);
+            }
+            int node = append(id, fingerprint, normalized, randomLevel());
+            nodeById.put(id, node);
+            insert(node, normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeById.remove(id);
+            if (node != null) {
+                deleted.set(node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return nodeById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> ids() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(nodeById.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Share of graph nodes that are tombstones. */
+    public double deletedRatio() {
+        lock.readLock().lock();
+        try {
+            return nodes == 0 ? 0.0 : (double) deleted.cardinality() / nodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<EmbeddingMatrix.Hit> search(float[] query, int limit) {
+        if (query == null || query.length != dimensions || limit <= 0) {
+            return List.of();
+        }
+        float[] normalized = AiVectorUtils.normalize(query);
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || nodeById.isEmpty()) {
+                return List.of();
+            }
+            int rerankSize = limit * rerankFactor;
+            List<Candidate> found = searchLayer(normalized, descend(normalized, entryPoint, 0),
+                    Math.max(efSearch, rerankSize), 0);
+            List<Candidate> reranked = new ArrayList<>(Math.min(found.size(), rerankSize));
+            for (Candidate candidate : found) {
+                if (reranked.size() == rerankSize) {
+                    break;
+                }
+                if (!deleted.get(candidate.node())) {
+                    reranked.add(new Candidate(candidate.node(), exact(normalized, candidate.node())));
+                }
+            }
+            reranked.sort(BY_SCORE.reversed());
+            List<EmbeddingMatrix.Hit> hits = new ArrayList<>(Math.min(limit, reranked.size()));
+            for (int i = 0; i < reranked.size() && i < limit; i++) {
+                hits.add(new EmbeddingMatrix.Hit(ids[reranked.get(i).node()], reranked.get(i).score()));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** New index holding only the live vectors, without tombstones. */
+    public QuantizedHnswIndex compacted() {
+        lock.readLock().lock();
+        try {
+            QuantizedHnswIndex compacted = new QuantizedHnswIndex(dimensions, m, efConstruction, efSearch,
+                    rerankFactor, Math.max(1, nodeById.size()));
+            for (int node = 0; node < nodes; node++) {
+                if (!deleted.get(node)) {
+                    compacted.put(ids[node], vector(node));
+                }
+            }
+            return compacted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the index to {@code path} through a temporary file and an atomic rename, so a crash never leaves a
+     * truncated snapshot; a previous mapping of the same path stays valid. {@code model} names the embedding model
+     * that produced the vectors, so a loader can reject a snapshot from another model.
+     */
+    public void save(Path path, String model) throws IOException {
+        byte[] modelBytes = (model == null ? "" : model).getBytes(StandardCharsets.UTF_8);
+        if (modelBytes.length > HEADER_BYTES - FIXED_HEADER_BYTES) {
+            throw new IllegalArgumentException("Model name too long for the snapshot header: " + model);
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        lock.readLock().lock();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_BYTES);
+            for (int node = 0; node < nodes; node++) {
+                writeFully(channel, encodeNode(node));
+            }
+            long floatsOffset = align(channel.position());
+            channel.position(floatsOffset);
+            ByteBuffer row = ByteBuffer.allocate(dimensions * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int node = 0; node < nodes; node++) {
+                row.clear();
+                row.asFloatBuffer().put(vector(node));
+                writeFully(channel, row);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(dimensions).putInt(m).putInt(nodes)
+                    .putInt(entryPoint).putInt(maxLevel).putLong(floatsOffset)
+                    .putInt(modelBytes.length).put(modelBytes).rewind();
+            channel.position(0);
+            writeFully(channel, header);
+            channel.force(true);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps a snapshot written by {@link #save(Path, String)}. The graph degree, dimensions and model come from the
+     * file; search parameters from the arguments.
+     */
+    public static QuantizedHnswIndex load(Path path, int efConstruction, int efSearch, int rerankFactor)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not an index snapshot: " + path);
+            }
+            int dimensions = header.getInt();
+            int m = header.getInt();
+            int count = header.getInt();
+            int entryPoint = header.getInt();
+            int maxLevel = header.getInt();
+            long floatsOffset = header.getLong();
+            int modelLength = header.getInt();
+            if (modelLength < 0 || modelLength > HEADER_BYTES - FIXED_HEADER_BYTES) {
+                throw new IOException("Corrupt index snapshot header: " + path);
+            }
+            byte[] modelBytes = new byte[modelLength];
+            header.get(modelBytes);
+            long floatsBytes = (long) count * dimensions * Float.BYTES;
+            if (floatsOffset < HEADER_BYTES || floatsOffset + floatsBytes > channel.size()) {
+                throw new IOException("Truncated index snapshot: " + path);
+            }
+            if (floatsBytes > Integer.MAX_VALUE || floatsOffset - HEADER_BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Index snapshot exceeds the 2 GB mapping limit (" + count + " vectors of "
+                        + dimensions + " dimensions): " + path);
+            }
+            QuantizedHnswIndex index = new QuantizedHnswIndex(dimensions, m, efConstruction, efSearch, rerankFactor,
+                    Math.max(1, count));
+            ByteBuffer graph = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, floatsOffset - HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            for (int node = 0; node < count; node++) {
+                index.decodeNode(node, graph);
+            }
+            index.nodes = count;
+            index.entryPoint = entryPoint;
+            index.maxLevel = maxLevel;
+            index.model = new String(modelBytes, StandardCharsets.UTF_8);
+            index.mapped = channel.map(FileChannel.MapMode.READ_ONLY, floatsOffset, floatsBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            return index;
+        }
+    }
+
+    private int append(long id, long fingerprint, float[] normalized, int level) {
+        ensureCapacity(nodes + 1);
+        int node = nodes++;
+        ids[node] = id;
+        fingerprints[node] = fingerprint;
+        vectors[node] = normalized;
+        float max = 0f;
+        for (float value : normalized) {
+            max = Math.max(max, Math.abs(value));
+        }
+        float scale = max == 0f ? 1f : max / 127f;
+        byte[] code = new byte[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            code[i] = (byte) Math.round(normalized[i] / scale);
+        }
+        codes[node] = code;
+        scales[node] = scale;
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[maxLinks(l) + 1];
+        }
+        return node;
+    }
+
+    private void insert(int node, float[] query) {
+        int level = links[node].length - 1;
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+        int current = descend(query, entryPoint, level);
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> found = searchLayer(query, current, efConstruction, l);
+            int[] own = links[node][l];
+            for (Candidate candidate : found) {
+                if (own[0] == own.length - 1) {
+                    break;
+                }
+                own[++own[0]] = candidate.node();
+            }
+            for (int i = 1; i <= own[0]; i++) {
+                link(own[i], node, l);
+            }
+            current = found.get(0).node();
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /** Adds {@code target} to the neighbours of {@code node}, dropping the farthest one when the list is full. */
+    private void link(int node, int target, int level) {
+        int[] neighbours = links[node][level];
+        int count = neighbours[0];
+        if (count < neighbours.length - 1) {
+            neighbours[count + 1] = target;
+            neighbours[0] = count + 1;
+            return;
+        }
+        int worst = -1;
+        float worstScore = approx(node, target);
+        for (int i = 1; i <= count; i++) {
+            float score = approx(node, neighbours[i]);
+            if (score < worstScore) {
+                worst = i;
+                worstScore = score;
+            }
+        }
+        if (worst > 0) {
+            neighbours[worst] = target;
+        }
+    }
+
+    /** Greedy walk from the top layer down to {@code targetLevel + 1}, returning the closest node found. */
+    private int descend(float[] query, int from, int targetLevel) {
+        int current = from;
+        float currentScore = approx(query, current);
+        for (int l = maxLevel; l > targetLevel; l--) {
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                int[] neighbours = links[current][l];
+                for (int i = 1; i <= neighbours[0]; i++) {
+                    float score = approx(query, neighbours[i]);
+                    if (score > currentScore) {
+                        current = neighbours[i];
+                        currentScore = score;
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Best-first search of one layer keeping the {@code ef} closest nodes, returned best first. */
+    private List<Candidate> searchLayer(float[] query, int entry, int ef, int level) {
+        BitSet visited = new BitSet(nodes);
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(BY_SCORE.reversed());
+        PriorityQueue<Candidate> results = new PriorityQueue<>(BY_SCORE);
+        Candidate start = new Candidate(entry, approx(query, entry));
+        visited.set(entry);
+        frontier.add(start);
+        results.add(start);
+        while (!frontier.isEmpty()) {
+            Candidate closest = frontier.poll();
+            if (results.size() >= ef && closest.score() < results.peek().score()) {
+                break;
+            }
+            int[] neighbours = links[closest.node()][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float score = approx(query, neighbour);
+                if (results.size() < ef || score > results.peek().score()) {
+                    Candidate candidate = new Candidate(neighbour, score);
+                    frontier.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        List<Candidate> found = new ArrayList<>(results);
+        found.sort(BY_SCORE.reversed());
+        return found;
+    }
+
+    private float approx(float[] query, int node) {
+        byte[] code = codes[node];
+        float sum = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            sum += query[i] * code[i];
+        }
+        return sum * scales[node];
+    }
+
+    private float approx(int a, int b) {
+        byte[] left = codes[a];
+        byte[] right = codes[b];
+        int sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += left[i] * right[i];
+        }
+        return sum * scales[a] * scales[b];
+    }
+
+    private float exact(float[] query, int node) {
+        float[] vector = vectors[node];
+        if (vector == null) {
+            return EmbeddingMatrix.DOT_PRODUCT.dot(mapped, mappedOffset(node), query);
+        }
+        float sum = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            sum += query[i] * vector[i];
+        }
+        return sum;
+    }
+
+    private float[] vector(int node) {
+        float[] vector = vectors[node];
+        if (vector != null) {
+            return vector;
+        }
+        float[] copy = new float[dimensions];
+        mapped.slice(mappedOffset(node), dimensions * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer().get(copy);
+        return copy;
+    }
+
+    /** Byte offset of a node's vector in {@link #mapped}; {@link #load} keeps the mapping under 2 GB. */
+    private int mappedOffset(int node) {
+        return Math.toIntExact((long) node * dimensions * Float.BYTES);
+    }
+
+    private ByteBuffer encodeNode(int node) {
+        int[][] nodeLinks = links[node];
+        int size = Long.BYTES * 2 + 1 + Integer.BYTES + Float.BYTES + dimensions;
+        for (int[] level : nodeLinks) {
+            size += Integer.BYTES * (level[0] + 1);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(ids[node]).putLong(fingerprints[node]).put((byte) (deleted.get(node) ? 1 : 0))
+                .putInt(nodeLinks.length - 1).putFloat(scales[node]).put(codes[node]);
+        for (int[] level : nodeLinks) {
+            for (int i = 0; i <= level[0]; i++) {
+                buffer.putInt(level[i]);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void decodeNode(int node, ByteBuffer graph) {
+        long id = graph.getLong();
+        long fingerprint = graph.getLong();
+        boolean tombstone = graph.get() != 0;
+        int level = graph.getInt();
+        float scale = graph.getFloat();
+        ids[node] = id;
+        fingerprints[node] = fingerprint;
+        scales[node] = scale;
+        codes[node] = new byte[dimensions];
+        graph.get(codes[node]);
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            int[] neighbours = new int[maxLinks(l) + 1];
+            neighbours[0] = graph.getInt();
+            for (int i = 1; i <= neighbours[0]; i++) {
+                neighbours[i] = graph.getInt();
+            }
+            links[node][l] = neighbours;
+        }
+        if (tombstone) {
+            deleted.set(node);
+        } else {
+            nodeById.put(id, node);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        int capacity = ids.length;
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(required, capacity * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        fingerprints = Arrays.copyOf(fingerprints, newCapacity);
+        codes = Arrays.copyOf(codes, newCapacity);
+        scales = Arrays.copyOf(scales, newCapacity);
+        links = Arrays.copyOf(links, newCapacity);
+        vectors = Arrays.copyOf(vectors, newCapacity);
+    }
+
+    private int maxLinks(int level) {
+        return level == 0 ? m * 2 : m;
+    }
+
+    private int randomLevel() {
+        return (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+    }
+
+    private static long fingerprint(float[] vector) {
+        long hash = 0xCBF29CE484222325L;
+        for (float value : vector) {
+            hash ^= Float.floatToIntBits(value);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long align(long position) {
+        return (position + FLOATS_ALIGNMENT - 1) / FLOATS_ALIGNMENT * FLOATS_ALIGNMENT;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private record Candidate(int node, float score) {
+    }
+}
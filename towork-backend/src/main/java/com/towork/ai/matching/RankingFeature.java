@@ -0,0 +1,18 @@
+package com.towork.ai.matching;
+
+/**
+ * Per mission/freelancer features scored by {@link LinearRanker}; every value lies in [0, 1].
+ */
+public enum RankingFeature {
+    /** Score of the retrieval stage (semantic, inverted index or BM25). */
+    RETRIEVAL,
+    SKILL_OVERLAP,
+    RATING,
+    FEEDBACK,
+    SUCCESS_RATE,
+    EXPERIENCE,
+    /** 1 when the freelancer's rate fits the mission budget, decreasing to 0 at twice the budget. */
+    RATE_FIT,
+    /** Halves every {@code ai.matching.recency-half-life-days} since the profile was last updated. */
+    RECENCY
+}
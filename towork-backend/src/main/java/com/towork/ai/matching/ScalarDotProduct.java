@@ -0,0 +1,27 @@
+package com.towork.ai.matching;
+
+import java.nio.ByteBuffer;
+
+final class ScalarDotProduct implements DotProduct {
+
+    @Override
+    public float dot(ByteBuffer matrix, int byteOffset, float[] query) {
+        float s0 = 0f;
+        float s1 = 0f;
+        float s2 = 0f;
+        float s3 = 0f;
+        int i = 0;
+        int upper = query.length & ~3;
+        for (; i < upper; i += 4) {
+            int base = byteOffset + i * Float.BYTES;
+            s0 += matrix.getFloat(base) * query[i];
+            s1 += matrix.getFloat(base + 4) * query[i + 1];
+            s2 += matrix.getFloat(base + 8) * query[i + 2];
+            s3 += matrix.getFloat(base + 12) * query[i + 3];
+        }
+        for (; i < query.length; i++) {
+            s0 += matrix.getFloat(byteOffset + i * Float.BYTES) * query[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+}
@@ -0,0 +1,34 @@
+package com.towork.ai.matching;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vector API implementation. Compiled in its own execution (see pom.xml) so the rest of the code does not build
+ * against the incubator module, and only loaded when {@code jdk.incubator.vector} is resolved at runtime,
+ * see {@link EmbeddingMatrix}.
+ */
+final class SimdDotProduct implements DotProduct {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public float dot(ByteBuffer matrix, int byteOffset, float[] query) {
+        FloatVector accumulator = FloatVector.zero(SPECIES);
+        int i = 0;
+        int upper = SPECIES.loopBound(query.length);
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector row = FloatVector.fromByteBuffer(SPECIES, matrix, byteOffset + i * Float.BYTES, matrix.order());
+            FloatVector q = FloatVector.fromArray(SPECIES, query, i);
+            accumulator = row.fma(q, accumulator);
+        }
+        float sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < query.length; i++) {
+            sum += matrix.getFloat(byteOffset + i * Float.BYTES) * query[i];
+        }
+        return sum;
+    }
+}
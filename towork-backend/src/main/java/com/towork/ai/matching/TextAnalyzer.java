@@ -0,0 +1,113 @@
+package com.towork.ai.matching;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Shared tokenizer for lexical matching: lower-cases, folds accents, splits on non-alphanumerics (keeping
+ * {@code +} and {@code #} so "c++" and "c#" survive), drops French/English stop words and applies a light
+ * suffix-stripping stemmer ("développeurs" and "développeuse" both give "developpeur", "designers" gives
+ * "design"). Index and query text must go through the same analyzer.
+ */
+public final class TextAnalyzer {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MIN_STEM_LENGTH = 4;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "from", "that", "this", "are", "you", "your", "our", "will", "have", "has",
+            "into", "who", "not", "but", "all", "can", "its", "was", "were", "been", "also", "any", "per", "via",
+            "les", "des", "une", "dans", "pour", "avec", "sur", "par", "est", "sont", "qui", "que", "aux", "du", "de",
+            "la", "le", "un", "et", "en", "au", "ou", "ce", "ces", "nous", "vous", "son", "ses", "leur", "plus",
+            "pas", "mais", "tres", "etre", "avoir", "an", "as", "at", "be", "by", "in", "is", "it", "of", "on",
+            "or", "to", "we", "a", "d", "l", "s");
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = fold(text);
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            boolean word = Character.isLetterOrDigit(c) || (start >= 0 && (c == '+' || c == '#'));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                addTerm(terms, folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String token) {
+        if (token.length() < MIN_STEM_LENGTH || !Character.isLetter(token.charAt(token.length() - 1))) {
+            return token;
+        }
+        String stem = token;
+        // plurals (fr/en)
+        if (stem.endsWith("eaux")) {
+            stem = stem.substring(0, stem.length() - 1);
+        } else if (stem.endsWith("aux")) {
+            stem = stem.substring(0, stem.length() - 3) + "al";
+        } else if (stem.endsWith("ies") && stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if ((stem.endsWith("s") || stem.endsWith("x"))
+                && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        // derivational / inflectional endings, longest first
+        stem = strip(stem, "ement", "");
+        stem = strip(stem, "euse", "eur");
+        stem = strip(stem, "ment", "");
+        stem = strip(stem, "ing", "");
+        stem = strip(stem, "ive", "if");
+        stem = strip(stem, "ed", "");
+        stem = strip(stem, "ee", "");
+        stem = strip(stem, "er", "");
+        stem = strip(stem, "e", "");
+        return stem;
+    }
+
+    private static String strip(String token, String suffix, String replacement) {
+        if (token.endsWith(suffix) && token.length() - suffix.length() + replacement.length() >= MIN_STEM_LENGTH) {
+            return token.substring(0, token.length() - suffix.length()) + replacement;
+        }
+        return token;
+    }
+
+    private static void addTerm(List<String> terms, String token) {
+        if (token.length() < MIN_TOKEN_LENGTH || STOP_WORDS.contains(token)) {
+            return;
+        }
+        terms.add(stem(token));
+    }
+
+    private static String fold(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        boolean ascii = true;
+        for (int i = 0; i < lower.length() && ascii; i++) {
+            ascii = lower.charAt(i) < 128;
+        }
+        if (ascii) {
+            return lower;
+        }
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        StringBuilder builder = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
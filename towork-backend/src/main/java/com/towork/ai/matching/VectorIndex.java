@@ -0,0 +1,22 @@
+package com.towork.ai.matching;
+
+import java.util.List;
+
+/**
+ * Nearest-neighbour index over unit-normalized embeddings keyed by entity id; scores are cosine similarities.
+ */
+public interface VectorIndex {
+
+    int dimensions();
+
+    /** Inserts or replaces the vector of {@code id}; the vector is normalized on the way in. */
+    void put(long id, float[] vector);
+
+    void remove(long id);
+
+    boolean contains(long id);
+
+    int size();
+
+    List<EmbeddingMatrix.Hit> search(float[] query, int limit);
+}
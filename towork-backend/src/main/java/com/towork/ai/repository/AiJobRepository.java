@@ -0,0 +1,18 @@
+package com.towork.ai.repository;
+
+import com.towork.ai.entity.AiJob;
+import com.towork.ai.entity.AiJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AiJobRepository extends JpaRepository<AiJob, Long> {
+
+    Optional<AiJob> findByIdAndSubmittedBy(Long id, String submittedBy);
+
+    List<AiJob> findByStatusOrderByCreatedAtAsc(AiJobStatus status, Pageable pageable);
+}
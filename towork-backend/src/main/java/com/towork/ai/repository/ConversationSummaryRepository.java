@@ -0,0 +1,22 @@
+package com.towork.ai.repository;
+
+import com.towork.ai.entity.ConversationSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, Long> {
+
+    Optional<ConversationSummary> findByCandidatureId(Long candidatureId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ConversationSummary s WHERE s.candidatureId = :candidatureId")
+    void deleteByCandidatureId(@Param("candidatureId") Long candidatureId);
+}
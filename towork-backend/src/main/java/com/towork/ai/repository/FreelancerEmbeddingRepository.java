@@ -0,0 +1,16 @@
+package com.towork.ai.repository;
+
+import com.towork.ai.entity.FreelancerEmbedding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FreelancerEmbeddingRepository extends JpaRepository<FreelancerEmbedding, Long> {
+
+    Optional<FreelancerEmbedding> findByFreelancerId(Long freelancerId);
+
+    List<FreelancerEmbedding> findByModel(String model);
+}
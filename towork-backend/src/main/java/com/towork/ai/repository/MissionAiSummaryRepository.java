@@ -0,0 +1,16 @@
+package com.towork.ai.repository;
+
+import com.towork.ai.entity.MissionAiSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MissionAiSummaryRepository extends JpaRepository<MissionAiSummary, Long> {
+
+    Optional<MissionAiSummary> findByMissionIdAndLanguage(Long missionId, String language);
+
+    List<MissionAiSummary> findByMissionId(Long missionId);
+}
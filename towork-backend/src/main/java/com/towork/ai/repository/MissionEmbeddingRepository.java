@@ -0,0 +1,13 @@
+package com.towork.ai.repository;
+
+import com.towork.ai.entity.MissionEmbedding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MissionEmbeddingRepository extends JpaRepository<MissionEmbedding, Long> {
+
+    Optional<MissionEmbedding> findByMissionId(Long missionId);
+}
@@ -0,0 +1,13 @@
+package com.towork.ai.repository;
+
+import com.towork.ai.entity.ResumeExtraction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ResumeExtractionRepository extends JpaRepository<ResumeExtraction, Long> {
+
+    Optional<ResumeExtraction> findByContentHashAndLanguage(String contentHash, String language);
+}
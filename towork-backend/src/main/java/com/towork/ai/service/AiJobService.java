@@ -0,0 +1,207 @@
+package com.towork.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiJobResponse;
+import com.towork.ai.dto.AiResumeExtractionResponse;
+import com.towork.ai.entity.AiJob;
+import com.towork.ai.entity.AiJobStatus;
+import com.towork.ai.entity.AiJobType;
+import com.towork.ai.repository.AiJobRepository;
+import com.towork.ai.util.AiLanguages;
+import com.towork.exception.ResourceNotFoundException;
+import com.towork.file.StoredFile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs heavy AI work (resume parsing and extraction) outside the request thread. Jobs are persisted in
+ * {@code ai_jobs} before they are queued on a bounded worker pool, so queued work survives restarts: the startup
+ * sweep re-queues jobs that were interrupted mid-run, and the periodic sweep picks up jobs the queue rejected.
+ */
+@Service
+@Slf4j
+public class AiJobService {
+
+    private final AiJobRepository aiJobRepository;
+    private final AiResumeService aiResumeService;
+    private final AiProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor workers;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public AiJobService(AiJobRepository aiJobRepository, AiResumeService aiResumeService, AiProperties properties,
+                        ObjectMapper objectMapper) {
+        this.aiJobRepository = aiJobRepository;
+        this.aiResumeService = aiResumeService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        int threads = Math.max(1, properties.getJobs().getWorkerThreads());
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getJobs().getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ai-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public AiJobResponse submitResumeExtraction(MultipartFile file, Long freelancerId, String language,
+                                                String submittedBy) {
+        StoredFile stored = aiResumeService.storeResume(file);
+
+        AiJob job = new AiJob();
+        job.setType(AiJobType.RESUME_EXTRACTION);
+        job.setStatus(AiJobStatus.QUEUED);
+        job.setSubmittedBy(submittedBy);
+        job.setFreelancerId(freelancerId);
+        job.setFileKey(stored.getFileName());
+        job.setContentHash(stored.getSha256());
+        job.setLanguage(AiLanguages.normalize(language));
+        AiJob saved = aiJobRepository.save(job);
+
+        enqueue(saved.getId());
+        return toResponse(saved);
+    }
+
+    /**
+     * Jobs submitted by someone else are reported as missing, so sequential ids cannot be probed.
+     */
+    public AiJobResponse getJob(Long id, String requestedBy) {
+        Optional<AiJob> job = requestedBy == null ? Optional.empty()
+                : aiJobRepository.findByIdAndSubmittedBy(id, requestedBy);
+        return job
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("AI job not found with id: " + id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterruptedJobs() {
+        PageRequest batch = PageRequest.of(0, Math.max(1, properties.getJobs().getSweepBatchSize()));
+        try {
+            for (AiJob job : aiJobRepository.findByStatusOrderByCreatedAtAsc(AiJobStatus.RUNNING, batch)) {
+                if (job.getAttempts() >= properties.getJobs().getMaxAttempts()) {
+                    fail(job, "Interrupted too many times");
+                } else {
+                    job.setStatus(AiJobStatus.QUEUED);
+                    job.setProgress(0);
+                    aiJobRepository.save(job);
+                }
+            }
+        } catch (Exception ex) {
+            log.warn("Recovery of interrupted AI jobs failed: {}", ex.getMessage());
+        }
+        sweepQueued();
+    }
+
+    @Scheduled(fixedDelayString = "${ai.jobs.sweep-interval-ms:30000}", initialDelay = 30000)
+    public void sweepQueued() {
+        PageRequest batch = PageRequest.of(0, Math.max(1, properties.getJobs().getSweepBatchSize()));
+        try {
+            aiJobRepository.findByStatusOrderByCreatedAtAsc(AiJobStatus.QUEUED, batch)
+                    .forEach(job -> enqueue(job.getId()));
+        } catch (Exception ex) {
+            log.warn("Queued AI job sweep failed: {}", ex.getMessage());
+        }
+    }
+
+    private void enqueue(Long jobId) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(jobId);
+            log.warn("AI job queue full, job {} left queued", jobId);
+        }
+    }
+
+    void run(Long jobId) {
+        AiJob job = aiJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != AiJobStatus.QUEUED) {
+            return;
+        }
+        job.setStatus(AiJobStatus.RUNNING);
+        job.setProgress(0);
+        job.setAttempts(job.getAttempts() + 1);
+        job.setStartedAt(LocalDateTime.now());
+        AiJob running = aiJobRepository.save(job);
+
+        try {
+            AiResumeExtractionResponse result = aiResumeService.processStoredResume(running.getFileKey(),
+                    running.getContentHash(), running.getFreelancerId(), running.getLanguage(),
+                    progress -> updateProgress(running, progress));
+            running.setStatus(AiJobStatus.SUCCEEDED);
+            running.setProgress(100);
+            running.setResult(objectMapper.writeValueAsString(result));
+            running.setFinishedAt(LocalDateTime.now());
+            aiJobRepository.save(running);
+        } catch (Exception ex) {
+            log.warn("AI job {} failed: {}", jobId, ex.getMessage());
+            fail(running, ex.getMessage());
+        }
+    }
+
+    private void updateProgress(AiJob job, int progress) {
+        if (progress < 100) {
+            job.setProgress(progress);
+            aiJobRepository.save(job);
+        }
+    }
+
+    private void fail(AiJob job, String error) {
+        job.setStatus(AiJobStatus.FAILED);
+        job.setError(error);
+        job.setFinishedAt(LocalDateTime.now());
+        aiJobRepository.save(job);
+    }
+
+    private AiJobResponse toResponse(AiJob job) {
+        return new AiJobResponse(job.getId(), job.getType(), job.getStatus(), job.getProgress(), readResult(job),
+                job.getError(), job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt());
+    }
+
+    private JsonNode readResult(AiJob job) {
+        if (job.getResult() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(job.getResult());
+        } catch (JsonProcessingException ex) {
+            log.warn("Unreadable result for AI job {}: {}", job.getId(), ex.getMessage());
+            return null;
+        }
+    }
+}
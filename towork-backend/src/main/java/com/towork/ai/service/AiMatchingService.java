@@ -1,110 +1,257 @@
 package com.towork.ai.service;
 
+import com.towork.ai.config.AiFeature;
 import com.towork.ai.config.AiProperties;
 import com.towork.ai.dto.AiFreelancerMatchDto;
+import com.towork.ai.matching.EmbeddingMatrix;
+import com.towork.ai.matching.InvertedIndex;
+import com.towork.ai.matching.LinearRanker;
 import com.towork.candidature.entity.Candidature;
 import com.towork.candidature.repository.CandidatureRepository;
 import com.towork.exception.ResourceNotFoundException;
+import com.towork.mission.entity.BudgetType;
 import com.towork.mission.entity.Mission;
+import com.towork.mission.entity.TypeTravail;
 import com.towork.mission.repository.MissionRepository;
-import com.towork.user.entity.Competence;
 import com.towork.user.entity.Freelancer;
-import com.towork.user.repository.CompetenceRepository;
 import com.towork.user.repository.FreelancerRepository;
+import com.towork.user.repository.FreelancerSpecifications;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AiMatchingService {
 
+    private static final String KEYWORD_REASON = "Keyword overlap";
+
     private final MissionRepository missionRepository;
     private final FreelancerRepository freelancerRepository;
-    private final CompetenceRepository competenceRepository;
     private final CandidatureRepository candidatureRepository;
     private final AiTextService aiTextService;
     private final AiFeatureService aiFeatureService;
     private final AiProperties properties;
+    private final FreelancerIndexService freelancerIndexService;
+    private final EmbeddingService embeddingService;
+    private final FreelancerFeatureService freelancerFeatureService;
 
     public List<AiFreelancerMatchDto> recommendFreelancers(Long missionId, Integer limit) {
+        return recommendFreelancersAsync(missionId, limit).join();
+    }
+
+    /**
+     * Three stages: cheap retrieval under hard constraints, a {@link LinearRanker} over per-freelancer feature
+     * vectors, then an optional model rerank of only the top {@code ai.matching.rerank-size} candidates.
+     * Runs on the calling thread up to the model call; AI failures complete with the feature ranking.
+     */
+    public CompletableFuture<List<AiFreelancerMatchDto>> recommendFreelancersAsync(Long missionId, Integer limit) {
         int max = limit != null && limit > 0 ? limit : 5;
         Mission mission = missionRepository.findById(missionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Mission not found with id: " + missionId));
 
-        List<Freelancer> freelancers = freelancerRepository.findActiveAvailableFreelancers();
-        if (freelancers == null || freelancers.isEmpty()) {
-            freelancers = fallbackFreelancersFromCandidatures(mission);
-        }
-        if (freelancers == null || freelancers.isEmpty()) {
-            return List.of();
-        }
-
         String missionText = aiFeatureService.buildMissionText(
                 mission.getTitle(), mission.getDescription(), mission.getRequirements(), mission.getSkillsRequired());
         if (missionText.isBlank()) {
-            return List.of();
+            return CompletableFuture.completedFuture(List.of());
         }
 
-        List<Candidate> candidates = buildCandidates(freelancers, missionText);
-        candidates.sort(Comparator.comparing(Candidate::getHeuristicScore, Comparator.reverseOrder()));
-
-        int shortlistSize = Math.min(20, candidates.size());
-        List<Candidate> shortlist = candidates.subList(0, shortlistSize);
+        List<Candidate> shortlist = buildShortlist(mission, missionText);
+        if (shortlist.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        List<Candidate> ranked = rank(mission, missionText, shortlist);
 
-        if (!properties.isEnabled() || !properties.getFeatures().isMatching()) {
-            return toFallbackMatches(shortlist, max);
+        int rerankSize = properties.getMatching().getRerankSize();
+        if (!properties.isEnabled() || !properties.getFeatures().isMatching() || rerankSize <= 0) {
+            return CompletableFuture.completedFuture(toFallbackMatches(ranked, max));
         }
+        List<Candidate> rerank = ranked.subList(0, Math.min(ranked.size(), Math.max(max, rerankSize)));
 
         String systemPrompt = "You rank freelancers for a mission. Return only JSON.";
-        String userPrompt = buildMatchingPrompt(missionText, shortlist, max);
-
-        try {
-            MatchPayload payload = aiTextService.chatJson(systemPrompt, userPrompt, 0.2, 500, MatchPayload.class);
-            List<AiFreelancerMatchDto> matches = normalizeMatches(payload, shortlist);
-            if (matches.size() < max) {
-                List<AiFreelancerMatchDto> fallback = toFallbackMatches(shortlist, max);
-                for (AiFreelancerMatchDto fallbackMatch : fallback) {
-                    boolean exists = matches.stream().anyMatch(m -> m.getFreelancerId().equals(fallbackMatch.getFreelancerId()));
-                    if (!exists) {
-                        matches.add(fallbackMatch);
-                    }
-                    if (matches.size() >= max) {
-                        break;
-                    }
+        String userPrompt = buildMatchingPrompt(missionText, rerank, max);
+
+        return aiTextService.chatJsonAsync(AiFeature.MATCHING, systemPrompt, userPrompt, 0.2, 500, MatchPayload.class)
+                .thenApply(payload -> mergeMatches(normalizeMatches(payload, rerank), ranked, max))
+                .exceptionally(ex -> {
+                    log.warn("AI matching failed, using fallback: {}", ex.getMessage());
+                    return toFallbackMatches(ranked, max);
+                });
+    }
+
+    private List<AiFreelancerMatchDto> mergeMatches(List<AiFreelancerMatchDto> matches, List<Candidate> shortlist, int max) {
+        if (matches.size() < max) {
+            List<AiFreelancerMatchDto> fallback = toFallbackMatches(shortlist, max);
+            for (AiFreelancerMatchDto fallbackMatch : fallback) {
+                boolean exists = matches.stream().anyMatch(m -> m.getFreelancerId().equals(fallbackMatch.getFreelancerId()));
+                if (!exists) {
+                    matches.add(fallbackMatch);
+                }
+                if (matches.size() >= max) {
+                    break;
                 }
             }
-            return matches.stream().limit(max).collect(Collectors.toList());
-        } catch (Exception ex) {
-            log.warn("AI matching failed, using fallback: {}", ex.getMessage());
-            return toFallbackMatches(shortlist, max);
         }
+        return matches.stream().limit(max).collect(Collectors.toList());
     }
 
-    private List<Candidate> buildCandidates(List<Freelancer> freelancers, String missionText) {
-        List<Candidate> candidates = new ArrayList<>();
-        for (Freelancer freelancer : freelancers) {
-            if (freelancer == null || freelancer.getId() == null) {
-                continue;
+    private List<Candidate> rank(Mission mission, String missionText, List<Candidate> retrieved) {
+        FreelancerFeatureService.MissionContext context = freelancerFeatureService.missionContext(mission, missionText);
+        LinearRanker ranker = LinearRanker.fromWeights(properties.getMatching().getWeights());
+        return retrieved.stream()
+                .map(candidate -> new Candidate(candidate.getFreelancer(), ranker.score(freelancerFeatureService
+                        .features(candidate.getFreelancer(), candidate.getHeuristicScore(), context)), candidate.getReason()))
+                .sorted(Comparator.comparing(Candidate::getHeuristicScore, Comparator.reverseOrder()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Every stage only scores freelancers passing {@link #hardConstraints(Mission)}; the candidature fallback
+     * is left unfiltered since those freelancers applied to the mission themselves.
+     */
+    private List<Candidate> buildShortlist(Mission mission, String missionText) {
+        Specification<Freelancer> constraints = hardConstraints(mission);
+        List<Candidate> semantic = semanticCandidates(mission, missionText, constraints);
+        if (!semantic.isEmpty()) {
+            return semantic;
+        }
+        if (freelancerIndexService.size() == 0) {
+            List<Freelancer> freelancers = freelancerRepository.findAll(constraints);
+            if (freelancers == null || freelancers.isEmpty()) {
+                freelancers = fallbackFreelancersFromCandidatures(mission);
             }
-            String profile = buildFreelancerProfile(freelancer);
-            double score = keywordScore(missionText, profile);
-            candidates.add(new Candidate(freelancer, profile, score));
+            return topCandidates(freelancers, missionText);
+        }
+        List<Candidate> indexed = indexedCandidates(mission, constraints);
+        if (!indexed.isEmpty()) {
+            return indexed;
+        }
+        return topCandidates(fallbackFreelancersFromCandidatures(mission), missionText);
+    }
+
+    /**
+     * Budget, location and experience requirements evaluated in SQL, so implausible freelancers are never scored.
+     */
+    private Specification<Freelancer> hardConstraints(Mission mission) {
+        List<Specification<Freelancer>> constraints = new ArrayList<>();
+        constraints.add(FreelancerSpecifications.activeAvailable());
+
+        BigDecimal budgetCap = budgetCap(mission);
+        if (budgetCap != null) {
+            constraints.add(mission.getBudgetType() == BudgetType.HOURLY
+                    ? FreelancerSpecifications.hourlyRateAtMost(budgetCap)
+                    : FreelancerSpecifications.dailyRateAtMost(budgetCap));
+        }
+        if (mission.getTypeTravail() != null && mission.getTypeTravail() != TypeTravail.REMOTE
+                && mission.getClient() != null && mission.getClient().getId() != null) {
+            constraints.add(FreelancerSpecifications.sameCountryAsClient(mission.getClient().getId()));
+        }
+        Double minRating = mission.getNiveauExperience() == null ? null
+                : properties.getMatching().getMinRating().get(mission.getNiveauExperience().name());
+        if (minRating != null && minRating > 0) {
+            constraints.add(FreelancerSpecifications.ratingAtLeast(BigDecimal.valueOf(minRating)));
+        }
+        return Specification.allOf(constraints);
+    }
+
+    private BigDecimal budgetCap(Mission mission) {
+        if (mission.getBudgetMax() == null || mission.getBudgetMax().signum() <= 0
+                || mission.getBudgetType() == null || mission.getBudgetType() == BudgetType.NEGOTIABLE) {
+            return null;
+        }
+        // a fixed-price mission must at least afford one day of the freelancer's time
+        return mission.getBudgetMax().multiply(BigDecimal.valueOf(properties.getMatching().getBudgetTolerance()));
+    }
+
+    private int retrievalSize() {
+        return Math.max(1, properties.getMatching().getRetrievalSize());
+    }
+
+    private int overfetchSize() {
+        return retrievalSize() * Math.max(1, properties.getMatching().getOverfetchFactor());
+    }
+
+    private List<Candidate> semanticCandidates(Mission mission, String missionText,
+                                               Specification<Freelancer> constraints) {
+        if (!embeddingService.isAvailable()) {
+            return List.of();
+        }
+        Optional<float[]> missionVector = embeddingService.missionVector(mission.getId(), missionText);
+        if (missionVector.isEmpty()) {
+            return List.of();
+        }
+        List<EmbeddingMatrix.Hit> hits = embeddingService.searchFreelancers(missionVector.get(), overfetchSize());
+        Map<Long, Double> scoreById = new LinkedHashMap<>();
+        hits.forEach(hit -> scoreById.put(hit.getId(), hit.getScore()));
+        return loadCandidates(scoreById, "Semantic similarity", constraints);
+    }
+
+    private List<Candidate> indexedCandidates(Mission mission, Specification<Freelancer> constraints) {
+        String query = Stream.of(mission.getTitle(), mission.getDescription(), mission.getRequirements(), mission.getSkillsRequired())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+        List<InvertedIndex.Hit> hits = freelancerIndexService.search(query, overfetchSize());
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Double> scoreById = new LinkedHashMap<>();
+        hits.forEach(hit -> scoreById.put(hit.getDocumentId(), hit.getScore()));
+        return loadCandidates(scoreById, KEYWORD_REASON, constraints);
+    }
+
+    /**
+     * Loads the hits that satisfy the constraints, keeping hit order and at most {@link #retrievalSize()}.
+     */
+    private List<Candidate> loadCandidates(Map<Long, Double> scoreById, String reason,
+                                           Specification<Freelancer> constraints) {
+        if (scoreById.isEmpty()) {
+            return List.of();
         }
+        Map<Long, Freelancer> freelancerById = freelancerRepository
+                .findAll(constraints.and(FreelancerSpecifications.idIn(scoreById.keySet()))).stream()
+                .collect(Collectors.toMap(Freelancer::getId, freelancer -> freelancer, (a, b) -> a));
+        int limit = retrievalSize();
+        List<Candidate> candidates = new ArrayList<>();
+        scoreById.forEach((id, score) -> {
+            Freelancer freelancer = freelancerById.get(id);
+            if (freelancer != null && candidates.size() < limit) {
+                candidates.add(new Candidate(freelancer, score, reason));
+            }
+        });
         return candidates;
     }
 
+    private List<Candidate> topCandidates(List<Freelancer> freelancers, String missionText) {
+        if (freelancers == null || freelancers.isEmpty()) {
+            return List.of();
+        }
+        List<Freelancer> eligible = freelancers.stream()
+                .filter(freelancer -> freelancer != null && freelancer.getId() != null)
+                .collect(Collectors.toList());
+        Map<Long, Double> scores = freelancerIndexService.score(missionText, eligible);
+        List<Candidate> candidates = new ArrayList<>();
+        for (Freelancer freelancer : eligible) {
+            candidates.add(new Candidate(freelancer, scores.getOrDefault(freelancer.getId(), 0.0), KEYWORD_REASON));
+        }
+        candidates.sort(Comparator.comparing(Candidate::getHeuristicScore, Comparator.reverseOrder()));
+        return candidates.subList(0, Math.min(retrievalSize(), candidates.size()));
+    }
+
     private List<Freelancer> fallbackFreelancersFromCandidatures(Mission mission) {
         List<Candidature> candidatures = candidatureRepository.findByMission(mission);
         if (candidatures == null || candidatures.isEmpty()) {
@@ -120,28 +267,6 @@ public class AiMatchingService {
                 ));
     }
 
-    private String buildFreelancerProfile(Freelancer freelancer) {
-        StringBuilder builder = new StringBuilder();
-        append(builder, "Name", fullName(freelancer));
-        append(builder, "Title", freelancer.getTitle());
-        append(builder, "Bio", freelancer.getBio());
-        append(builder, "Skills", freelancer.getSkills());
-
-        List<Competence> competences = competenceRepository.findActiveByFreelancer(freelancer);
-        if (competences != null && !competences.isEmpty()) {
-            String names = competences.stream()
-                    .map(Competence::getName)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.joining(", "));
-            append(builder, "Competences", names);
-        }
-
-        if (freelancer.getRating() != null) {
-            append(builder, "Rating", freelancer.getRating().toPlainString());
-        }
-        return builder.toString();
-    }
-
     private String buildMatchingPrompt(String missionText, List<Candidate> candidates, int limit) {
         StringBuilder builder = new StringBuilder();
         builder.append("Mission:\n").append(missionText).append("\n");
@@ -201,39 +326,12 @@ public class AiMatchingService {
                             fullName(freelancer),
                             freelancer.getTitle(),
                             candidate.getHeuristicScore(),
-                            "Keyword overlap"
+                            candidate.getReason()
                     );
                 })
                 .collect(Collectors.toList());
     }
 
-    private double keywordScore(String missionText, String profileText) {
-        Set<String> tokens = tokenize(missionText);
-        if (tokens.isEmpty()) {
-            return 0.0;
-        }
-        String profile = profileText == null ? "" : profileText.toLowerCase(Locale.ROOT);
-        long matches = tokens.stream().filter(profile::contains).count();
-        return matches / (double) tokens.size();
-    }
-
-    private Set<String> tokenize(String text) {
-        if (text == null || text.isBlank()) {
-            return Set.of();
-        }
-        return List.of(text.toLowerCase(Locale.ROOT).split("[^a-z0-9]+"))
-                .stream()
-                .filter(token -> token.length() >= 3)
-                .collect(Collectors.toSet());
-    }
-
-    private void append(StringBuilder builder, String label, String value) {
-        if (value == null || value.isBlank()) {
-            return;
-        }
-        builder.append(label).append(": ").append(value.trim()).append("\n");
-    }
-
     private String safe(String value) {
         return value == null ? "" : value.trim();
     }
@@ -248,8 +346,8 @@ public class AiMatchingService {
     @Data
     private static class Candidate {
         private final Freelancer freelancer;
-        private final String profileText;
         private final double heuristicScore;
+        private final String reason;
     }
 
     @Data
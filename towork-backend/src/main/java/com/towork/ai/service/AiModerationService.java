@@ -1,19 +1,72 @@
 package com.towork.ai.service;
 
+import com.towork.ai.client.AiException;
 import com.towork.ai.config.AiProperties;
 import com.towork.ai.dto.AiModerationResponse;
-import lombok.RequiredArgsConstructor;
+import com.towork.ai.util.MicroBatcher;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Entry point for message moderation. Content that cannot be decided locally is coalesced for
+ * {@code ai.moderation.batch-wait-millis} (or until {@code ai.moderation.batch-size} items are queued)
+ * and scored by a single prompt. {@link #moderateAsync} fails when no verdict could be obtained, so background
+ * moderation can leave the content pending; {@link #moderateOrAllowAsync} answers interactive callers instead.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class AiModerationService {
 
     private final AiFeatureService aiFeatureService;
     private final AiProperties properties;
+    private final MicroBatcher<String, AiModerationResponse> batcher;
+
+    public AiModerationService(AiFeatureService aiFeatureService, AiProperties properties) {
+        this.aiFeatureService = aiFeatureService;
+        this.properties = properties;
+        int batchSize = properties.getModeration().getBatchSize();
+        this.batcher = batchSize > 1
+                ? new MicroBatcher<>("ai-moderation", batchSize,
+                        Duration.ofMillis(properties.getModeration().getBatchWaitMillis()),
+                        properties.getModeration().getWorkerThreads(), aiFeatureService::moderateTexts)
+                : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
 
     public AiModerationResponse moderate(String content) {
-        return aiFeatureService.moderateText(content);
+        return moderateAsync(content).join();
+    }
+
+    public CompletableFuture<AiModerationResponse> moderateAsync(String content) {
+        if (batcher == null) {
+            return aiFeatureService.moderateTextAsync(content);
+        }
+        Optional<AiModerationResponse> local = aiFeatureService.moderateLocally(content);
+        return local.map(CompletableFuture::completedFuture).orElseGet(() -> batcher.submit(content)
+                .thenApply(verdict -> {
+                    if (verdict == null) {
+                        throw new AiException("No moderation verdict returned for item");
+                    }
+                    return verdict;
+                }));
+    }
+
+    public CompletableFuture<AiModerationResponse> moderateOrAllowAsync(String content) {
+        return moderateAsync(content).exceptionally(ex -> {
+            log.warn("AI moderation failed, allowing content: {}", ex.getMessage());
+            return aiFeatureService.moderationFallback();
+        });
     }
 
     public boolean shouldBlock(AiModerationResponse response) {
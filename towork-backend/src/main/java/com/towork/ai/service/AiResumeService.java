@@ -1,63 +1,127 @@
 package com.towork.ai.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.towork.ai.config.AiProperties;
 import com.towork.ai.dto.AiResumeExtractionResponse;
 import com.towork.ai.dto.AiResumeExtractionResult;
 import com.towork.ai.dto.AiSkillDto;
+import com.towork.ai.entity.ResumeExtraction;
+import com.towork.ai.repository.ResumeExtractionRepository;
 import com.towork.exception.ResourceNotFoundException;
 import com.towork.file.FileStorageService;
+import com.towork.file.StoredFile;
 import com.towork.user.entity.Competence;
-import com.towork.user.entity.Freelancer;
+import com.towork.user.event.FreelancerChangedEvent;
 import com.towork.user.repository.CompetenceRepository;
 import com.towork.user.repository.FreelancerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntConsumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AiResumeService {
 
+    private static final TypeReference<List<AiSkillDto>> SKILL_LIST = new TypeReference<>() {
+    };
+
     private final FileStorageService fileStorageService;
+    private final ResumeTextExtractor resumeTextExtractor;
     private final AiFeatureService aiFeatureService;
     private final AiProperties properties;
     private final FreelancerRepository freelancerRepository;
     private final CompetenceRepository competenceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResumeExtractionRepository resumeExtractionRepository;
+    private final ObjectMapper objectMapper;
 
-    public AiResumeExtractionResponse extractSkills(MultipartFile file, Long freelancerId, String language) {
+    public StoredFile storeResume(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Resume file is required");
         }
-
         try {
-            String fileKey = fileStorageService.storeFile(file);
-            String resumeText = extractPdfText(fileKey);
-            resumeText = trimToLength(resumeText, properties.getOpenai().getMaxInputChars());
+            return fileStorageService.storeFileWithHash(file);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to store resume file", ex);
+        }
+    }
 
-            AiResumeExtractionResult result = aiFeatureService.extractSkillsFromResume(resumeText, language);
-            int createdCount = 0;
-            if (freelancerId != null) {
-                createdCount = createCompetences(freelancerId, result.getSkills());
+    /**
+     * Parses an already stored resume, extracts skills and creates the missing competences.
+     * A result already extracted for the same file hash and language is reused without parsing or calling the model.
+     * {@code progress} receives a percentage after each stage.
+     */
+    public AiResumeExtractionResponse processStoredResume(String fileKey, String contentHash, Long freelancerId,
+                                                          String language, IntConsumer progress) {
+        String normalizedLanguage = normalizeLanguage(language);
+        AiResumeExtractionResult result = findExtraction(contentHash, normalizedLanguage).orElse(null);
+        if (result == null) {
+            try {
+                String resumeText = resumeTextExtractor.extract(fileStorageService.resolveFile(fileKey),
+                        properties.getOpenai().getMaxInputChars());
+                resumeText = trimToLength(resumeText, properties.getOpenai().getMaxInputChars());
+                progress.accept(30);
+
+                result = aiFeatureService.extractSkillsFromResume(resumeText, normalizedLanguage);
+                saveExtraction(contentHash, normalizedLanguage, result);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Failed to process resume file", ex);
             }
-            return new AiResumeExtractionResponse(fileKey, result.getSummary(), result.getSkills(), createdCount);
-        } catch (IOException ex) {
-            throw new IllegalStateException("Failed to process resume file", ex);
         }
+        progress.accept(80);
+        int createdCount = 0;
+        if (freelancerId != null) {
+            createdCount = createCompetences(freelancerId, result.getSkills());
+        }
+        progress.accept(100);
+        return new AiResumeExtractionResponse(fileKey, result.getSummary(), result.getSkills(), createdCount);
     }
 
-    private String extractPdfText(String fileKey) throws IOException {
-        byte[] bytes = fileStorageService.loadFileAsBytes(fileKey);
-        try (PDDocument document = PDDocument.load(bytes)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
+    private Optional<AiResumeExtractionResult> findExtraction(String contentHash, String language) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+        return resumeExtractionRepository.findByContentHashAndLanguage(contentHash, language)
+                .flatMap(stored -> {
+                    try {
+                        List<AiSkillDto> skills = objectMapper.readValue(stored.getSkills(), SKILL_LIST);
+                        return Optional.of(new AiResumeExtractionResult(stored.getSummary(), skills));
+                    } catch (JsonProcessingException ex) {
+                        log.warn("Ignoring unreadable resume extraction {}: {}", stored.getId(), ex.getMessage());
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    private void saveExtraction(String contentHash, String language, AiResumeExtractionResult result) {
+        // fallbacks (AI disabled or failed) come back without skills and must not be reused
+        if (contentHash == null || result.getSkills() == null || result.getSkills().isEmpty()) {
+            return;
+        }
+        try {
+            ResumeExtraction extraction = new ResumeExtraction();
+            extraction.setContentHash(contentHash);
+            extraction.setLanguage(language);
+            extraction.setSummary(result.getSummary());
+            extraction.setSkills(objectMapper.writeValueAsString(result.getSkills()));
+            resumeExtractionRepository.save(extraction);
+        } catch (JsonProcessingException | DataIntegrityViolationException ex) {
+            log.debug("Resume extraction for {} not stored: {}", contentHash, ex.getMessage());
         }
     }
 
@@ -65,26 +129,30 @@ public class AiResumeService {
         if (skills == null || skills.isEmpty()) {
             return 0;
         }
-        Freelancer freelancer = freelancerRepository.findById(freelancerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Freelancer not found with id: " + freelancerId));
-        int created = 0;
+        if (!freelancerRepository.existsById(freelancerId)) {
+            throw new ResourceNotFoundException("Freelancer not found with id: " + freelancerId);
+        }
+        Set<String> known = new HashSet<>(competenceRepository.findActiveLowerNamesByFreelancerId(freelancerId));
+        List<Competence> toInsert = new ArrayList<>();
         for (AiSkillDto skill : skills) {
             if (skill == null || skill.getName() == null || skill.getName().isBlank()) {
                 continue;
             }
             String name = skill.getName().trim();
-            if (!competenceRepository.findByNameAndFreelancer(name, freelancer).isEmpty()) {
+            if (!known.add(name.toLowerCase(Locale.ROOT))) {
                 continue;
             }
             Competence competence = new Competence();
-            competence.setFreelancer(freelancer);
             competence.setName(name);
             competence.setLevel(normalizeLevel(skill.getLevel()));
             competence.setYearsOfExperience(skill.getYearsOfExperience());
             competence.setIsCertified(Boolean.TRUE.equals(skill.getIsCertified()));
             competence.setCertificationName(skill.getCertificationName());
-            competenceRepository.save(competence);
-            created++;
+            toInsert.add(competence);
+        }
+        int created = competenceRepository.insertIgnoringDuplicates(freelancerId, toInsert);
+        if (created > 0) {
+            eventPublisher.publishEvent(new FreelancerChangedEvent(freelancerId));
         }
         return created;
     }
@@ -100,6 +168,10 @@ public class AiResumeService {
         };
     }
 
+    private String normalizeLanguage(String language) {
+        return (language == null || language.isBlank()) ? "fr" : language.trim().toLowerCase(Locale.ROOT);
+    }
+
     private String trimToLength(String text, int maxLength) {
         if (text == null) {
             return "";
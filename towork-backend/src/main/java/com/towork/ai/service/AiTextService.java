@@ -2,30 +2,118 @@ package com.towork.ai.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.cache.AiResponseCache;
 import com.towork.ai.client.AiClient;
+import com.towork.ai.config.AiFeature;
 import com.towork.ai.util.AiJsonUtils;
+import com.towork.ai.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 @Service
 @RequiredArgsConstructor
 public class AiTextService {
 
     private final AiClient aiClient;
     private final ObjectMapper objectMapper;
+    private final AiResponseCache responseCache;
+    private final SingleFlight<String, String> inFlightCalls = new SingleFlight<>();
 
     public String chat(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens) {
         return aiClient.chat(systemPrompt, userPrompt, temperature, maxTokens);
     }
 
-    public <T> T chatJson(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens, Class<T> type) {
-        String content = aiClient.chatJson(systemPrompt, userPrompt, temperature, maxTokens);
-        return parseJson(content, type);
+    public <T> T chatJson(AiFeature feature, String systemPrompt, String userPrompt, Double temperature,
+                          Integer maxTokens, Class<T> type) {
+        return join(chatJsonAsync(feature, systemPrompt, userPrompt, temperature, maxTokens, type));
+    }
+
+    public <T> T chatJson(AiFeature feature, String systemPrompt, String userPrompt, Double temperature,
+                          Integer maxTokens, TypeReference<T> type) {
+        return join(cachedChatJson(feature, systemPrompt, userPrompt, temperature, maxTokens,
+                content -> parseJson(content, type)));
+    }
+
+    public CompletableFuture<String> chatAsync(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens) {
+        return aiClient.chatAsync(systemPrompt, userPrompt, temperature, maxTokens);
+    }
+
+    public <T> CompletableFuture<T> chatJsonAsync(AiFeature feature, String systemPrompt, String userPrompt,
+                                                  Double temperature, Integer maxTokens, Class<T> type) {
+        return cachedChatJson(feature, systemPrompt, userPrompt, temperature, maxTokens,
+                content -> parseJson(content, type));
     }
 
-    public <T> T chatJson(String systemPrompt, String userPrompt, Double temperature, Integer maxTokens, TypeReference<T> type) {
-        String content = aiClient.chatJson(systemPrompt, userPrompt, temperature, maxTokens);
-        return parseJson(content, type);
+    /**
+     * Streams the completion through {@code onDelta}; a cached response is replayed as a single delta.
+     */
+    public <T> CompletableFuture<T> chatJsonStream(AiFeature feature, String systemPrompt, String userPrompt,
+                                                   Double temperature, Integer maxTokens, Class<T> type,
+                                                   Consumer<String> onDelta) {
+        String key = responseCache.key(systemPrompt, userPrompt, temperature, maxTokens);
+        Optional<String> cached = responseCache.get(feature, key);
+        if (cached.isPresent()) {
+            try {
+                T value = parseJson(cached.get(), type);
+                onDelta.accept(cached.get());
+                return CompletableFuture.completedFuture(value);
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+        return aiClient.chatJsonStream(systemPrompt, userPrompt, temperature, maxTokens, onDelta)
+                .thenApply(content -> {
+                    T value = parseJson(content, type);
+                    responseCache.put(feature, key, content);
+                    return value;
+                });
+    }
+
+    /**
+     * Serves identical prompts from the response cache and lets concurrent misses share one model call;
+     * only responses that parse are cached, and only by the caller that made the call.
+     */
+    private <T> CompletableFuture<T> cachedChatJson(AiFeature feature, String systemPrompt, String userPrompt,
+                                                    Double temperature, Integer maxTokens, Function<String, T> parser) {
+        String key = responseCache.key(systemPrompt, userPrompt, temperature, maxTokens);
+        Optional<String> cached = responseCache.get(feature, key);
+        if (cached.isPresent()) {
+            try {
+                return CompletableFuture.completedFuture(parser.apply(cached.get()));
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+        AtomicBoolean leader = new AtomicBoolean();
+        return inFlightCalls.execute(key, () -> {
+                    leader.set(true);
+                    return aiClient.chatJsonAsync(systemPrompt, userPrompt, temperature, maxTokens);
+                })
+                .thenApply(content -> {
+                    T value = parser.apply(content);
+                    if (leader.get()) {
+                        responseCache.put(feature, key, content);
+                    }
+                    return value;
+                });
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
     }
 
     private <T> T parseJson(String content, Class<T> type) {
@@ -0,0 +1,174 @@
+package com.towork.ai.service;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiModerationResponse;
+import com.towork.ai.event.ModerationRequestedEvent;
+import com.towork.ai.repository.ConversationSummaryRepository;
+import com.towork.candidature.entity.CandidatureMessage;
+import com.towork.candidature.repository.CandidatureMessageRepository;
+import com.towork.common.ModerationStatus;
+import com.towork.conversation.entity.Message;
+import com.towork.conversation.repository.MessageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scores saved messages in the background and records the verdict. A bounded worker pool loads pending rows
+ * and hands them to {@link AiModerationService}, whose micro-batcher coalesces concurrent model calls.
+ * Content stays visible while {@link ModerationStatus#PENDING}; it is hidden afterwards only when
+ * {@link AiModerationService#shouldBlock} applies. Items the queue cannot take stay pending and are
+ * picked up by the periodic sweep.
+ */
+@Service
+@Slf4j
+public class AsyncModerationService {
+
+    private final AiModerationService aiModerationService;
+    private final MessageRepository messageRepository;
+    private final CandidatureMessageRepository candidatureMessageRepository;
+    private final ConversationSummaryRepository conversationSummaryRepository;
+    private final AiProperties properties;
+    private final ThreadPoolExecutor workers;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public AsyncModerationService(AiModerationService aiModerationService,
+                                  MessageRepository messageRepository,
+                                  CandidatureMessageRepository candidatureMessageRepository,
+                                  ConversationSummaryRepository conversationSummaryRepository,
+                                  AiProperties properties) {
+        this.aiModerationService = aiModerationService;
+        this.messageRepository = messageRepository;
+        this.candidatureMessageRepository = candidatureMessageRepository;
+        this.conversationSummaryRepository = conversationSummaryRepository;
+        this.properties = properties;
+        int threads = Math.max(1, properties.getModeration().getWorkerThreads());
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getModeration().getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "moderation-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModerationRequested(ModerationRequestedEvent event) {
+        submit(event.getTarget(), event.getContentId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ai.moderation.sweep-interval-ms:60000}", initialDelay = 60000)
+    public void sweepPending() {
+        if (workers.getQueue().size() > workers.getQueue().remainingCapacity()) {
+            return;
+        }
+        PageRequest batch = PageRequest.of(0, Math.max(1, properties.getModeration().getSweepBatchSize()));
+        try {
+            messageRepository.findByModerationStatusOrderByCreatedAtAsc(ModerationStatus.PENDING, batch)
+                    .forEach(message -> submit(ModerationRequestedEvent.Target.MESSAGE, message.getId()));
+            candidatureMessageRepository.findByModerationStatusOrderByCreatedAtAsc(ModerationStatus.PENDING, batch)
+                    .forEach(message -> submit(ModerationRequestedEvent.Target.CANDIDATURE_MESSAGE, message.getId()));
+        } catch (Exception ex) {
+            log.warn("Pending moderation sweep failed: {}", ex.getMessage());
+        }
+    }
+
+    public int queued() {
+        return workers.getQueue().size();
+    }
+
+    private void submit(ModerationRequestedEvent.Target target, Long contentId) {
+        if (contentId == null || !inFlight.add(target + ":" + contentId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> moderate(target, contentId));
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(target + ":" + contentId);
+            log.warn("Moderation queue full, {} {} left pending", target, contentId);
+        }
+    }
+
+    void moderate(ModerationRequestedEvent.Target target, Long contentId) {
+        String content = pendingContent(target, contentId);
+        if (content == null) {
+            inFlight.remove(target + ":" + contentId);
+            return;
+        }
+        aiModerationService.moderateAsync(content)
+                .thenAccept(verdict -> applyVerdict(target, contentId, content, verdict))
+                .whenComplete((ignored, ex) -> {
+                    inFlight.remove(target + ":" + contentId);
+                    if (ex != null) {
+                        log.warn("Moderation of {} {} failed, left pending: {}", target, contentId, ex.getMessage());
+                    }
+                });
+    }
+
+    private String pendingContent(ModerationRequestedEvent.Target target, Long id) {
+        try {
+            if (target == ModerationRequestedEvent.Target.MESSAGE) {
+                return messageRepository.findById(id)
+                        .filter(message -> message.getModerationStatus() == ModerationStatus.PENDING)
+                        .map(Message::getContent)
+                        .orElse(null);
+            }
+            return candidatureMessageRepository.findById(id)
+                    .filter(message -> message.getModerationStatus() == ModerationStatus.PENDING)
+                    .map(CandidatureMessage::getContent)
+                    .orElse(null);
+        } catch (Exception ex) {
+            log.warn("Could not load {} {} for moderation: {}", target, id, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void applyVerdict(ModerationRequestedEvent.Target target, Long id, String content,
+                              AiModerationResponse verdict) {
+        // targeted updates guarded by content and PENDING: an edit during the model call voids the verdict, and
+        // read receipts or other columns written meanwhile are left untouched
+        boolean flagged = Boolean.TRUE.equals(verdict.getFlagged());
+        ModerationStatus status = status(verdict);
+        if (target == ModerationRequestedEvent.Target.MESSAGE) {
+            messageRepository.applyModerationVerdict(id, content, flagged, verdict.getScore(), verdict.getLabel(),
+                    verdict.getReason(), status);
+            return;
+        }
+        int applied = candidatureMessageRepository.applyModerationVerdict(id, content, flagged, verdict.getScore(),
+                verdict.getLabel(), verdict.getReason(), status);
+        if (applied > 0 && status == ModerationStatus.BLOCKED) {
+            // the rolling summary may already include the blocked message
+            candidatureMessageRepository.findById(id)
+                    .map(CandidatureMessage::getCandidature)
+                    .ifPresent(candidature -> conversationSummaryRepository.deleteByCandidatureId(candidature.getId()));
+        }
+    }
+
+    private ModerationStatus status(AiModerationResponse verdict) {
+        if (aiModerationService.shouldBlock(verdict)) {
+            return ModerationStatus.BLOCKED;
+        }
+        return Boolean.TRUE.equals(verdict.getFlagged()) ? ModerationStatus.FLAGGED : ModerationStatus.APPROVED;
+    }
+}
@@ -0,0 +1,118 @@
+package com.towork.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiSummaryResponse;
+import com.towork.ai.entity.ConversationSummary;
+import com.towork.ai.repository.ConversationSummaryRepository;
+import com.towork.ai.util.AiLanguages;
+import com.towork.candidature.entity.Candidature;
+import com.towork.candidature.entity.CandidatureMessage;
+import com.towork.candidature.repository.CandidatureMessageRepository;
+import com.towork.common.ModerationStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Rolling conversation summary per candidature. The stored summary records the id of the last message it covers;
+ * a request folds only the messages posted since then into it, in batches of
+ * {@code ai.conversation.summary-batch-size}, and returns it untouched when nothing is new. A first summary starts
+ * from the latest batch of messages. Fallback summaries (AI off or failing) are never stored.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConversationSummaryService {
+
+    private static final TypeReference<List<String>> STEP_LIST = new TypeReference<>() {
+    };
+
+    private final AiFeatureService aiFeatureService;
+    private final ConversationSummaryRepository conversationSummaryRepository;
+    private final CandidatureMessageRepository candidatureMessageRepository;
+    private final AiProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public AiSummaryResponse summarize(Candidature candidature, String language) {
+        String normalizedLanguage = AiLanguages.normalize(language);
+        String context = candidature.getMission() != null ? candidature.getMission().getTitle() : null;
+        int batchSize = Math.max(1, properties.getConversation().getSummaryBatchSize());
+        ConversationSummary stored = conversationSummaryRepository.findByCandidatureId(candidature.getId())
+                .orElseGet(ConversationSummary::new);
+        AiSummaryResponse summary = normalizedLanguage.equals(stored.getLanguage()) ? read(stored).orElse(null) : null;
+
+        List<CandidatureMessage> batch = summary == null
+                ? latestMessages(candidature, batchSize)
+                : newMessages(candidature, stored.getLastMessageId(), batchSize);
+        if (batch.isEmpty()) {
+            return summary != null ? summary : new AiSummaryResponse("No messages to summarize.", List.of());
+        }
+        Long lastMessageId = null;
+        while (!batch.isEmpty()) {
+            Optional<AiSummaryResponse> updated = aiFeatureService.updateConversationSummary(summary,
+                    batch.stream().map(CandidatureMessage::getContent).toList(), context, normalizedLanguage);
+            if (updated.isEmpty()) {
+                break;
+            }
+            summary = updated.get();
+            lastMessageId = batch.get(batch.size() - 1).getId();
+            batch = batch.size() < batchSize ? List.of() : newMessages(candidature, lastMessageId, batchSize);
+        }
+        if (lastMessageId == null) {
+            return summary != null ? summary
+                    : aiFeatureService.fallbackConversationSummary(
+                            batch.stream().map(CandidatureMessage::getContent).toList());
+        }
+        save(stored, candidature.getId(), normalizedLanguage, summary, lastMessageId);
+        return summary;
+    }
+
+    private List<CandidatureMessage> newMessages(Candidature candidature, Long afterId, int batchSize) {
+        return candidatureMessageRepository.findByCandidatureAndModerationStatusNotAndIdGreaterThanOrderByIdAsc(
+                candidature, ModerationStatus.BLOCKED, afterId, PageRequest.of(0, batchSize));
+    }
+
+    private List<CandidatureMessage> latestMessages(Candidature candidature, int batchSize) {
+        List<CandidatureMessage> latest = new ArrayList<>(
+                candidatureMessageRepository.findByCandidatureAndModerationStatusNotOrderByIdDesc(
+                        candidature, ModerationStatus.BLOCKED, PageRequest.of(0, batchSize)));
+        Collections.reverse(latest);
+        return latest;
+    }
+
+    private Optional<AiSummaryResponse> read(ConversationSummary stored) {
+        try {
+            return Optional.of(new AiSummaryResponse(stored.getSummary(),
+                    objectMapper.readValue(stored.getNextSteps(), STEP_LIST)));
+        } catch (JsonProcessingException ex) {
+            log.warn("Ignoring unreadable conversation summary {}: {}", stored.getId(), ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void save(ConversationSummary stored, Long candidatureId, String language, AiSummaryResponse summary,
+                      Long lastMessageId) {
+        try {
+            stored.setCandidatureId(candidatureId);
+            stored.setLanguage(language);
+            stored.setSummary(summary.getSummary() == null ? "" : summary.getSummary());
+            stored.setNextSteps(objectMapper.writeValueAsString(
+                    summary.getNextSteps() == null ? List.of() : summary.getNextSteps()));
+            stored.setLastMessageId(lastMessageId);
+            conversationSummaryRepository.save(stored);
+        } catch (JsonProcessingException | DataIntegrityViolationException ex) {
+            // a concurrent request stored its own summary first; the next request continues from that one
+            log.debug("Conversation summary of candidature {} not stored: {}", candidatureId, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.towork.ai.service;
+
+import com.towork.ai.matching.Bm25Scorer;
+import com.towork.user.entity.Domaine;
+import com.towork.user.event.DomaineChangedEvent;
+import com.towork.user.repository.DomaineRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the active domaines with a BM25 scorer over their name and description, so domain suggestions retrieve
+ * candidates locally instead of sending the whole catalogue to the model. Built at startup and rebuilt on
+ * {@link DomaineChangedEvent}; the catalogue is small and BM25 weights depend on every document.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DomaineIndexService {
+
+    private final DomaineRepository domaineRepository;
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            snapshot = build();
+            log.info("Domain suggestion index built with {} domaines", snapshot.domaines.size());
+        } catch (Exception ex) {
+            log.warn("Failed to build domain suggestion index: {}", ex.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onDomaineChanged(DomaineChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Active domaines ranked by normalized BM25 score against the text, best first; domaines without any
+     * shared term are left out. Each candidate also carries its {@link Bm25Scorer#coverage coverage}.
+     */
+    public List<Candidate> candidates(String text, int limit) {
+        Snapshot current = current();
+        Bm25Scorer.Query query = current.scorer.query(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < current.domaines.size(); i++) {
+            double score = current.scorer.normalizedScore(query, i);
+            if (score > 0) {
+                candidates.add(new Candidate(current.domaines.get(i), score, current.scorer.coverage(query, i)));
+            }
+        }
+        return candidates.stream()
+                .sorted(Comparator.comparingDouble(Candidate::getScore).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /** Every active domaine, by name; for texts that share no term with any of them. */
+    public List<Domaine> catalogue() {
+        return current().domaines;
+    }
+
+    public int size() {
+        return current().domaines.size();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // requests before the startup build (or after it failed) build the index themselves
+            current = build();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot build() {
+        List<Domaine> domaines = domaineRepository.findActiveDomainesOrderByName().stream()
+                .filter(domaine -> domaine.getId() != null && domaine.getName() != null)
+                .collect(Collectors.toList());
+        Bm25Scorer scorer = Bm25Scorer.build(domaines.stream()
+                .map(domaine -> domaine.getName() + " " + (domaine.getDescription() == null ? "" : domaine.getDescription()))
+                .collect(Collectors.toList()));
+        return new Snapshot(List.copyOf(domaines), scorer);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Candidate {
+        private final Domaine domaine;
+        private final double score;
+        /** Share of the domaine's name and description found in the text. */
+        private final double coverage;
+    }
+
+    @RequiredArgsConstructor
+    private static class Snapshot {
+        private final List<Domaine> domaines;
+        private final Bm25Scorer scorer;
+    }
+}
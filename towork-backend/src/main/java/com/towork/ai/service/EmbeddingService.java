@@ -0,0 +1,386 @@
+package com.towork.ai.service;
+
+import com.towork.ai.client.AiClient;
+import com.towork.ai.client.EmbeddingClient;
+import com.towork.ai.client.HashingEmbeddingClient;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.entity.FreelancerEmbedding;
+import com.towork.ai.entity.MissionEmbedding;
+import com.towork.ai.matching.EmbeddingMatrix;
+import com.towork.ai.matching.QuantizedHnswIndex;
+import com.towork.ai.matching.VectorIndex;
+import com.towork.ai.repository.FreelancerEmbeddingRepository;
+import com.towork.ai.repository.MissionEmbeddingRepository;
+import com.towork.ai.util.AiVectorUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Computes embeddings once per content hash, persists them and keeps freelancer vectors in a {@link VectorIndex}
+ * for semantic top-k search: an off-heap {@link EmbeddingMatrix} scan by default, or with
+ * {@code ai.embedding.index=hnsw} a {@link QuantizedHnswIndex} snapshotted to {@code ai.embedding.snapshot-path}
+ * after each load and on shutdown, and restored from it on startup. A load builds its index aside and swaps it in,
+ * so searches keep the previous index and refreshes made meanwhile are replayed onto the new one.
+ * With {@code ai.embedding.provider=hashing} vectors come from a {@link HashingEmbeddingClient} fitted on the loaded
+ * profiles instead; they cost microseconds, so they are recomputed rather than persisted, and stay available when
+ * {@code ai.enabled=false}. Their snapshot is tagged with the IDF fingerprint and only reused after a fit over the
+ * same profiles.
+ */
+@Service
+@Slf4j
+public class EmbeddingService {
+
+    private final AiClient aiClient;
+    private final AiProperties properties;
+    private final FreelancerEmbeddingRepository freelancerEmbeddingRepository;
+    private final MissionEmbeddingRepository missionEmbeddingRepository;
+    private final HashingEmbeddingClient hashingClient;
+    private volatile VectorIndex index;
+    /** Refreshes applied to the live index while a load builds its replacement; a {@code null} vector is a removal. */
+    private Map<Long, float[]> pendingRefreshes;
+
+    public EmbeddingService(AiClient aiClient, AiProperties properties,
+                            FreelancerEmbeddingRepository freelancerEmbeddingRepository,
+                            MissionEmbeddingRepository missionEmbeddingRepository) {
+        this.aiClient = aiClient;
+        this.properties = properties;
+        this.freelancerEmbeddingRepository = freelancerEmbeddingRepository;
+        this.missionEmbeddingRepository = missionEmbeddingRepository;
+        this.hashingClient = "hashing".equalsIgnoreCase(properties.getEmbedding().getProvider())
+                ? new HashingEmbeddingClient(properties.getEmbedding())
+                : null;
+    }
+
+    public boolean isAvailable() {
+        VectorIndex current = index;
+        return (hashingClient != null || properties.isEnabled()) && properties.getFeatures().isMatching()
+                && current != null && current.size() > 0;
+    }
+
+    /**
+     * Loads persisted vectors for the given profiles and embeds the missing or stale ones in batches.
+     * The new index is built aside and swapped in at the end; the current one keeps serving until then.
+     */
+    public void load(Map<Long, String> profiles) {
+        synchronized (this) {
+            pendingRefreshes = new LinkedHashMap<>();
+        }
+        try {
+            if (hashingClient != null) {
+                loadLocal(profiles);
+            } else {
+                loadStored(profiles);
+            }
+        } finally {
+            synchronized (this) {
+                pendingRefreshes = null;
+            }
+        }
+    }
+
+    private void loadStored(Map<Long, String> profiles) {
+        String model = model();
+        Map<Long, FreelancerEmbedding> stored = freelancerEmbeddingRepository.findByModel(model).stream()
+                .collect(Collectors.toMap(FreelancerEmbedding::getFreelancerId, Function.identity(), (a, b) -> a));
+        VectorIndex building = restoreSnapshot();
+        List<Long> staleIds = new ArrayList<>();
+        for (Map.Entry<Long, String> profile : profiles.entrySet()) {
+            if (profile.getValue() == null || profile.getValue().isBlank()) {
+                continue;
+            }
+            FreelancerEmbedding embedding = stored.get(profile.getKey());
+            if (embedding != null && embedding.getContentHash().equals(AiVectorUtils.sha256(profile.getValue()))) {
+                building = putInto(building, profile.getKey(), AiVectorUtils.fromBytes(embedding.getVector()));
+            } else {
+                staleIds.add(profile.getKey());
+            }
+        }
+        int embedded = 0;
+        if (properties.isEnabled() && !staleIds.isEmpty()) {
+            int batchSize = Math.max(1, properties.getOpenai().getEmbeddingBatchSize());
+            for (int start = 0; start < staleIds.size(); start += batchSize) {
+                List<Long> ids = staleIds.subList(start, Math.min(staleIds.size(), start + batchSize));
+                try {
+                    for (Map.Entry<Long, float[]> vector : embedFreelancers(ids, profiles, stored, model).entrySet()) {
+                        building = putInto(building, vector.getKey(), vector.getValue());
+                        embedded++;
+                    }
+                } catch (Exception ex) {
+                    log.warn("Failed to embed {} freelancer profiles: {}", ids.size(), ex.getMessage());
+                }
+            }
+        }
+        finishLoad(building, profiles);
+        log.info("Embedding index loaded with {} freelancer vectors ({} newly embedded)", size(), embedded);
+    }
+
+    public void refreshFreelancer(Long freelancerId, String profileText) {
+        if (profileText == null || profileText.isBlank()) {
+            removeFreelancer(freelancerId);
+            return;
+        }
+        if (hashingClient != null) {
+            put(freelancerId, embed(profileText));
+            return;
+        }
+        String model = model();
+        String hash = AiVectorUtils.sha256(profileText);
+        FreelancerEmbedding embedding = freelancerEmbeddingRepository.findByFreelancerId(freelancerId)
+                .orElseGet(FreelancerEmbedding::new);
+        if (model.equals(embedding.getModel()) && hash.equals(embedding.getContentHash())) {
+            put(freelancerId, AiVectorUtils.fromBytes(embedding.getVector()));
+            return;
+        }
+        if (!properties.isEnabled()) {
+            removeFreelancer(freelancerId);
+            return;
+        }
+        float[] vector = embed(profileText);
+        embedding.setFreelancerId(freelancerId);
+        embedding.setModel(model);
+        embedding.setContentHash(hash);
+        embedding.setDimensions(vector.length);
+        embedding.setVector(AiVectorUtils.toBytes(vector));
+        freelancerEmbeddingRepository.save(embedding);
+        put(freelancerId, vector);
+    }
+
+    public synchronized void removeFreelancer(Long freelancerId) {
+        VectorIndex current = index;
+        if (current != null) {
+            current.remove(freelancerId);
+        }
+        if (pendingRefreshes != null) {
+            pendingRefreshes.put(freelancerId, null);
+        }
+    }
+
+    public Optional<float[]> missionVector(Long missionId, String missionText) {
+        if (missionText == null || missionText.isBlank()) {
+            return Optional.empty();
+        }
+        if (hashingClient != null) {
+            return Optional.of(embed(missionText));
+        }
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            String model = model();
+            String hash = AiVectorUtils.sha256(missionText);
+            MissionEmbedding embedding = missionEmbeddingRepository.findByMissionId(missionId)
+                    .orElseGet(MissionEmbedding::new);
+            if (model.equals(embedding.getModel()) && hash.equals(embedding.getContentHash())) {
+                return Optional.of(AiVectorUtils.fromBytes(embedding.getVector()));
+            }
+            float[] vector = embed(missionText);
+            embedding.setMissionId(missionId);
+            embedding.setModel(model);
+            embedding.setContentHash(hash);
+            embedding.setDimensions(vector.length);
+            embedding.setVector(AiVectorUtils.toBytes(vector));
+            missionEmbeddingRepository.save(embedding);
+            return Optional.of(vector);
+        } catch (Exception ex) {
+            log.warn("Failed to embed mission {}: {}", missionId, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public List<EmbeddingMatrix.Hit> searchFreelancers(float[] query, int limit) {
+        VectorIndex current = index;
+        return current == null ? List.of() : current.search(query, limit);
+    }
+
+    public int size() {
+        VectorIndex current = index;
+        return current == null ? 0 : current.size();
+    }
+
+    /**
+     * Fits the hashing client's IDF on the profiles, so rare skills weigh more than words every profile shares,
+     * and embeds them all; the IDF then stays fixed until the next load.
+     */
+    private void loadLocal(Map<Long, String> profiles) {
+        hashingClient.fit(profiles.values());
+        VectorIndex building = restoreSnapshot();
+        for (Map.Entry<Long, String> profile : profiles.entrySet()) {
+            if (profile.getValue() != null && !profile.getValue().isBlank()) {
+                building = putInto(building, profile.getKey(), embed(profile.getValue()));
+            }
+        }
+        finishLoad(building, profiles);
+        log.info("Embedding index loaded with {} freelancer vectors ({})", size(), hashingClient.model());
+    }
+
+    /**
+     * Writes the graph index to its snapshot file and re-maps it, moving vectors inserted since the last snapshot
+     * off the heap.
+     */
+    @PreDestroy
+    public synchronized void snapshot() {
+        Path path = snapshotPath();
+        if (path == null || !(index instanceof QuantizedHnswIndex hnsw)) {
+            return;
+        }
+        try {
+            // put/remove share this monitor, so no update lands between the save and the swap
+            hnsw.save(path, snapshotModel());
+            index = loadSnapshot(path);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Failed to snapshot embedding index to {}: {}", path, ex.getMessage());
+        }
+    }
+
+    /**
+     * Graph index from the snapshot file when there is one written by the current embedding model; the flat matrix
+     * always starts empty. A snapshot from another model or dimension count is discarded, since none of its vectors
+     * could be compared with new ones.
+     */
+    private VectorIndex restoreSnapshot() {
+        Path path = snapshotPath();
+        if (path == null || !Files.exists(path)) {
+            return null;
+        }
+        try {
+            QuantizedHnswIndex restored = loadSnapshot(path);
+            String model = snapshotModel();
+            int dimensions = hashingClient != null ? hashingClient.dimensions() : restored.dimensions();
+            if (!model.equals(restored.model()) || restored.dimensions() != dimensions) {
+                log.info("Discarding embedding index snapshot {} built by {} ({} dimensions); current model is {}",
+                        path, restored.model(), restored.dimensions(), model);
+                return null;
+            }
+            log.info("Embedding index restored from {} with {} vectors", path, restored.size());
+            return restored;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring embedding index snapshot {}: {}", path, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Drops restored vectors of profiles that are gone and compacts a graph with too many tombstones, then swaps the
+     * built index in, re-applies the refreshes made during the load and snapshots it.
+     */
+    private void finishLoad(VectorIndex building, Map<Long, String> profiles) {
+        if (building instanceof QuantizedHnswIndex hnsw) {
+            for (Long id : hnsw.ids()) {
+                String profile = profiles.get(id);
+                if (profile == null || profile.isBlank()) {
+                    hnsw.remove(id);
+                }
+            }
+            if (hnsw.deletedRatio() > properties.getEmbedding().getCompactDeletedRatio()) {
+                building = hnsw.compacted();
+            }
+        }
+        synchronized (this) {
+            for (Map.Entry<Long, float[]> refresh : pendingRefreshes.entrySet()) {
+                if (refresh.getValue() != null) {
+                    building = putInto(building, refresh.getKey(), refresh.getValue());
+                } else if (building != null) {
+                    building.remove(refresh.getKey());
+                }
+            }
+            index = building;
+            snapshot();
+        }
+    }
+
+    private QuantizedHnswIndex loadSnapshot(Path path) throws IOException {
+        AiProperties.Embedding settings = properties.getEmbedding();
+        return QuantizedHnswIndex.load(path, settings.getHnswEfConstruction(), settings.getHnswEfSearch(),
+                settings.getHnswRerankFactor());
+    }
+
+    private Path snapshotPath() {
+        String path = properties.getEmbedding().getSnapshotPath();
+        return hnswEnabled() && path != null && !path.isBlank() ? Path.of(path) : null;
+    }
+
+    private boolean hnswEnabled() {
+        return "hnsw".equalsIgnoreCase(properties.getEmbedding().getIndex());
+    }
+
+    private VectorIndex newIndex(int dimensions) {
+        if (!hnswEnabled()) {
+            return new EmbeddingMatrix(dimensions);
+        }
+        AiProperties.Embedding settings = properties.getEmbedding();
+        return new QuantizedHnswIndex(dimensions, settings.getHnswM(), settings.getHnswEfConstruction(),
+                settings.getHnswEfSearch(), settings.getHnswRerankFactor());
+    }
+
+    /** Embeds and persists the given profiles; returns their vectors by freelancer id. */
+    private Map<Long, float[]> embedFreelancers(List<Long> ids, Map<Long, String> profiles,
+                                                Map<Long, FreelancerEmbedding> stored, String model) {
+        List<String> texts = ids.stream().map(profiles::get).collect(Collectors.toList());
+        List<List<Double>> vectors = aiClient.embedBatch(texts);
+        List<FreelancerEmbedding> embeddings = new ArrayList<>(ids.size());
+        Map<Long, float[]> embedded = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            float[] vector = AiVectorUtils.toFloatArray(vectors.get(i));
+            FreelancerEmbedding embedding = stored.getOrDefault(ids.get(i), new FreelancerEmbedding());
+            embedding.setFreelancerId(ids.get(i));
+            embedding.setModel(model);
+            embedding.setContentHash(AiVectorUtils.sha256(texts.get(i)));
+            embedding.setDimensions(vector.length);
+            embedding.setVector(AiVectorUtils.toBytes(vector));
+            embeddings.add(embedding);
+            embedded.put(ids.get(i), vector);
+        }
+        freelancerEmbeddingRepository.saveAll(embeddings);
+        return embedded;
+    }
+
+    private float[] embed(String text) {
+        EmbeddingClient client = hashingClient != null ? hashingClient : aiClient;
+        return AiVectorUtils.toFloatArray(client.embed(text));
+    }
+
+    private synchronized void put(Long freelancerId, float[] vector) {
+        index = putInto(index, freelancerId, vector);
+        if (pendingRefreshes != null) {
+            pendingRefreshes.put(freelancerId, vector);
+        }
+    }
+
+    /** Adds the vector to {@code target}, creating the index on the first vector; returns the index to keep. */
+    private VectorIndex putInto(VectorIndex target, Long freelancerId, float[] vector) {
+        if (vector.length == 0) {
+            return target;
+        }
+        if (target == null) {
+            target = newIndex(vector.length);
+        }
+        if (target.dimensions() != vector.length) {
+            log.warn("Ignoring embedding of freelancer {} with {} dimensions (index has {})",
+                    freelancerId, vector.length, target.dimensions());
+            return target;
+        }
+        target.put(freelancerId, vector);
+        return target;
+    }
+
+    private String model() {
+        return properties.getOpenai().getEmbeddingModel();
+    }
+
+    /** Model recorded in index snapshots: the in-process hashing client or the remote embedding model. */
+    private String snapshotModel() {
+        return hashingClient != null ? hashingClient.model() : model();
+    }
+}
@@ -0,0 +1,242 @@
+package com.towork.ai.service;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.matching.FeatureMatrix;
+import com.towork.ai.matching.RankingFeature;
+import com.towork.ai.matching.TextAnalyzer;
+import com.towork.mission.entity.BudgetType;
+import com.towork.mission.entity.Mission;
+import com.towork.user.entity.Competence;
+import com.towork.user.entity.FeedbackDirection;
+import com.towork.user.entity.Freelancer;
+import com.towork.user.event.FreelancerChangedEvent;
+import com.towork.user.repository.CompetenceRepository;
+import com.towork.user.repository.FeedbackRepository;
+import com.towork.user.repository.FreelancerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the ranking inputs of every matchable freelancer (rating, success rate, projects, client feedback,
+ * rates, last update and skill terms) in a {@link FeatureMatrix}, so ranking a shortlist needs no query.
+ * Built at startup and refreshed per freelancer on {@link FreelancerChangedEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FreelancerFeatureService {
+
+    private static final int RATING = 0;
+    private static final int SUCCESS_RATE = 1;
+    private static final int PROJECTS = 2;
+    private static final int FEEDBACK_AVERAGE = 3;
+    private static final int FEEDBACK_COUNT = 4;
+    private static final int HOURLY_RATE = 5;
+    private static final int DAILY_RATE = 6;
+    private static final int UPDATED_EPOCH_DAY = 7;
+    private static final int WIDTH = 8;
+
+    /** Project count at which the experience feature saturates. */
+    private static final double PROJECTS_SATURATION = 50.0;
+    /** Feedback count at which the feedback average counts for half its weight. */
+    private static final double FEEDBACK_PRIOR = 3.0;
+
+    private final FreelancerRepository freelancerRepository;
+    private final CompetenceRepository competenceRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final AiProperties properties;
+    private volatile FeatureMatrix matrix = new FeatureMatrix(WIDTH);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            List<Freelancer> freelancers = freelancerRepository.findActiveAvailableFreelancers();
+            Map<Long, List<String>> competenceNames = new HashMap<>();
+            for (Object[] row : competenceRepository.findActiveFreelancerCompetenceNames()) {
+                competenceNames.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((String) row[1]);
+            }
+            Map<Long, double[]> feedback = new HashMap<>();
+            for (Object[] row : feedbackRepository.findRatingAggregatesByDirection(FeedbackDirection.CLIENT_TO_FREELANCER)) {
+                feedback.put((Long) row[0], new double[]{((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue()});
+            }
+            FeatureMatrix built = new FeatureMatrix(WIDTH, Math.max(1, freelancers.size()));
+            for (Freelancer freelancer : freelancers) {
+                if (freelancer.getId() != null) {
+                    double[] aggregate = feedback.getOrDefault(freelancer.getId(), new double[2]);
+                    built.put(freelancer.getId(), row(freelancer, aggregate[0], aggregate[1]),
+                            skillTerms(freelancer, competenceNames.getOrDefault(freelancer.getId(), List.of())));
+                }
+            }
+            matrix = built;
+            log.info("Freelancer feature matrix built with {} rows", built.size());
+        } catch (Exception ex) {
+            log.warn("Failed to build freelancer feature matrix: {}", ex.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onFreelancerChanged(FreelancerChangedEvent event) {
+        if (event.getFreelancerId() != null) {
+            refresh(event.getFreelancerId());
+        }
+    }
+
+    public void refresh(Long freelancerId) {
+        Optional<Freelancer> freelancer = freelancerRepository.findById(freelancerId);
+        if (freelancer.isEmpty() || !isMatchable(freelancer.get())) {
+            matrix.remove(freelancerId);
+            return;
+        }
+        List<String> competences = competenceRepository.findActiveByFreelancer(freelancer.get()).stream()
+                .map(Competence::getName)
+                .toList();
+        Double average = feedbackRepository.findAverageRatingByTargetUserIdAndDirection(
+                freelancerId, FeedbackDirection.CLIENT_TO_FREELANCER);
+        Long count = feedbackRepository.countByTargetUserIdAndDirection(freelancerId, FeedbackDirection.CLIENT_TO_FREELANCER);
+        matrix.put(freelancerId, row(freelancer.get(), average == null ? 0.0 : average, count == null ? 0 : count),
+                skillTerms(freelancer.get(), competences));
+    }
+
+    public int size() {
+        return matrix.size();
+    }
+
+    MissionContext missionContext(Mission mission, String missionText) {
+        String skillText = mission.getSkillsRequired() == null || mission.getSkillsRequired().isBlank()
+                ? missionText : mission.getSkillsRequired();
+        BigDecimal budget = mission.getBudgetType() == BudgetType.NEGOTIABLE ? null : mission.getBudgetMax();
+        return new MissionContext(terms(skillText),
+                budget == null || budget.signum() <= 0 ? Double.NaN : budget.doubleValue(),
+                mission.getBudgetType() == BudgetType.HOURLY,
+                LocalDate.now().toEpochDay());
+    }
+
+    /**
+     * Feature vector indexed by {@link RankingFeature#ordinal()}. Freelancers missing from the matrix (e.g. from
+     * the candidature fallback) are described from the entity alone, without feedback or competences.
+     */
+    double[] features(Freelancer freelancer, double retrievalScore, MissionContext mission) {
+        float[] row = new float[WIDTH];
+        int[] skills = matrix.read(freelancer.getId(), row);
+        if (skills == null) {
+            row = row(freelancer, 0.0, 0);
+            skills = skillTerms(freelancer, List.of());
+        }
+
+        double[] features = new double[RankingFeature.values().length];
+        features[RankingFeature.RETRIEVAL.ordinal()] = clamp(retrievalScore);
+        features[RankingFeature.SKILL_OVERLAP.ordinal()] = overlap(mission.skillTerms, skills);
+        features[RankingFeature.RATING.ordinal()] = clamp(row[RATING] / 5.0);
+        features[RankingFeature.SUCCESS_RATE.ordinal()] = clamp(row[SUCCESS_RATE] / 100.0);
+        features[RankingFeature.EXPERIENCE.ordinal()] =
+                clamp(Math.log1p(row[PROJECTS]) / Math.log1p(PROJECTS_SATURATION));
+        features[RankingFeature.FEEDBACK.ordinal()] =
+                clamp(row[FEEDBACK_AVERAGE] / 5.0 * row[FEEDBACK_COUNT] / (row[FEEDBACK_COUNT] + FEEDBACK_PRIOR));
+        features[RankingFeature.RATE_FIT.ordinal()] = rateFit(mission.hourly ? row[HOURLY_RATE] : row[DAILY_RATE],
+                mission.budget);
+        double halfLife = Math.max(1, properties.getMatching().getRecencyHalfLifeDays());
+        features[RankingFeature.RECENCY.ordinal()] = Float.isNaN(row[UPDATED_EPOCH_DAY]) ? 0.0
+                : Math.pow(0.5, Math.max(0, mission.epochDay - row[UPDATED_EPOCH_DAY]) / halfLife);
+        return features;
+    }
+
+    private boolean isMatchable(Freelancer freelancer) {
+        return Boolean.TRUE.equals(freelancer.getIsActive())
+                && Boolean.TRUE.equals(freelancer.getIsVerified())
+                && Boolean.TRUE.equals(freelancer.getIsAvailable());
+    }
+
+    private float[] row(Freelancer freelancer, double feedbackAverage, double feedbackCount) {
+        float[] row = new float[WIDTH];
+        row[RATING] = value(freelancer.getRating(), 0f);
+        row[SUCCESS_RATE] = value(freelancer.getSuccessRate(), 0f);
+        row[PROJECTS] = freelancer.getTotalProjects() == null ? 0f : freelancer.getTotalProjects();
+        row[FEEDBACK_AVERAGE] = (float) feedbackAverage;
+        row[FEEDBACK_COUNT] = (float) feedbackCount;
+        row[HOURLY_RATE] = value(freelancer.getHourlyRate(), Float.NaN);
+        row[DAILY_RATE] = value(freelancer.getDailyRate(), Float.NaN);
+        LocalDateTime updated = freelancer.getUpdatedAt() != null ? freelancer.getUpdatedAt() : freelancer.getCreatedAt();
+        row[UPDATED_EPOCH_DAY] = updated == null ? Float.NaN : updated.toLocalDate().toEpochDay();
+        return row;
+    }
+
+    private int[] skillTerms(Freelancer freelancer, List<String> competences) {
+        StringBuilder text = new StringBuilder();
+        text.append(freelancer.getTitle() == null ? "" : freelancer.getTitle()).append(' ');
+        text.append(freelancer.getSkills() == null ? "" : freelancer.getSkills());
+        competences.forEach(name -> text.append(' ').append(name == null ? "" : name));
+        return terms(text.toString());
+    }
+
+    private static int[] terms(String text) {
+        return TextAnalyzer.analyze(text).stream().mapToInt(String::hashCode).distinct().sorted().toArray();
+    }
+
+    /** Share of the mission's skill terms the freelancer covers; both arrays are sorted. */
+    private static double overlap(int[] mission, int[] freelancer) {
+        if (mission.length == 0) {
+            return 0.0;
+        }
+        int matched = 0;
+        int i = 0;
+        int j = 0;
+        while (i < mission.length && j < freelancer.length) {
+            if (mission[i] == freelancer[j]) {
+                matched++;
+                i++;
+                j++;
+            } else if (mission[i] < freelancer[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return matched / (double) mission.length;
+    }
+
+    private static double rateFit(float rate, double budget) {
+        if (Float.isNaN(rate) || Double.isNaN(budget) || rate <= 0) {
+            return 0.5;
+        }
+        double ratio = rate / budget;
+        return ratio <= 1.0 ? 1.0 : clamp(2.0 - ratio);
+    }
+
+    private static float value(BigDecimal value, float fallback) {
+        return value == null ? fallback : value.floatValue();
+    }
+
+    private static double clamp(double value) {
+        return Double.isNaN(value) ? 0.0 : Math.max(0.0, Math.min(1.0, value));
+    }
+
+    static final class MissionContext {
+        private final int[] skillTerms;
+        private final double budget;
+        private final boolean hourly;
+        private final long epochDay;
+
+        private MissionContext(int[] skillTerms, double budget, boolean hourly, long epochDay) {
+            this.skillTerms = skillTerms;
+            this.budget = budget;
+            this.hourly = hourly;
+            this.epochDay = epochDay;
+        }
+    }
+}
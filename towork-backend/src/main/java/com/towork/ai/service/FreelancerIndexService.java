@@ -0,0 +1,207 @@
+package com.towork.ai.service;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.matching.InvertedIndex;
+import com.towork.user.entity.Competence;
+import com.towork.user.entity.Freelancer;
+import com.towork.user.event.FreelancerChangedEvent;
+import com.towork.user.repository.CompetenceRepository;
+import com.towork.user.repository.FreelancerRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps an in-memory inverted index of matchable freelancer profiles (title, bio, skills, competences).
+ * Built once at startup and refreshed per freelancer on {@link FreelancerChangedEvent}. The freelancer's semantic
+ * embedding is refreshed on a bounded worker pool, so a slow embedding call does not hold up the profile write;
+ * changes queued for the same freelancer collapse into one refresh of the latest profile.
+ */
+@Service
+@Slf4j
+public class FreelancerIndexService {
+
+    private final FreelancerRepository freelancerRepository;
+    private final CompetenceRepository competenceRepository;
+    private final EmbeddingService embeddingService;
+    private final InvertedIndex index = new InvertedIndex();
+    private final Map<Long, String> pendingEmbeddings = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor embeddingRefreshers;
+
+    public FreelancerIndexService(FreelancerRepository freelancerRepository, CompetenceRepository competenceRepository,
+                                  EmbeddingService embeddingService, AiProperties properties) {
+        this.freelancerRepository = freelancerRepository;
+        this.competenceRepository = competenceRepository;
+        this.embeddingService = embeddingService;
+        AiProperties.Embedding embedding = properties.getEmbedding();
+        int threads = Math.max(1, embedding.getRefreshThreads());
+        AtomicInteger counter = new AtomicInteger();
+        this.embeddingRefreshers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, embedding.getRefreshQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "embedding-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        embeddingRefreshers.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, String> documents = new HashMap<>();
+        try {
+            List<Freelancer> freelancers = freelancerRepository.findActiveAvailableFreelancers();
+            Map<Long, List<String>> competenceNames = new HashMap<>();
+            for (Object[] row : competenceRepository.findActiveFreelancerCompetenceNames()) {
+                competenceNames.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((String) row[1]);
+            }
+            for (Freelancer freelancer : freelancers) {
+                if (freelancer.getId() != null) {
+                    documents.put(freelancer.getId(),
+                            profileText(freelancer, competenceNames.getOrDefault(freelancer.getId(), List.of())));
+                }
+            }
+            index.rebuild(documents);
+            log.info("Freelancer matching index built with {} profiles", index.size());
+        } catch (Exception ex) {
+            log.warn("Failed to build freelancer matching index: {}", ex.getMessage());
+            return;
+        }
+        try {
+            embeddingService.load(documents);
+        } catch (Exception ex) {
+            log.warn("Failed to load freelancer embeddings: {}", ex.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onFreelancerChanged(FreelancerChangedEvent event) {
+        if (event.getFreelancerId() != null) {
+            reindex(event.getFreelancerId());
+        }
+    }
+
+    public void reindex(Long freelancerId) {
+        Optional<Freelancer> freelancer = freelancerRepository.findById(freelancerId);
+        if (freelancer.isEmpty() || !isMatchable(freelancer.get())) {
+            index.remove(freelancerId);
+            pendingEmbeddings.remove(freelancerId);
+            embeddingService.removeFreelancer(freelancerId);
+            return;
+        }
+        List<String> competences = competenceRepository.findActiveByFreelancer(freelancer.get()).stream()
+                .map(Competence::getName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        String profile = profileText(freelancer.get(), competences);
+        index.put(freelancerId, profile);
+        refreshEmbedding(freelancerId, profile);
+    }
+
+    private void refreshEmbedding(Long freelancerId, String profile) {
+        if (pendingEmbeddings.put(freelancerId, profile) != null) {
+            return;
+        }
+        try {
+            embeddingRefreshers.execute(() -> {
+                String latest = pendingEmbeddings.remove(freelancerId);
+                if (latest == null) {
+                    return;
+                }
+                try {
+                    embeddingService.refreshFreelancer(freelancerId, latest);
+                } catch (Exception ex) {
+                    log.warn("Failed to refresh embedding of freelancer {}: {}", freelancerId, ex.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pendingEmbeddings.remove(freelancerId);
+            // a stale vector would rank the freelancer on the old profile; drop it until the next change or restart
+            embeddingService.removeFreelancer(freelancerId);
+            log.warn("Embedding refresh queue full, freelancer {} left without embedding", freelancerId);
+        }
+    }
+
+    /** Freelancers ranked by BM25 against {@code text}; hit scores are normalized into [0, 1). */
+    public List<InvertedIndex.Hit> search(String text, int limit) {
+        return index.searchBm25(InvertedIndex.queryTerms(text), limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * BM25 relevance of each freelancer to {@code text}, scaled into [0, 1). Indexed profiles are scored from the
+     * index statistics without touching the database; the others (e.g. unverified applicants) get a profile built
+     * from one competence query for all of them.
+     */
+    public Map<Long, Double> score(String text, Collection<Freelancer> freelancers) {
+        Set<String> terms = InvertedIndex.queryTerms(text);
+        List<Long> ids = freelancers.stream().map(Freelancer::getId).filter(Objects::nonNull).toList();
+        Map<Long, Double> scores = new HashMap<>(index.bm25(terms, ids));
+        List<Freelancer> outside = freelancers.stream()
+                .filter(freelancer -> freelancer.getId() != null && !scores.containsKey(freelancer.getId()))
+                .toList();
+        if (!outside.isEmpty()) {
+            Map<Long, List<String>> competenceNames = new HashMap<>();
+            for (Object[] row : competenceRepository.findActiveCompetenceNamesByFreelancerIds(
+                    outside.stream().map(Freelancer::getId).toList())) {
+                competenceNames.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((String) row[1]);
+            }
+            for (Freelancer freelancer : outside) {
+                String profile = profileText(freelancer, competenceNames.getOrDefault(freelancer.getId(), List.of()));
+                scores.put(freelancer.getId(), index.bm25(terms, profile));
+            }
+        }
+        return scores;
+    }
+
+    private boolean isMatchable(Freelancer freelancer) {
+        return Boolean.TRUE.equals(freelancer.getIsActive())
+                && Boolean.TRUE.equals(freelancer.getIsVerified())
+                && Boolean.TRUE.equals(freelancer.getIsAvailable());
+    }
+
+    private String profileText(Freelancer freelancer, List<String> competences) {
+        StringBuilder builder = new StringBuilder();
+        append(builder, freelancer.getTitle());
+        append(builder, freelancer.getBio());
+        append(builder, freelancer.getSkills());
+        competences.forEach(name -> append(builder, name));
+        return builder.toString();
+    }
+
+    private void append(StringBuilder builder, String value) {
+        if (value != null && !value.isBlank()) {
+            builder.append(value.trim()).append('\n');
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.towork.ai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.matching.InvertedIndex;
+import com.towork.mission.entity.Mission;
+import com.towork.mission.entity.MissionStatus;
+import com.towork.mission.event.MissionChangedEvent;
+import com.towork.mission.repository.MissionRepository;
+import com.towork.user.entity.Competence;
+import com.towork.user.entity.Freelancer;
+import com.towork.user.event.FreelancerChangedEvent;
+import com.towork.user.repository.CompetenceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reverse matching: ranks published missions against a freelancer's profile and competences with an
+ * {@link InvertedIndex} over mission texts. Ranked feeds are cached per freelancer and patched in place when a
+ * mission is published, edited or closed; a freelancer's own profile change drops their feed.
+ * A cold feed gets {@code ai.feed.latency-budget-millis} to build, after which the request is answered with the
+ * latest published missions and the build finishes in the background. Profiles without any indexed term get the
+ * latest published missions too.
+ */
+@Service
+@Slf4j
+public class MissionFeedService {
+
+    private final MissionRepository missionRepository;
+    private final CompetenceRepository competenceRepository;
+    private final AiProperties properties;
+    private final InvertedIndex index = new InvertedIndex();
+    private final Cache<Long, Feed> feeds;
+    private final Map<Long, CompletableFuture<Feed>> building = new ConcurrentHashMap<>();
+    /** Bumped on every index change, so a feed ranked before a change is not cached after its patch ran. */
+    private final AtomicLong indexVersion = new AtomicLong();
+    private final ThreadPoolExecutor workers;
+
+    public MissionFeedService(MissionRepository missionRepository, CompetenceRepository competenceRepository,
+                              AiProperties properties) {
+        this.missionRepository = missionRepository;
+        this.competenceRepository = competenceRepository;
+        this.properties = properties;
+        AiProperties.Feed feed = properties.getFeed();
+        this.feeds = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, feed.getCacheMaxEntries()))
+                .expireAfterWrite(Duration.ofMinutes(Math.max(1, feed.getCacheTtlMinutes())))
+                .build();
+        int threads = Math.max(1, feed.getWorkerThreads());
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, feed.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mission-feed-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            Map<Long, String> documents = new HashMap<>();
+            for (Mission mission : missionRepository.findPublishedMissionsOrderByCreatedAt()) {
+                if (isOpen(mission)) {
+                    documents.put(mission.getId(), missionText(mission));
+                }
+            }
+            index.rebuild(documents);
+            indexVersion.incrementAndGet();
+            feeds.invalidateAll();
+            log.info("Mission feed index built with {} published missions", index.size());
+        } catch (Exception ex) {
+            log.warn("Failed to build mission feed index: {}", ex.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onMissionChanged(MissionChangedEvent event) {
+        if (event.getMissionId() == null) {
+            return;
+        }
+        Optional<Mission> mission = missionRepository.findById(event.getMissionId());
+        if (mission.isPresent() && isOpen(mission.get())) {
+            String text = missionText(mission.get());
+            index.put(mission.get().getId(), text);
+            indexVersion.incrementAndGet();
+            patchFeeds(feed -> feed.with(InvertedIndex.match(event.getMissionId(), feed.getTerms(), text),
+                    event.getMissionId(), feedSize()));
+        } else {
+            index.remove(event.getMissionId());
+            indexVersion.incrementAndGet();
+            patchFeeds(feed -> feed.with(null, event.getMissionId(), feedSize()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFreelancerChanged(FreelancerChangedEvent event) {
+        if (event.getFreelancerId() != null) {
+            feeds.invalidate(event.getFreelancerId());
+        }
+    }
+
+    public Page<Mission> feed(Freelancer freelancer, Pageable pageable) {
+        Feed feed = feeds.getIfPresent(freelancer.getId());
+        if (feed == null) {
+            feed = awaitBuild(freelancer);
+        }
+        if (feed == null || feed.getTerms().isEmpty()) {
+            return missionRepository.findByStatusAndIsActiveTrueOrderByCreatedAtDesc(MissionStatus.PUBLISHED, pageable);
+        }
+        return page(feed, pageable);
+    }
+
+    private Feed awaitBuild(Freelancer freelancer) {
+        Long id = freelancer.getId();
+        CompletableFuture<Feed> created = new CompletableFuture<>();
+        CompletableFuture<Feed> build = building.putIfAbsent(id, created);
+        if (build == null) {
+            build = created;
+            try {
+                workers.execute(() -> {
+                    try {
+                        Feed built = build(freelancer);
+                        feeds.put(id, built);
+                        // checked after the put so a concurrent patch either reaches the entry or is seen here
+                        if (built.getIndexVersion() != indexVersion.get()) {
+                            feeds.asMap().remove(id, built);
+                        }
+                        building.remove(id, created);
+                        created.complete(built);
+                    } catch (Exception ex) {
+                        building.remove(id, created);
+                        created.completeExceptionally(ex);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                building.remove(id, created);
+                created.completeExceptionally(ex);
+            }
+        }
+        try {
+            return build.get(Math.max(0, properties.getFeed().getLatencyBudgetMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.debug("Feed of freelancer {} not ready within budget, serving latest missions", freelancer.getId());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            log.warn("Feed of freelancer {} failed: {}", freelancer.getId(), ex.getCause().getMessage());
+        }
+        return null;
+    }
+
+    private Feed build(Freelancer freelancer) {
+        long version = indexVersion.get();
+        List<String> competences = competenceRepository.findActiveByFreelancer(freelancer).stream()
+                .map(Competence::getName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        String profile = Stream.concat(
+                        Stream.of(freelancer.getTitle(), freelancer.getBio(), freelancer.getSkills()),
+                        competences.stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining("\n"));
+        Set<String> terms = InvertedIndex.queryTerms(profile);
+        return new Feed(terms, index.search(terms, feedSize()), version);
+    }
+
+    private Page<Mission> page(Feed feed, Pageable pageable) {
+        List<InvertedIndex.Hit> hits = feed.getHits();
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(hits.size(), from + pageable.getPageSize());
+        List<Long> ids = hits.subList(from, to).stream().map(InvertedIndex.Hit::getDocumentId).toList();
+        Map<Long, Mission> byId = missionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Mission::getId, Function.identity(), (a, b) -> a));
+        List<Mission> content = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
+    private void patchFeeds(Function<Feed, Feed> patch) {
+        feeds.asMap().replaceAll((id, feed) -> patch.apply(feed));
+    }
+
+    private int feedSize() {
+        return Math.max(1, properties.getFeed().getSize());
+    }
+
+    private boolean isOpen(Mission mission) {
+        return mission.getStatus() == MissionStatus.PUBLISHED && Boolean.TRUE.equals(mission.getIsActive());
+    }
+
+    private String missionText(Mission mission) {
+        return Stream.of(mission.getTitle(), mission.getDescription(), mission.getRequirements(),
+                        mission.getSkillsRequired())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Immutable ranked feed of one freelancer, with the query terms needed to score newly published missions.
+     */
+    @Data
+    private static class Feed {
+        private final Set<String> terms;
+        private final List<InvertedIndex.Hit> hits;
+        /** Index version the hits were ranked against. */
+        private final long indexVersion;
+
+        /** Copy with {@code missionId} removed, then {@code hit} (if any) inserted at its rank. */
+        Feed with(InvertedIndex.Hit hit, long missionId, int maxSize) {
+            List<InvertedIndex.Hit> patched = new ArrayList<>(hits.size() + 1);
+            for (InvertedIndex.Hit existing : hits) {
+                if (existing.getDocumentId() != missionId) {
+                    patched.add(existing);
+                }
+            }
+            if (hit != null) {
+                int position = 0;
+                while (position < patched.size() && InvertedIndex.HIT_ORDER.compare(patched.get(position), hit) > 0) {
+                    position++;
+                }
+                patched.add(position, hit);
+            }
+            return new Feed(terms, List.copyOf(patched.size() > maxSize ? patched.subList(0, maxSize) : patched),
+                    indexVersion);
+        }
+    }
+}
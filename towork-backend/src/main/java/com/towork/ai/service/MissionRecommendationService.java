@@ -0,0 +1,194 @@
+package com.towork.ai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiFreelancerMatchDto;
+import com.towork.ai.util.SingleFlight;
+import com.towork.mission.entity.MissionStatus;
+import com.towork.mission.event.MissionChangedEvent;
+import com.towork.mission.repository.MissionRepository;
+import com.towork.user.event.FreelancerChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves mission recommendations from a per (mission, limit bucket) cache in front of {@link AiMatchingService}.
+ * <ul>
+ *     <li>Mission changes drop that mission's entries, and re-warm them in the background while it is published.</li>
+ *     <li>Freelancer changes drop only the entries listing that freelancer.</li>
+ * </ul>
+ * Entries also expire after {@code ai.matching.cache-ttl-minutes}, which is how newly matching profiles reach lists
+ * that are already cached. Change stamps are kept for the same duration, so a computation that overlapped a change
+ * is not cached.
+ */
+@Service
+@Slf4j
+public class MissionRecommendationService {
+
+    private static final int[] LIMIT_BUCKETS = {5, 10, 20, 50};
+    private static final int MAX_LIMIT = LIMIT_BUCKETS[LIMIT_BUCKETS.length - 1];
+
+    private final AiMatchingService aiMatchingService;
+    private final MissionRepository missionRepository;
+    private final Cache<Key, Entry> cache;
+    private final SingleFlight<Key, List<AiFreelancerMatchDto>> singleFlight = new SingleFlight<>();
+    private final AtomicLong changeStamps = new AtomicLong();
+    /** Stamp of the last change per mission / freelancer, forgotten once no computation can predate it. */
+    private final Cache<Long, Long> missionChanges;
+    private final Cache<Long, Long> freelancerChanges;
+    private final ThreadPoolExecutor refreshers;
+
+    public MissionRecommendationService(AiMatchingService aiMatchingService, MissionRepository missionRepository,
+                                        AiProperties properties) {
+        this.aiMatchingService = aiMatchingService;
+        this.missionRepository = missionRepository;
+        AiProperties.Matching matching = properties.getMatching();
+        Duration ttl = Duration.ofMinutes(Math.max(1, matching.getCacheTtlMinutes()));
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, matching.getCacheMaxEntries()))
+                .expireAfterWrite(ttl)
+                .build();
+        this.missionChanges = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+        this.freelancerChanges = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+        int threads = Math.max(1, matching.getRefreshThreads());
+        AtomicInteger counter = new AtomicInteger();
+        this.refreshers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, matching.getRefreshQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "recommendation-refresh-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshers.shutdownNow();
+    }
+
+    public CompletableFuture<List<AiFreelancerMatchDto>> recommend(Long missionId, Integer limit) {
+        int max = limit != null && limit > 0 ? Math.min(limit, MAX_LIMIT) : 5;
+        Key key = new Key(missionId, bucket(max));
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            return CompletableFuture.completedFuture(truncate(entry.getMatches(), max));
+        }
+        return compute(key).thenApply(matches -> truncate(matches, max));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMissionChanged(MissionChangedEvent event) {
+        Long missionId = event.getMissionId();
+        if (missionId == null) {
+            return;
+        }
+        missionChanges.put(missionId, changeStamps.incrementAndGet());
+        cache.asMap().keySet().removeIf(key -> key.getMissionId().equals(missionId));
+        warmInBackground(new Key(missionId, LIMIT_BUCKETS[0]));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFreelancerChanged(FreelancerChangedEvent event) {
+        Long freelancerId = event.getFreelancerId();
+        if (freelancerId == null) {
+            return;
+        }
+        freelancerChanges.put(freelancerId, changeStamps.incrementAndGet());
+        cache.asMap().values().removeIf(entry -> lists(entry, freelancerId));
+    }
+
+    private CompletableFuture<List<AiFreelancerMatchDto>> compute(Key key) {
+        return singleFlight.execute(key, () -> {
+            long started = changeStamps.get();
+            return aiMatchingService.recommendFreelancersAsync(key.getMissionId(), key.getLimit())
+                    .thenApply(matches -> {
+                        Entry entry = new Entry(List.copyOf(matches));
+                        cache.put(key, entry);
+                        // checked after the put so a change racing with it either sees the entry or is seen here
+                        if (changedSince(key.getMissionId(), entry, started)) {
+                            cache.asMap().remove(key, entry);
+                        }
+                        return matches;
+                    });
+        });
+    }
+
+    /**
+     * Recomputes {@code key} off the request thread, skipping missions that are not open for applications.
+     */
+    private void warmInBackground(Key key) {
+        try {
+            refreshers.execute(() -> {
+                try {
+                    boolean refresh = missionRepository.findById(key.getMissionId())
+                            .map(mission -> mission.getStatus() == MissionStatus.PUBLISHED
+                                    && Boolean.TRUE.equals(mission.getIsActive()))
+                            .orElse(false);
+                    if (refresh) {
+                        compute(key).join();
+                    }
+                } catch (Exception ex) {
+                    log.warn("Recommendation refresh of mission {} failed: {}", key.getMissionId(), ex.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.debug("Recommendation refresh queue full, mission {} refreshed on next miss", key.getMissionId());
+        }
+    }
+
+    /** Whether the mission or a listed freelancer changed after {@code stamp}. */
+    private boolean changedSince(Long missionId, Entry entry, long stamp) {
+        Long missionChange = missionChanges.getIfPresent(missionId);
+        if (missionChange != null && missionChange > stamp) {
+            return true;
+        }
+        return entry.getMatches().stream().anyMatch(match -> {
+            Long freelancerChange = match.getFreelancerId() == null ? null
+                    : freelancerChanges.getIfPresent(match.getFreelancerId());
+            return freelancerChange != null && freelancerChange > stamp;
+        });
+    }
+
+    private static boolean lists(Entry entry, Long freelancerId) {
+        return entry.getMatches().stream().anyMatch(match -> freelancerId.equals(match.getFreelancerId()));
+    }
+
+    private static int bucket(int limit) {
+        for (int bucket : LIMIT_BUCKETS) {
+            if (limit <= bucket) {
+                return bucket;
+            }
+        }
+        return MAX_LIMIT;
+    }
+
+    private static List<AiFreelancerMatchDto> truncate(List<AiFreelancerMatchDto> matches, int limit) {
+        return matches.size() <= limit ? matches : matches.subList(0, limit);
+    }
+
+    @Data
+    private static class Key {
+        private final Long missionId;
+        private final int limit;
+    }
+
+    @Data
+    private static class Entry {
+        private final List<AiFreelancerMatchDto> matches;
+    }
+}
@@ -0,0 +1,145 @@
+package com.towork.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.dto.AiSummaryResponse;
+import com.towork.ai.entity.MissionAiSummary;
+import com.towork.ai.repository.MissionAiSummaryRepository;
+import com.towork.ai.util.AiLanguages;
+import com.towork.ai.util.AiVectorUtils;
+import com.towork.ai.util.SingleFlight;
+import com.towork.mission.entity.Mission;
+import com.towork.mission.event.MissionChangedEvent;
+import com.towork.mission.repository.MissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Serves mission summaries from {@code mission_ai_summaries}, one row per (mission, language) tagged with a hash of
+ * the summarized fields. A row whose hash no longer matches the mission is regenerated on read, and languages that
+ * were already generated are regenerated in the background when a {@link MissionChangedEvent} changes the hash.
+ * Concurrent misses for the same version share one model call; fallbacks are returned but never stored.
+ * Languages outside {@link AiLanguages#SUPPORTED} are served in French, so callers cannot fill the table with rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MissionSummaryService {
+
+    private static final TypeReference<List<String>> STEP_LIST = new TypeReference<>() {
+    };
+
+    private final AiFeatureService aiFeatureService;
+    private final MissionAiSummaryRepository missionAiSummaryRepository;
+    private final MissionRepository missionRepository;
+    private final ObjectMapper objectMapper;
+    private final SingleFlight<String, AiSummaryResponse> singleFlight = new SingleFlight<>();
+
+    public CompletableFuture<AiSummaryResponse> summarize(Mission mission, String language) {
+        String normalizedLanguage = AiLanguages.normalize(language);
+        String missionText = missionText(mission);
+        String status = status(mission);
+        String hash = contentHash(missionText, status);
+        Optional<AiSummaryResponse> stored = missionAiSummaryRepository
+                .findByMissionIdAndLanguage(mission.getId(), normalizedLanguage)
+                .filter(summary -> hash.equals(summary.getContentHash()))
+                .flatMap(this::read);
+        if (stored.isPresent()) {
+            return CompletableFuture.completedFuture(stored.get());
+        }
+        return generate(mission.getId(), normalizedLanguage, missionText, status, hash)
+                .exceptionally(ex -> {
+                    log.debug("Mission {} summary not generated, using fallback: {}", mission.getId(), ex.getMessage());
+                    return aiFeatureService.fallbackMissionSummary(mission.getTitle(), mission.getDescription());
+                });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onMissionChanged(MissionChangedEvent event) {
+        if (event.getMissionId() == null) {
+            return;
+        }
+        List<MissionAiSummary> stored = missionAiSummaryRepository.findByMissionId(event.getMissionId());
+        if (stored.isEmpty()) {
+            return;
+        }
+        Optional<Mission> mission = missionRepository.findById(event.getMissionId())
+                .filter(found -> Boolean.TRUE.equals(found.getIsActive()));
+        if (mission.isEmpty()) {
+            return;
+        }
+        String missionText = missionText(mission.get());
+        String status = status(mission.get());
+        String hash = contentHash(missionText, status);
+        for (MissionAiSummary summary : stored) {
+            if (!hash.equals(summary.getContentHash())) {
+                generate(event.getMissionId(), summary.getLanguage(), missionText, status, hash)
+                        .exceptionally(ex -> {
+                            log.debug("Background summary of mission {} ({}) failed: {}", event.getMissionId(),
+                                    summary.getLanguage(), ex.getMessage());
+                            return null;
+                        });
+            }
+        }
+    }
+
+    private CompletableFuture<AiSummaryResponse> generate(Long missionId, String language, String missionText,
+                                                          String status, String hash) {
+        return singleFlight.execute(missionId + ":" + language + ":" + hash, () -> aiFeatureService
+                .generateMissionSummaryAsync(missionText, status, language)
+                .thenApply(summary -> {
+                    save(missionId, language, hash, summary);
+                    return summary;
+                }));
+    }
+
+    private Optional<AiSummaryResponse> read(MissionAiSummary stored) {
+        try {
+            return Optional.of(new AiSummaryResponse(stored.getSummary(),
+                    objectMapper.readValue(stored.getNextSteps(), STEP_LIST)));
+        } catch (JsonProcessingException ex) {
+            log.warn("Ignoring unreadable mission summary {}: {}", stored.getId(), ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void save(Long missionId, String language, String hash, AiSummaryResponse summary) {
+        try {
+            MissionAiSummary stored = missionAiSummaryRepository.findByMissionIdAndLanguage(missionId, language)
+                    .orElseGet(MissionAiSummary::new);
+            stored.setMissionId(missionId);
+            stored.setLanguage(language);
+            stored.setContentHash(hash);
+            stored.setSummary(summary.getSummary() == null ? "" : summary.getSummary());
+            stored.setNextSteps(objectMapper.writeValueAsString(
+                    summary.getNextSteps() == null ? List.of() : summary.getNextSteps()));
+            missionAiSummaryRepository.save(stored);
+        } catch (JsonProcessingException | DataIntegrityViolationException ex) {
+            log.debug("Summary of mission {} ({}) not stored: {}", missionId, language, ex.getMessage());
+        }
+    }
+
+    private String missionText(Mission mission) {
+        return aiFeatureService.buildMissionText(mission.getTitle(), mission.getDescription(),
+                mission.getRequirements(), null);
+    }
+
+    private String status(Mission mission) {
+        return mission.getStatus() != null ? mission.getStatus().name() : null;
+    }
+
+    private String contentHash(String missionText, String status) {
+        return AiVectorUtils.sha256(missionText + "\n" + status);
+    }
+}
@@ -0,0 +1,200 @@
+package com.towork.ai.service;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiModerationResponse;
+import com.towork.ai.util.AhoCorasick;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local first pass of moderation. A single Aho-Corasick scan matches the configured lexicon and link markers;
+ * phone numbers and repeated characters are counted in the same style of linear loop. Short content with no
+ * signal (up to {@code ai.moderation.prefilter.accept-max-chars}) is accepted and content scoring above
+ * {@code ai.moderation.prefilter.reject-score} is flagged, both without a model call; everything else, including
+ * longer signal-free text, is left to the model.
+ */
+@Service
+public class ModerationPrefilter {
+
+    private static final String URL_LABEL = "URL";
+    private static final List<String> URL_MARKERS = List.of("http://", "https://", "www.");
+    private static final double TERM_WEIGHT = 0.6;
+    private static final double URL_WEIGHT = 0.3;
+    private static final double PHONE_WEIGHT = 0.45;
+    private static final double REPEAT_WEIGHT = 0.3;
+    private static final int PHONE_MIN_DIGITS = 9;
+    private static final int PHONE_MAX_DIGITS = 15;
+
+    private final AiProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AhoCorasick automaton;
+    /** Label id of each pattern; id 0 is reserved for link markers. */
+    private final int[] patternLabels;
+    private final String[] labelNames;
+
+    public ModerationPrefilter(AiProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        List<String> patterns = new ArrayList<>(URL_MARKERS);
+        List<Integer> labelIds = new ArrayList<>();
+        List<String> names = new ArrayList<>(List.of(URL_LABEL));
+        URL_MARKERS.forEach(marker -> labelIds.add(0));
+        Map<String, List<String>> lexicon = properties.getModeration().getPrefilter().getLexicon();
+        if (lexicon != null) {
+            lexicon.forEach((label, terms) -> {
+                if (terms == null) {
+                    return;
+                }
+                names.add(label.toUpperCase(Locale.ROOT));
+                for (String term : terms) {
+                    if (term != null && !term.isBlank()) {
+                        patterns.add(term.trim());
+                        labelIds.add(names.size() - 1);
+                    }
+                }
+            });
+        }
+        this.automaton = new AhoCorasick(patterns);
+        this.patternLabels = labelIds.stream().mapToInt(Integer::intValue).toArray();
+        this.labelNames = names.toArray(new String[0]);
+    }
+
+    /**
+     * @return the local verdict, or empty when the content has to go to the model
+     */
+    public Optional<AiModerationResponse> evaluate(String content) {
+        AiProperties.Prefilter config = properties.getModeration().getPrefilter();
+        if (!config.isEnabled() || content == null) {
+            return Optional.empty();
+        }
+
+        Signals signals = new Signals(labelNames.length);
+        automaton.scan(content, (pattern, start, end) -> {
+            int label = patternLabels[pattern];
+            if (label == 0) {
+                signals.urls++;
+            } else if (isWordBoundary(content, start - 1) && isWordBoundary(content, end)) {
+                signals.labelHits[label]++;
+                signals.terms++;
+            }
+        });
+        signals.phones = countPhoneNumbers(content);
+        signals.repeated = hasRepeatedRun(content, Math.max(2, config.getRepeatedCharRun()));
+
+        double score = signals.terms * TERM_WEIGHT + signals.urls * URL_WEIGHT + signals.phones * PHONE_WEIGHT
+                + (signals.repeated ? REPEAT_WEIGHT : 0.0);
+
+        if (score == 0.0 && content.length() <= config.getAcceptMaxChars()) {
+            record("accept");
+            return Optional.of(new AiModerationResponse(false, 0.0, "OK", "Local prefilter: no signal"));
+        }
+        if (score >= config.getRejectScore()) {
+            record("reject");
+            return Optional.of(new AiModerationResponse(true, Math.min(1.0, score), dominantLabel(signals),
+                    "Local prefilter: " + describe(signals)));
+        }
+        record("model");
+        return Optional.empty();
+    }
+
+    private String dominantLabel(Signals signals) {
+        String best = "SPAM";
+        int bestHits = 0;
+        for (int i = 1; i < signals.labelHits.length; i++) {
+            if (signals.labelHits[i] > bestHits) {
+                bestHits = signals.labelHits[i];
+                best = labelNames[i];
+            }
+        }
+        return best;
+    }
+
+    private String describe(Signals signals) {
+        StringBuilder builder = new StringBuilder();
+        if (signals.terms > 0) {
+            builder.append(signals.terms).append(" lexicon match(es) ");
+        }
+        if (signals.urls > 0) {
+            builder.append(signals.urls).append(" link(s) ");
+        }
+        if (signals.phones > 0) {
+            builder.append(signals.phones).append(" phone number(s) ");
+        }
+        if (signals.repeated) {
+            builder.append("repeated characters");
+        }
+        return builder.toString().trim();
+    }
+
+    private void record(String decision) {
+        meterRegistry.counter("ai.moderation.prefilter", "decision", decision).increment();
+    }
+
+    private static boolean isWordBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    /**
+     * Counts runs shaped like a phone number: a leading {@code 0} or {@code +}, 9 to 15 digits separated only by
+     * spaces, dots, dashes or parentheses. A slash ends the run, so dd/mm/yyyy dates and amounts don't count.
+     */
+    private static int countPhoneNumbers(String text) {
+        int phones = 0;
+        int digits = 0;
+        boolean prefixed = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isDigit(c)) {
+                if (digits == 0) {
+                    prefixed = c == '0' || (i > 0 && text.charAt(i - 1) == '+');
+                }
+                digits++;
+            } else if (digits > 0 && (c == ' ' || c == '.' || c == '-' || c == '(' || c == ')')) {
+                continue;
+            } else {
+                if (isPhoneNumber(digits, prefixed)) {
+                    phones++;
+                }
+                digits = 0;
+            }
+        }
+        return isPhoneNumber(digits, prefixed) ? phones + 1 : phones;
+    }
+
+    private static boolean isPhoneNumber(int digits, boolean prefixed) {
+        return prefixed && digits >= PHONE_MIN_DIGITS && digits <= PHONE_MAX_DIGITS;
+    }
+
+    private static boolean hasRepeatedRun(String text, int run) {
+        int length = 1;
+        for (int i = 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == text.charAt(i - 1) && !Character.isWhitespace(c)) {
+                if (++length >= run) {
+                    return true;
+                }
+            } else {
+                length = 1;
+            }
+        }
+        return false;
+    }
+
+    private static class Signals {
+        private final int[] labelHits;
+        private int terms;
+        private int urls;
+        private int phones;
+        private boolean repeated;
+
+        private Signals(int labels) {
+            this.labelHits = new int[labels];
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.towork.ai.service;
+
+import com.towork.ai.config.AiProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Extracts resume text page by page straight from the stored file. PDFBox keeps at most
+ * {@code ai.resume.max-main-memory-mb} of the document in heap and spills the rest to a scratch file;
+ * extraction stops at the character budget, {@code ai.resume.max-pages} or {@code ai.resume.timeout-seconds},
+ * whichever comes first.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeTextExtractor {
+
+    private static final long MB = 1024L * 1024L;
+
+    private final AiProperties properties;
+
+    public String extract(Path file, int maxChars) throws IOException {
+        AiProperties.Resume config = properties.getResume();
+        long deadline = System.nanoTime() + Math.max(1, config.getTimeoutSeconds()) * 1_000_000_000L;
+
+        try (PDDocument document = PDDocument.load(file.toFile(), memoryPolicy(config))) {
+            int pages = Math.min(document.getNumberOfPages(), Math.max(1, config.getMaxPages()));
+            PDFTextStripper stripper = new PDFTextStripper();
+            StringBuilder text = new StringBuilder(Math.min(maxChars, 16_384));
+
+            for (int page = 1; page <= pages && text.length() < maxChars; page++) {
+                if (System.nanoTime() > deadline) {
+                    log.warn("Resume extraction of {} stopped at page {} after {}s", file.getFileName(), page,
+                            config.getTimeoutSeconds());
+                    break;
+                }
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                text.append(stripper.getText(document));
+            }
+            if (text.length() > maxChars) {
+                text.setLength(maxChars);
+            }
+            return text.toString();
+        }
+    }
+
+    private MemoryUsageSetting memoryPolicy(AiProperties.Resume config) {
+        MemoryUsageSetting setting = MemoryUsageSetting.setupMixed(Math.max(1, config.getMaxMainMemoryMb()) * MB,
+                Math.max(config.getMaxMainMemoryMb(), config.getMaxScratchMb()) * MB);
+        if (config.getScratchDirectory() != null && !config.getScratchDirectory().isBlank()) {
+            setting.setTempDir(new File(config.getScratchDirectory()));
+        }
+        return setting;
+    }
+}
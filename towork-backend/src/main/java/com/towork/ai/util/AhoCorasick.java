@@ -0,0 +1,125 @@
+package com.towork.ai.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Case-insensitive multi-pattern matcher: finds every occurrence of every pattern in a single pass over the text.
+ * Transitions are stored as sorted char arrays per state, so scanning allocates nothing.
+ */
+public final class AhoCorasick {
+
+    @FunctionalInterface
+    public interface MatchListener {
+        void onMatch(int pattern, int start, int end);
+    }
+
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final int[] lengths;
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[][] outputs;
+
+    public AhoCorasick(List<String> patterns) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        out.add(new ArrayList<>());
+        lengths = new int[patterns.size()];
+
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p) == null ? "" : patterns.get(p).toLowerCase(Locale.ROOT);
+            lengths[p] = pattern.length();
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = trie.get(state).get(pattern.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    out.add(new ArrayList<>());
+                    trie.get(state).put(pattern.charAt(i), next);
+                }
+                state = next;
+            }
+            out.get(state).add(p);
+        }
+
+        int size = trie.size();
+        keys = new char[size][];
+        targets = new int[size][];
+        for (int s = 0; s < size; s++) {
+            Map<Character, Integer> edges = trie.get(s);
+            keys[s] = new char[edges.size()];
+            targets[s] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                keys[s][i] = edge.getKey();
+                targets[s][i++] = edge.getValue();
+            }
+        }
+
+        fail = new int[size];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < keys[state].length; i++) {
+                int child = targets[state][i];
+                int f = fail[state];
+                while (f != 0 && next(f, keys[state][i]) < 0) {
+                    f = fail[f];
+                }
+                int candidate = next(f, keys[state][i]);
+                fail[child] = candidate >= 0 && candidate != child ? candidate : 0;
+                out.get(child).addAll(out.get(fail[child]));
+                queue.add(child);
+            }
+        }
+
+        outputs = new int[size][];
+        for (int s = 0; s < size; s++) {
+            outputs[s] = out.get(s).isEmpty() ? NO_OUTPUT : out.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public void scan(CharSequence text, MatchListener listener) {
+        if (text == null) {
+            return;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next = next(state, c);
+            while (next < 0 && state != 0) {
+                state = fail[state];
+                next = next(state, c);
+            }
+            state = Math.max(next, 0);
+            for (int pattern : outputs[state]) {
+                listener.onMatch(pattern, i + 1 - lengths[pattern], i + 1);
+            }
+        }
+    }
+
+    public int states() {
+        return keys.length;
+    }
+
+    private int next(int state, char c) {
+        int index = Arrays.binarySearch(keys[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+}
@@ -0,0 +1,24 @@
+package com.towork.ai.util;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Output languages the AI features accept. Anything else is served in French, so callers can neither fill the
+ * per-language tables with rows nor overflow their {@code VARCHAR(10)} language columns.
+ */
+public final class AiLanguages {
+    public static final String DEFAULT = "fr";
+    public static final Set<String> SUPPORTED = Set.of("fr", "en", "es", "de", "it", "pt", "nl", "ar");
+
+    private AiLanguages() {}
+
+    public static String normalize(String language) {
+        if (language == null || language.isBlank()) {
+            return DEFAULT;
+        }
+        // "en-US" and "en_GB" share the "en" row
+        String primary = language.trim().toLowerCase(Locale.ROOT).split("[-_]", 2)[0];
+        return SUPPORTED.contains(primary) ? primary : DEFAULT;
+    }
+}
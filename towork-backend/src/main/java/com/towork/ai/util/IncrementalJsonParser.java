@@ -0,0 +1,139 @@
+package com.towork.ai.util;
+
+/**
+ * Consumes a JSON object chunk by chunk (as streamed by the model) and reports the characters of each
+ * top-level string field as soon as they arrive, so partial values can be displayed before the object is complete.
+ * Nested objects and arrays are skipped; the full text remains available through {@link #content()}.
+ */
+public class IncrementalJsonParser {
+
+    @FunctionalInterface
+    public interface FieldListener {
+        void onDelta(String field, String text);
+    }
+
+    private final FieldListener listener;
+    private final StringBuilder raw = new StringBuilder();
+    private final StringBuilder key = new StringBuilder();
+    private final StringBuilder pending = new StringBuilder();
+    private int depth;
+    private boolean expectKey;
+    private boolean inString;
+    private boolean readingKey;
+    private boolean readingValue;
+    private boolean escape;
+    private int unicodeRemaining;
+    private int unicodeValue;
+    private String currentField;
+
+    public IncrementalJsonParser(FieldListener listener) {
+        this.listener = listener;
+    }
+
+    public void feed(String chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        raw.append(chunk);
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (inString) {
+                stringChar(c);
+            } else {
+                structuralChar(c);
+            }
+        }
+        flush();
+    }
+
+    public String content() {
+        return raw.toString();
+    }
+
+    private void structuralChar(char c) {
+        switch (c) {
+            case '{', '[' -> {
+                depth++;
+                if (depth == 1 && c == '{') {
+                    expectKey = true;
+                }
+            }
+            case '}', ']' -> depth--;
+            case ',' -> {
+                if (depth == 1) {
+                    expectKey = true;
+                }
+            }
+            case ':' -> {
+                if (depth == 1) {
+                    expectKey = false;
+                }
+            }
+            case '"' -> {
+                inString = true;
+                readingKey = depth == 1 && expectKey;
+                readingValue = depth == 1 && !expectKey;
+                if (readingKey) {
+                    key.setLength(0);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void stringChar(char c) {
+        if (unicodeRemaining > 0) {
+            unicodeValue = unicodeValue * 16 + Character.digit(c, 16);
+            if (--unicodeRemaining == 0) {
+                append((char) unicodeValue);
+            }
+            return;
+        }
+        if (escape) {
+            escape = false;
+            switch (c) {
+                case 'n' -> append('\n');
+                case 't' -> append('\t');
+                case 'r' -> append('\r');
+                case 'b' -> append('\b');
+                case 'f' -> append('\f');
+                case 'u' -> {
+                    unicodeRemaining = 4;
+                    unicodeValue = 0;
+                }
+                default -> append(c);
+            }
+            return;
+        }
+        if (c == '\\') {
+            escape = true;
+        } else if (c == '"') {
+            inString = false;
+            if (readingKey) {
+                currentField = key.toString();
+            } else if (readingValue) {
+                flush();
+            }
+            readingKey = false;
+            readingValue = false;
+        } else {
+            append(c);
+        }
+    }
+
+    private void append(char c) {
+        if (readingKey) {
+            key.append(c);
+        } else if (readingValue) {
+            pending.append(c);
+        }
+    }
+
+    private void flush() {
+        if (pending.length() > 0 && currentField != null) {
+            listener.onDelta(currentField, pending.toString());
+        }
+        pending.setLength(0);
+    }
+}
@@ -0,0 +1,137 @@
+package com.towork.ai.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Collects individual submissions and hands them to a batch handler once {@code maxBatchSize} items are
+ * queued or {@code maxWait} has elapsed since the first queued item, whichever comes first.
+ * The handler must return exactly one result per input, in input order.
+ * Batches run on a bounded pool, whether triggered by size or by the timer, so {@link #submit} never blocks on the
+ * handler: up to {@code maxConcurrentBatches} at once and as many waiting; beyond that the batch's futures fail
+ * with {@link RejectedExecutionException}.
+ */
+public class MicroBatcher<I, O> implements AutoCloseable {
+
+    private final Function<List<I>, List<O>> handler;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor dispatcher;
+    private final Object lock = new Object();
+    private List<Pending<I, O>> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public MicroBatcher(String name, int maxBatchSize, Duration maxWait, int maxConcurrentBatches,
+                        Function<List<I>, List<O>> handler) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = Math.max(0, maxWait.toNanos());
+        AtomicInteger counter = new AtomicInteger();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, name + "-timer"));
+        int threads = Math.max(1, maxConcurrentBatches);
+        this.dispatcher = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads),
+                runnable -> daemon(runnable, name + "-dispatch-" + counter.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<O> submit(I input) {
+        CompletableFuture<O> future = new CompletableFuture<>();
+        List<Pending<I, O>> ready = null;
+        synchronized (lock) {
+            pending.add(new Pending<>(input, future));
+            if (pending.size() >= maxBatchSize) {
+                ready = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flush, maxWaitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (ready != null) {
+            execute(ready);
+        }
+        return future;
+    }
+
+    public void flush() {
+        List<Pending<I, O>> ready;
+        synchronized (lock) {
+            ready = drain();
+        }
+        if (!ready.isEmpty()) {
+            execute(ready);
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        scheduler.shutdownNow();
+        dispatcher.shutdown();
+    }
+
+    private List<Pending<I, O>> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<Pending<I, O>> ready = pending;
+        pending = new ArrayList<>();
+        return ready;
+    }
+
+    private void execute(List<Pending<I, O>> ready) {
+        try {
+            dispatcher.execute(() -> dispatch(ready));
+        } catch (RejectedExecutionException ex) {
+            ready.forEach(item -> item.future.completeExceptionally(ex));
+        }
+    }
+
+    private void dispatch(List<Pending<I, O>> batch) {
+        List<I> inputs = new ArrayList<>(batch.size());
+        batch.forEach(item -> inputs.add(item.input));
+        try {
+            List<O> results = handler.apply(inputs);
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("Batch handler returned "
+                        + (results == null ? 0 : results.size()) + " results for " + batch.size() + " inputs");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+        } catch (Throwable ex) {
+            batch.forEach(item -> item.future.completeExceptionally(ex));
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class Pending<I, O> {
+        private final I input;
+        private final CompletableFuture<O> future;
+
+        private Pending(I input, CompletableFuture<O> future) {
+            this.input = input;
+            this.future = future;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.towork.candidature.controller;
 
 import com.towork.ai.dto.AiSummaryResponse;
-import com.towork.ai.service.AiFeatureService;
+import com.towork.ai.service.ConversationSummaryService;
 import com.towork.config.MessageResponse;
 import com.towork.exception.BusinessException;
 import com.towork.exception.ResourceNotFoundException;
@@ -37,7 +37,7 @@ public class ConversationController {
     private final CandidatureRepository candidatureRepository;
     private final ClientRepository clientRepository;
     private final FreelancerRepository freelancerRepository;
-    private final AiFeatureService aiFeatureService;
+    private final ConversationSummaryService conversationSummaryService;
 
     @GetMapping("/mine")
     @PreAuthorize("isAuthenticated()")
@@ -85,16 +85,7 @@ public class ConversationController {
                                                                   Authentication authentication) {
         Candidature candidature = candidatureService.getCandidatureById(id);
         ensureConversationAccess(candidature, authentication);
-        List<CandidatureMessage> messages = candidatureService.getMessages(id);
-        int maxMessages = 50;
-        if (messages.size() > maxMessages) {
-            messages = messages.subList(messages.size() - maxMessages, messages.size());
-        }
-        List<String> content = messages.stream()
-                .map(CandidatureMessage::getContent)
-                .toList();
-        String context = candidature.getMission() != null ? candidature.getMission().getTitle() : null;
-        AiSummaryResponse summary = aiFeatureService.summarizeConversation(content, context, language);
+        AiSummaryResponse summary = conversationSummaryService.summarize(candidature, language);
         return ResponseEntity.ok(MessageResponse.success("Conversation summary generated", summary));
     }
 
@@ -5,6 +5,7 @@ import lombok.Value;
 
 import java.time.LocalDateTime;
 import com.towork.candidature.entity.CandidatureMessageAuthor;
+import com.towork.common.ModerationStatus;
 
 @Value
 @Builder
@@ -17,5 +18,6 @@ public class CandidatureMessageResponse {
     Double flagScore;
     String flagLabel;
     String flagReason;
+    ModerationStatus moderationStatus;
     LocalDateTime createdAt;
 }
@@ -1,6 +1,7 @@
 package com.towork.candidature.entity;
 
 import com.towork.common.BaseEntity;
+import com.towork.common.ModerationStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -40,4 +41,8 @@ public class CandidatureMessage extends BaseEntity {
 
     @Column(name = "flag_reason", columnDefinition = "TEXT")
     private String flagReason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "moderation_status", nullable = false, length = 20)
+    private ModerationStatus moderationStatus = ModerationStatus.PENDING;
 }
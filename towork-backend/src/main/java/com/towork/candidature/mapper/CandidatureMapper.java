@@ -9,6 +9,7 @@ import com.towork.candidature.dto.CandidatureMessageResponse;
 import com.towork.candidature.dto.CandidatureResponse;
 import com.towork.candidature.entity.Candidature;
 import com.towork.candidature.entity.CandidatureMessage;
+import com.towork.common.ModerationStatus;
 
 public final class CandidatureMapper {
     private CandidatureMapper() {}
@@ -35,6 +36,7 @@ public final class CandidatureMapper {
 
         List<CandidatureMessageResponse> messages = candidature.getMessages() == null ? List.of()
                 : candidature.getMessages().stream()
+                .filter(message -> message.getModerationStatus() != ModerationStatus.BLOCKED)
                 .sorted(Comparator.comparing(CandidatureMessage::getCreatedAt,
                         Comparator.nullsLast(Comparator.naturalOrder())))
                 .map(CandidatureMapper::toMessageDto)
@@ -67,6 +69,7 @@ public final class CandidatureMapper {
                 .flagScore(message.getFlagScore())
                 .flagLabel(message.getFlagLabel())
                 .flagReason(message.getFlagReason())
+                .moderationStatus(message.getModerationStatus())
                 .createdAt(message.getCreatedAt())
                 .build();
     }
@@ -1,6 +1,12 @@
 package com.towork.candidature.repository;
 
+import com.towork.common.ModerationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import com.towork.candidature.entity.Candidature;
@@ -8,4 +14,34 @@ import com.towork.candidature.entity.CandidatureMessage;
 
 public interface CandidatureMessageRepository extends JpaRepository<CandidatureMessage, Long> {
     List<CandidatureMessage> findByCandidatureOrderByCreatedAtAsc(Candidature candidature);
+
+    List<CandidatureMessage> findByCandidatureAndModerationStatusNotOrderByCreatedAtAsc(Candidature candidature,
+                                                                                        ModerationStatus status);
+
+    /** Visible messages posted after {@code afterId}, oldest first. */
+    List<CandidatureMessage> findByCandidatureAndModerationStatusNotAndIdGreaterThanOrderByIdAsc(
+            Candidature candidature, ModerationStatus status, Long afterId, Pageable pageable);
+
+    List<CandidatureMessage> findByCandidatureAndModerationStatusNotOrderByIdDesc(Candidature candidature,
+                                                                                 ModerationStatus status,
+                                                                                 Pageable pageable);
+
+    List<CandidatureMessage> findByModerationStatusOrderByCreatedAtAsc(ModerationStatus status, Pageable pageable);
+
+    /**
+     * Writes a moderation verdict onto a message that is still pending with the moderated content, touching only
+     * the moderation columns.
+     *
+     * @return 1 when applied, 0 when the message changed or was already moderated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CandidatureMessage m SET m.isFlagged = :flagged, m.flagScore = :score, m.flagLabel = :label, " +
+           "m.flagReason = :reason, m.moderationStatus = :status " +
+           "WHERE m.id = :id AND m.content = :content " +
+           "AND m.moderationStatus = com.towork.common.ModerationStatus.PENDING")
+    int applyModerationVerdict(@Param("id") Long id, @Param("content") String content,
+                               @Param("flagged") boolean flagged, @Param("score") Double score,
+                               @Param("label") String label, @Param("reason") String reason,
+                               @Param("status") ModerationStatus status);
 }
@@ -1,7 +1,7 @@
 package com.towork.candidature.service.impl;
 
-import com.towork.ai.dto.AiModerationResponse;
-import com.towork.ai.service.AiModerationService;
+import com.towork.ai.event.ModerationRequestedEvent;
+import com.towork.common.ModerationStatus;
 import com.towork.exception.BusinessException;
 import com.towork.exception.ResourceNotFoundException;
 import com.towork.mission.entity.Mission;
@@ -11,6 +11,7 @@ import com.towork.user.entity.Client;
 import com.towork.user.entity.Freelancer;
 import com.towork.user.repository.FreelancerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -35,7 +36,7 @@ public class CandidatureServiceImpl implements CandidatureService {
     private final FreelancerRepository freelancerRepository;
     private final MissionRepository missionRepository;
     private final CandidatureMessageRepository candidatureMessageRepository;
-    private final AiModerationService aiModerationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Candidature createCandidature(Candidature candidature) {
@@ -69,12 +70,9 @@ public class CandidatureServiceImpl implements CandidatureService {
             intro.setAuthor(CandidatureMessageAuthor.FREELANCER);
             intro.setContent(created.getCoverLetter().trim());
             intro.setResumeUrl(created.getResumeUrl());
-            AiModerationResponse moderation = aiModerationService.moderate(intro.getContent());
-            applyModeration(intro, moderation);
-            if (aiModerationService.shouldBlock(moderation)) {
-                throw new BusinessException("Cover letter flagged as unsafe");
-            }
-            candidatureMessageRepository.save(intro);
+            intro.setModerationStatus(ModerationStatus.PENDING);
+            CandidatureMessage savedIntro = candidatureMessageRepository.save(intro);
+            requestModeration(savedIntro);
         }
 
         return getCandidatureById(created.getId());
@@ -218,19 +216,18 @@ public class CandidatureServiceImpl implements CandidatureService {
         message.setAuthor(author);
         message.setContent(content.trim());
         message.setResumeUrl((resumeUrl != null && !resumeUrl.isBlank()) ? resumeUrl : null);
-        AiModerationResponse moderation = aiModerationService.moderate(message.getContent());
-        applyModeration(message, moderation);
-        if (aiModerationService.shouldBlock(moderation)) {
-            throw new BusinessException("Message content flagged as unsafe");
-        }
+        message.setModerationStatus(ModerationStatus.PENDING);
 
-        return candidatureMessageRepository.save(message);
+        CandidatureMessage saved = candidatureMessageRepository.save(message);
+        requestModeration(saved);
+        return saved;
     }
 
     @Override
     public List<CandidatureMessage> getMessages(Long candidatureId) {
         Candidature candidature = getCandidatureById(candidatureId);
-        return candidatureMessageRepository.findByCandidatureOrderByCreatedAtAsc(candidature);
+        return candidatureMessageRepository.findByCandidatureAndModerationStatusNotOrderByCreatedAtAsc(
+                candidature, ModerationStatus.BLOCKED);
     }
 
     private Freelancer resolveFreelancer(Candidature candidature) {
@@ -253,14 +250,11 @@ public class CandidatureServiceImpl implements CandidatureService {
                 .orElseThrow(() -> new ResourceNotFoundException("Mission not found with id: " + missionId));
     }
 
-    private void applyModeration(CandidatureMessage message, AiModerationResponse moderation) {
-        if (moderation == null) {
-            return;
+    private void requestModeration(CandidatureMessage message) {
+        if (message != null && message.getId() != null) {
+            eventPublisher.publishEvent(new ModerationRequestedEvent(
+                    ModerationRequestedEvent.Target.CANDIDATURE_MESSAGE, message.getId()));
         }
-        message.setIsFlagged(Boolean.TRUE.equals(moderation.getFlagged()));
-        message.setFlagScore(moderation.getScore());
-        message.setFlagLabel(moderation.getLabel());
-        message.setFlagReason(moderation.getReason());
     }
 }
 
@@ -0,0 +1,8 @@
+package com.towork.common;
+
+public enum ModerationStatus {
+    PENDING,
+    APPROVED,
+    FLAGGED,
+    BLOCKED
+}
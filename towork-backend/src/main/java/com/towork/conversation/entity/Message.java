@@ -1,6 +1,7 @@
 package com.towork.conversation.entity;
 
 import com.towork.common.BaseEntity;
+import com.towork.common.ModerationStatus;
 import com.towork.user.entity.Client;
 import com.towork.user.entity.Freelancer;
 import jakarta.persistence.*;
@@ -48,4 +49,8 @@ public class Message extends BaseEntity {
 
     @Column(name = "flag_reason", columnDefinition = "TEXT")
     private String flagReason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "moderation_status", nullable = false, length = 20)
+    private ModerationStatus moderationStatus = ModerationStatus.PENDING;
 }
@@ -1,13 +1,19 @@
 package com.towork.conversation.repository;
 
+import com.towork.common.ModerationStatus;
 import com.towork.user.entity.Client;
 import com.towork.user.entity.Freelancer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import com.towork.conversation.entity.Message;
 
 @Repository
@@ -19,12 +25,44 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
 
     List<Message> findBySenderAndReceiver(Client sender, Freelancer receiver);
 
-    @Query("SELECT m FROM Message m WHERE m.receiver = :receiver AND m.isRead = false")
+    Optional<Message> findByIdAndModerationStatusNot(Long id, ModerationStatus status);
+
+    Page<Message> findByModerationStatusNot(ModerationStatus status, Pageable pageable);
+
+    List<Message> findBySenderAndModerationStatusNot(Client sender, ModerationStatus status);
+
+    List<Message> findByReceiverAndModerationStatusNot(Freelancer receiver, ModerationStatus status);
+
+    List<Message> findBySenderAndReceiverAndModerationStatusNot(Client sender, Freelancer receiver, ModerationStatus status);
+
+    List<Message> findByModerationStatusOrderByCreatedAtAsc(ModerationStatus status, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.receiver = :receiver AND m.isRead = false " +
+           "AND m.moderationStatus <> com.towork.common.ModerationStatus.BLOCKED")
     List<Message> findUnreadMessagesByReceiver(@Param("receiver") Freelancer receiver);
 
-    @Query("SELECT m FROM Message m WHERE m.sender = :sender AND m.isRead = false")
+    @Query("SELECT m FROM Message m WHERE m.sender = :sender AND m.isRead = false " +
+           "AND m.moderationStatus <> com.towork.common.ModerationStatus.BLOCKED")
     List<Message> findUnreadMessagesBySender(@Param("sender") Client sender);
 
-    @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver = :receiver AND m.isRead = false")
+    @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver = :receiver AND m.isRead = false " +
+           "AND m.moderationStatus <> com.towork.common.ModerationStatus.BLOCKED")
     Long countUnreadMessagesByReceiver(@Param("receiver") Freelancer receiver);
+
+    /**
+     * Writes a moderation verdict onto a message that is still pending with the moderated content, touching only
+     * the moderation columns so a concurrent read receipt or edit is never overwritten.
+     *
+     * @return 1 when applied, 0 when the message changed or was already moderated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Message m SET m.isFlagged = :flagged, m.flagScore = :score, m.flagLabel = :label, " +
+           "m.flagReason = :reason, m.moderationStatus = :status " +
+           "WHERE m.id = :id AND m.content = :content " +
+           "AND m.moderationStatus = com.towork.common.ModerationStatus.PENDING")
+    int applyModerationVerdict(@Param("id") Long id, @Param("content") String content,
+                               @Param("flagged") boolean flagged, @Param("score") Double score,
+                               @Param("label") String label, @Param("reason") String reason,
+                               @Param("status") ModerationStatus status);
 }
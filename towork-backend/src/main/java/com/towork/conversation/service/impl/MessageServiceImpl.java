@@ -2,13 +2,14 @@ package com.towork.conversation.service.impl;
 
 import com.towork.exception.BusinessException;
 import com.towork.exception.ResourceNotFoundException;
-import com.towork.ai.dto.AiModerationResponse;
-import com.towork.ai.service.AiModerationService;
+import com.towork.ai.event.ModerationRequestedEvent;
+import com.towork.common.ModerationStatus;
 import com.towork.user.entity.Client;
 import com.towork.user.entity.Freelancer;
 import com.towork.user.repository.ClientRepository;
 import com.towork.user.repository.FreelancerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,7 +28,7 @@ public class MessageServiceImpl implements MessageService {
     private final MessageRepository messageRepository;
     private final ClientRepository clientRepository;
     private final FreelancerRepository freelancerRepository;
-    private final AiModerationService aiModerationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Message createMessage(Message message) {
@@ -43,21 +44,18 @@ public class MessageServiceImpl implements MessageService {
             throw new BusinessException("Message content cannot be empty");
         }
 
-        AiModerationResponse moderation = aiModerationService.moderate(message.getContent());
-        applyModeration(message, moderation);
-        if (aiModerationService.shouldBlock(moderation)) {
-            throw new BusinessException("Message content flagged as unsafe");
-        }
-
-        // Business Logic: Set initial status
+        // Business Logic: Set initial status; moderation runs after commit
         message.setIsRead(false);
-        
-        return messageRepository.save(message);
+        message.setModerationStatus(ModerationStatus.PENDING);
+
+        Message saved = messageRepository.save(message);
+        requestModeration(saved);
+        return saved;
     }
 
     @Override
     public Message updateMessage(Long id, Message message) {
-        Message existingMessage = getMessageById(id);
+        Message existingMessage = findMessage(id);
         
         // Business Logic: Only allow updates if message is not read
         if (existingMessage.getIsRead()) {
@@ -67,19 +65,21 @@ public class MessageServiceImpl implements MessageService {
         existingMessage.setSubject(message.getSubject());
         existingMessage.setContent(message.getContent());
         existingMessage.setMessageType(message.getMessageType());
-
-        AiModerationResponse moderation = aiModerationService.moderate(existingMessage.getContent());
-        applyModeration(existingMessage, moderation);
-        if (aiModerationService.shouldBlock(moderation)) {
-            throw new BusinessException("Message content flagged as unsafe");
-        }
-        
-        return messageRepository.save(existingMessage);
+        // the verdict on the previous content no longer applies
+        existingMessage.setModerationStatus(ModerationStatus.PENDING);
+        existingMessage.setIsFlagged(false);
+        existingMessage.setFlagScore(null);
+        existingMessage.setFlagLabel(null);
+        existingMessage.setFlagReason(null);
+
+        Message saved = messageRepository.save(existingMessage);
+        requestModeration(saved);
+        return saved;
     }
 
     @Override
     public void deleteMessage(Long id) {
-        Message message = getMessageById(id);
+        Message message = findMessage(id);
         
         // Business Logic: Soft delete - mark as inactive
         message.setIsActive(false);
@@ -88,7 +88,7 @@ public class MessageServiceImpl implements MessageService {
 
     @Override
     public Message getMessageById(Long id) {
-        return messageRepository.findById(id)
+        return messageRepository.findByIdAndModerationStatusNot(id, ModerationStatus.BLOCKED)
                 .orElseThrow(() -> new ResourceNotFoundException("Message not found with id: " + id));
     }
 
@@ -96,14 +96,14 @@ public class MessageServiceImpl implements MessageService {
     public List<Message> getMessagesBySender(Long senderId) {
         Client sender = clientRepository.findById(senderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Sender not found with id: " + senderId));
-        return messageRepository.findBySender(sender);
+        return messageRepository.findBySenderAndModerationStatusNot(sender, ModerationStatus.BLOCKED);
     }
 
     @Override
     public List<Message> getMessagesByReceiver(Long receiverId) {
         Freelancer receiver = freelancerRepository.findById(receiverId)
                 .orElseThrow(() -> new ResourceNotFoundException("Receiver not found with id: " + receiverId));
-        return messageRepository.findByReceiver(receiver);
+        return messageRepository.findByReceiverAndModerationStatusNot(receiver, ModerationStatus.BLOCKED);
     }
 
     @Override
@@ -114,17 +114,17 @@ public class MessageServiceImpl implements MessageService {
         Freelancer receiver = freelancerRepository.findById(receiverId)
                 .orElseThrow(() -> new ResourceNotFoundException("Receiver not found with id: " + receiverId));
         
-        return messageRepository.findBySenderAndReceiver(sender, receiver);
+        return messageRepository.findBySenderAndReceiverAndModerationStatusNot(sender, receiver, ModerationStatus.BLOCKED);
     }
 
     @Override
     public Page<Message> getAllMessages(Pageable pageable) {
-        return messageRepository.findAll(pageable);
+        return messageRepository.findByModerationStatusNot(ModerationStatus.BLOCKED, pageable);
     }
 
     @Override
     public Message markAsRead(Long id) {
-        Message message = getMessageById(id);
+        Message message = findMessage(id);
         
         // Business Logic: Only mark as read if not already read
         if (message.getIsRead()) {
@@ -149,14 +149,16 @@ public class MessageServiceImpl implements MessageService {
         return messageRepository.countUnreadMessagesByReceiver(receiver);
     }
 
-    private void applyModeration(Message message, AiModerationResponse moderation) {
-        if (moderation == null) {
-            return;
+    // writes still reach blocked messages so the author can edit or delete them
+    private Message findMessage(Long id) {
+        return messageRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Message not found with id: " + id));
+    }
+
+    private void requestModeration(Message message) {
+        if (message != null && message.getId() != null) {
+            eventPublisher.publishEvent(new ModerationRequestedEvent(ModerationRequestedEvent.Target.MESSAGE, message.getId()));
         }
-        message.setIsFlagged(Boolean.TRUE.equals(moderation.getFlagged()));
-        message.setFlagScore(moderation.getScore());
-        message.setFlagLabel(moderation.getLabel());
-        message.setFlagReason(moderation.getReason());
     }
 }
 
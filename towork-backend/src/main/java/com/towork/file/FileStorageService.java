@@ -5,10 +5,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Service
@@ -18,6 +23,13 @@ public class FileStorageService {
     private String uploadDir;
 
     public String storeFile(MultipartFile file) throws IOException {
+        return storeFileWithHash(file).getFileName();
+    }
+
+    /**
+     * Stores the upload and computes its SHA-256 in the same pass over the stream.
+     */
+    public StoredFile storeFileWithHash(MultipartFile file) throws IOException {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
         }
@@ -32,9 +44,12 @@ public class FileStorageService {
         }
 
         Path filePath = uploadPath.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        MessageDigest digest = sha256();
+        try (InputStream input = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(input, filePath, StandardCopyOption.REPLACE_EXISTING);
+        }
 
-        return fileName;
+        return new StoredFile(fileName, HexFormat.of().formatHex(digest.digest()));
     }
 
     public byte[] loadFileAsBytes(String fileName) throws IOException {
@@ -42,6 +57,10 @@ public class FileStorageService {
         return Files.readAllBytes(filePath);
     }
 
+    public Path resolveFile(String fileName) {
+        return Paths.get(uploadDir).resolve(fileName);
+    }
+
     public void deleteFile(String fileName) throws IOException {
         Path filePath = Paths.get(uploadDir).resolve(fileName);
         Files.deleteIfExists(filePath);
@@ -51,4 +70,12 @@ public class FileStorageService {
         Path filePath = Paths.get(uploadDir).resolve(fileName);
         return Files.exists(filePath);
     }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
 }
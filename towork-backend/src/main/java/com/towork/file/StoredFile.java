@@ -0,0 +1,11 @@
+package com.towork.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StoredFile {
+    private String fileName;
+    private String sha256; // hex digest of the stored bytes
+}
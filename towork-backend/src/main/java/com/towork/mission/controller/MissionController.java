@@ -1,9 +1,8 @@
 package com.towork.mission.controller;
 
-import com.towork.ai.dto.AiFreelancerMatchDto;
-import com.towork.ai.dto.AiSummaryResponse;
-import com.towork.ai.service.AiFeatureService;
-import com.towork.ai.service.AiMatchingService;
+import com.towork.ai.service.MissionFeedService;
+import com.towork.ai.service.MissionRecommendationService;
+import com.towork.ai.service.MissionSummaryService;
 import com.towork.config.MessageResponse;
 import com.towork.exception.ResourceNotFoundException;
 import com.towork.candidature.entity.Candidature;
@@ -24,6 +23,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import com.towork.mission.dto.MissionResponse;
 import com.towork.mission.entity.Mission;
 import com.towork.mission.entity.MissionStatus;
@@ -41,8 +41,9 @@ public class MissionController {
     private final ClientRepository clientRepository;
     private final CandidatureService candidatureService;
     private final FreelancerRepository freelancerRepository;
-    private final AiMatchingService aiMatchingService;
-    private final AiFeatureService aiFeatureService;
+    private final MissionRecommendationService missionRecommendationService;
+    private final MissionFeedService missionFeedService;
+    private final MissionSummaryService missionSummaryService;
 
     @PostMapping("/{id}/complete")
     @PreAuthorize("hasRole('FREELANCER')")
@@ -117,6 +118,16 @@ public class MissionController {
         return ResponseEntity.ok(MessageResponse.success("Missions retrieved successfully", dto));
     }
 
+    // Published missions ranked against the calling freelancer's profile and competences
+    @GetMapping("/feed")
+    @PreAuthorize("hasRole('FREELANCER')")
+    public ResponseEntity<MessageResponse> getMissionFeed(Pageable pageable, Authentication authentication) {
+        Freelancer freelancer = freelancerRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("Freelancer not found"));
+        Page<MissionResponse> feed = missionFeedService.feed(freelancer, pageable).map(MissionMapper::toDto);
+        return ResponseEntity.ok(MessageResponse.success("Mission feed retrieved successfully", feed));
+    }
+
     // ===== Existing endpoints (keep them) =====
 
     @GetMapping("/{id}")
@@ -127,24 +138,18 @@ public class MissionController {
     }
 
     @GetMapping("/{id}/recommendations")
-    public ResponseEntity<MessageResponse> getMissionRecommendations(@PathVariable Long id,
-                                                                     @RequestParam(required = false) Integer limit) {
-        List<AiFreelancerMatchDto> matches = aiMatchingService.recommendFreelancers(id, limit);
-        return ResponseEntity.ok(MessageResponse.success("Recommendations generated", matches));
+    public CompletableFuture<ResponseEntity<MessageResponse>> getMissionRecommendations(@PathVariable Long id,
+                                                                                        @RequestParam(required = false) Integer limit) {
+        return missionRecommendationService.recommend(id, limit)
+                .thenApply(matches -> ResponseEntity.ok(MessageResponse.success("Recommendations generated", matches)));
     }
 
     @GetMapping("/{id}/summary")
-    public ResponseEntity<MessageResponse> getMissionSummary(@PathVariable Long id,
-                                                             @RequestParam(required = false) String language) {
+    public CompletableFuture<ResponseEntity<MessageResponse>> getMissionSummary(@PathVariable Long id,
+                                                                                @RequestParam(required = false) String language) {
         Mission mission = missionService.getMissionById(id);
-        AiSummaryResponse summary = aiFeatureService.summarizeMission(
-                mission.getTitle(),
-                mission.getDescription(),
-                mission.getRequirements(),
-                mission.getStatus() != null ? mission.getStatus().name() : null,
-                language
-        );
-        return ResponseEntity.ok(MessageResponse.success("Mission summary generated", summary));
+        return missionSummaryService.summarize(mission, language)
+                .thenApply(summary -> ResponseEntity.ok(MessageResponse.success("Mission summary generated", summary)));
     }
 
     @GetMapping
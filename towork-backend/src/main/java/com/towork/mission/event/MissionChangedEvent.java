@@ -0,0 +1,14 @@
+package com.towork.mission.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published after a mission is created, edited, deleted or changes status,
+ * so derived read models (recommendations, summaries) can refresh that mission.
+ */
+@Getter
+@RequiredArgsConstructor
+public class MissionChangedEvent {
+    private final Long missionId;
+}
@@ -3,6 +3,8 @@ package com.towork.mission.repository;
 import com.towork.user.entity.Client;
 import com.towork.user.entity.Domaine;
 import com.towork.user.entity.Freelancer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -42,6 +44,8 @@ public interface MissionRepository extends JpaRepository<Mission, Long> {
     @Query("SELECT m FROM Mission m WHERE m.status = 'PUBLISHED' ORDER BY m.createdAt DESC")
     List<Mission> findPublishedMissionsOrderByCreatedAt();
 
+    Page<Mission> findByStatusAndIsActiveTrueOrderByCreatedAtDesc(MissionStatus status, Pageable pageable);
+
     @Query("SELECT COUNT(m) FROM Mission m WHERE m.client = :client AND m.status = :status")
     Long countByClientAndStatus(@Param("client") Client client, @Param("status") MissionStatus status);
 
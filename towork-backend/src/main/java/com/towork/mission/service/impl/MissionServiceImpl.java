@@ -13,6 +13,7 @@ import com.towork.user.repository.ClientRepository;
 import com.towork.user.repository.DomaineRepository;
 import com.towork.wallet.service.PaymentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +25,7 @@ import com.towork.mission.entity.Mission;
 import com.towork.mission.entity.MissionStatus;
 import com.towork.mission.entity.NiveauExperience;
 import com.towork.mission.entity.TypeTravail;
+import com.towork.mission.event.MissionChangedEvent;
 import com.towork.mission.repository.MissionRepository;
 import com.towork.mission.service.MissionService;
 
@@ -38,6 +40,7 @@ public class MissionServiceImpl implements MissionService {
     private final CandidatureRepository candidatureRepository; // 👈 AJOUT ICI
     private final MilestoneRepository milestoneRepository; // 👈 AJOUT ICI
     private final PaymentService paymentService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -76,7 +79,7 @@ public class MissionServiceImpl implements MissionService {
 
         mission.setStatus(MissionStatus.PUBLISHED);
         
-        return missionRepository.save(mission);
+        return saveAndPublish(mission);
     }
 
     @Override
@@ -104,7 +107,7 @@ public class MissionServiceImpl implements MissionService {
         existingMission.setIsUrgent(mission.getIsUrgent());
         existingMission.setAttachments(mission.getAttachments());
         
-        return missionRepository.save(existingMission);
+        return saveAndPublish(existingMission);
     }
 
     @Override
@@ -119,6 +122,7 @@ public class MissionServiceImpl implements MissionService {
         milestoneRepository.deleteAllByMission(mission);
         mission.setIsActive(false);
         missionRepository.save(mission);
+        eventPublisher.publishEvent(new MissionChangedEvent(id));
     }
 
     @Override
@@ -188,7 +192,7 @@ public class MissionServiceImpl implements MissionService {
         }
 
         mission.setStatus(status);
-        return missionRepository.save(mission);
+        return saveAndPublish(mission);
     }
 
     @Override
@@ -225,7 +229,7 @@ public class MissionServiceImpl implements MissionService {
         }
 
         mission.setStatus(MissionStatus.PENDING_CLOSURE);
-        return missionRepository.save(mission);
+        return saveAndPublish(mission);
     }
 
     @Override
@@ -270,7 +274,7 @@ public class MissionServiceImpl implements MissionService {
         }
 
         mission.setStatus(MissionStatus.COMPLETED);
-        return missionRepository.save(mission);
+        return saveAndPublish(mission);
     }
 
     @Override
@@ -280,6 +284,12 @@ public class MissionServiceImpl implements MissionService {
         return missionRepository.findAll();
     }
 
+    private Mission saveAndPublish(Mission mission) {
+        Mission saved = missionRepository.save(mission);
+        eventPublisher.publishEvent(new MissionChangedEvent(saved.getId()));
+        return saved;
+    }
+
     private void ensureFreelancerAccess(Mission mission, UserDetails currentUser) {
         if (currentUser == null || currentUser.getUsername() == null) {
             throw new ForbiddenActionException("Authenticated freelancer is required");
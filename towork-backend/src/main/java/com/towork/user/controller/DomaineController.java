@@ -54,8 +54,7 @@ public class DomaineController {
 
     @PostMapping("/suggest")
     public ResponseEntity<MessageResponse> suggestDomaines(@RequestBody AiDomainSuggestionRequest request) {
-        List<Domaine> domaines = domaineService.getActiveDomaines();
-        List<AiDomainSuggestion> suggestions = aiFeatureService.suggestDomaines(request, domaines);
+        List<AiDomainSuggestion> suggestions = aiFeatureService.suggestDomaines(request);
         return ResponseEntity.ok(MessageResponse.success("Domain suggestions generated", suggestions));
     }
 
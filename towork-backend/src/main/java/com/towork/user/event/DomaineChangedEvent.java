@@ -0,0 +1,14 @@
+package com.towork.user.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published after a domaine is created, updated, activated or deactivated,
+ * so the in-memory domain suggestion index can be rebuilt.
+ */
+@Getter
+@RequiredArgsConstructor
+public class DomaineChangedEvent {
+    private final Long domaineId;
+}
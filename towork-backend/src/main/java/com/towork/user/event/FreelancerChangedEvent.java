@@ -0,0 +1,14 @@
+package com.towork.user.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published after a freelancer profile or one of its competences is written,
+ * so in-memory read models can refresh that freelancer.
+ */
+@Getter
+@RequiredArgsConstructor
+public class FreelancerChangedEvent {
+    private final Long freelancerId;
+}
@@ -0,0 +1,14 @@
+package com.towork.user.repository;
+
+import com.towork.user.entity.Competence;
+
+import java.util.List;
+
+public interface CompetenceBatchRepository {
+
+    /**
+     * Inserts the competences for one freelancer in a single JDBC batch, skipping names the freelancer
+     * already has (case-insensitive). Returns the number of rows actually inserted.
+     */
+    int insertIgnoringDuplicates(Long freelancerId, List<Competence> competences);
+}
@@ -0,0 +1,42 @@
+package com.towork.user.repository;
+
+import com.towork.user.entity.Competence;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CompetenceBatchRepositoryImpl implements CompetenceBatchRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO competences (created_at, updated_at, is_active, freelancer_id, name, level,
+                                     years_of_experience, is_certified, certification_name)
+            VALUES (NOW(), NOW(), TRUE, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertIgnoringDuplicates(Long freelancerId, List<Competence> competences) {
+        if (competences == null || competences.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(competences.size());
+        for (Competence competence : competences) {
+            rows.add(new Object[]{freelancerId, competence.getName(), competence.getLevel(),
+                    competence.getYearsOfExperience(), Boolean.TRUE.equals(competence.getIsCertified()),
+                    competence.getCertificationName()});
+        }
+        int inserted = 0;
+        for (int count : jdbcTemplate.batchUpdate(INSERT_SQL, rows)) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+}
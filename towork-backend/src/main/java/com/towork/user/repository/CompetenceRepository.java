@@ -7,10 +7,11 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface CompetenceRepository extends JpaRepository<Competence, Long> {
+public interface CompetenceRepository extends JpaRepository<Competence, Long>, CompetenceBatchRepository {
 
     List<Competence> findByFreelancer(Freelancer freelancer);
 
@@ -26,6 +27,15 @@ public interface CompetenceRepository extends JpaRepository<Competence, Long> {
     @Query("SELECT c FROM Competence c WHERE c.name = :name AND c.freelancer = :freelancer")
     List<Competence> findByNameAndFreelancer(@Param("name") String name, @Param("freelancer") Freelancer freelancer);
 
+    @Query("SELECT LOWER(c.name) FROM Competence c WHERE c.freelancer.id = :freelancerId AND c.isActive = true")
+    List<String> findActiveLowerNamesByFreelancerId(@Param("freelancerId") Long freelancerId);
+
     @Query("SELECT DISTINCT c.name FROM Competence c WHERE c.isActive = true")
     List<String> findDistinctCompetenceNames();
+
+    @Query("SELECT c.freelancer.id, c.name FROM Competence c WHERE c.isActive = true")
+    List<Object[]> findActiveFreelancerCompetenceNames();
+
+    @Query("SELECT c.freelancer.id, c.name FROM Competence c WHERE c.isActive = true AND c.freelancer.id IN :freelancerIds")
+    List<Object[]> findActiveCompetenceNamesByFreelancerIds(@Param("freelancerIds") Collection<Long> freelancerIds);
 }
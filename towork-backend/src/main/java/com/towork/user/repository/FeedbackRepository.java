@@ -27,4 +27,7 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     Double findAverageRatingByTargetUserIdAndDirection(Long targetUserId, FeedbackDirection direction);
 
     Long countByTargetUserIdAndDirection(Long targetUserId, FeedbackDirection direction);
+
+    @Query("SELECT f.targetUserId, AVG(f.rating), COUNT(f) FROM Feedback f WHERE f.direction = :direction GROUP BY f.targetUserId")
+    List<Object[]> findRatingAggregatesByDirection(FeedbackDirection direction);
 }
@@ -2,6 +2,7 @@ package com.towork.user.repository;
 
 import com.towork.user.entity.Freelancer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,7 +12,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FreelancerRepository extends JpaRepository<Freelancer, Long> {
+public interface FreelancerRepository extends JpaRepository<Freelancer, Long>, JpaSpecificationExecutor<Freelancer> {
 
     Optional<Freelancer> findByEmail(String email);
 
@@ -0,0 +1,66 @@
+package com.towork.user.repository;
+
+import com.towork.user.entity.Client;
+import com.towork.user.entity.Freelancer;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Reusable {@link Specification} predicates over {@link Freelancer}, combined by callers and evaluated in SQL.
+ * A freelancer who left a field blank (rate, country) is never excluded by the corresponding predicate.
+ */
+public final class FreelancerSpecifications {
+
+    private FreelancerSpecifications() {
+    }
+
+    /** Same pool as {@link FreelancerRepository#findActiveAvailableFreelancers()}. */
+    public static Specification<Freelancer> activeAvailable() {
+        return (root, query, cb) -> cb.and(
+                cb.isTrue(root.get("isActive")),
+                cb.isTrue(root.get("isVerified")),
+                cb.isTrue(root.get("isAvailable")));
+    }
+
+    public static Specification<Freelancer> hourlyRateAtMost(BigDecimal max) {
+        return (root, query, cb) -> cb.or(
+                cb.isNull(root.get("hourlyRate")),
+                cb.lessThanOrEqualTo(root.get("hourlyRate"), max));
+    }
+
+    public static Specification<Freelancer> dailyRateAtMost(BigDecimal max) {
+        return (root, query, cb) -> cb.or(
+                cb.isNull(root.get("dailyRate")),
+                cb.lessThanOrEqualTo(root.get("dailyRate"), max));
+    }
+
+    public static Specification<Freelancer> ratingAtLeast(BigDecimal min) {
+        return (root, query, cb) -> cb.or(
+                cb.isNull(root.get("rating")),
+                cb.greaterThanOrEqualTo(root.get("rating"), min));
+    }
+
+    /**
+     * Freelancers in the client's country, resolved with a subquery so the client row is never loaded;
+     * passes everyone when the client has no country.
+     */
+    public static Specification<Freelancer> sameCountryAsClient(Long clientId) {
+        return (root, query, cb) -> {
+            Subquery<String> clientCountry = query.subquery(String.class);
+            Root<Client> client = clientCountry.from(Client.class);
+            clientCountry.select(cb.lower(client.get("country"))).where(cb.equal(client.get("id"), clientId));
+            return cb.or(
+                    cb.isNull(root.get("country")),
+                    cb.equal(cb.lower(root.get("country")),
+                            cb.coalesce(clientCountry, cb.lower(root.get("country")))));
+        };
+    }
+
+    public static Specification<Freelancer> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+}
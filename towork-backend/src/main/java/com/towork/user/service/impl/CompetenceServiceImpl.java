@@ -1,11 +1,16 @@
 package com.towork.user.service.impl;
 
+import com.towork.exception.ConflictException;
 import com.towork.exception.ResourceNotFoundException;
 import com.towork.user.entity.Competence;
+import com.towork.user.entity.Freelancer;
 import com.towork.user.dto.CompetenceDto;
+import com.towork.user.event.FreelancerChangedEvent;
 import com.towork.user.repository.CompetenceRepository;
 import com.towork.user.service.CompetenceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,10 +23,15 @@ import java.util.List;
 public class CompetenceServiceImpl implements CompetenceService {
 
     private final CompetenceRepository competenceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Competence createCompetence(Competence competence) {
-        return competenceRepository.save(competence);
+        try {
+            return saveAndPublish(competence);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("Competence already exists for this freelancer: " + competence.getName());
+        }
     }
 
     @Override
@@ -29,14 +39,21 @@ public class CompetenceServiceImpl implements CompetenceService {
         Competence existingCompetence = getCompetenceById(id);
         competence.setId(existingCompetence.getId());
         competence.setCreatedAt(existingCompetence.getCreatedAt());
-        return competenceRepository.save(competence);
+        Competence saved;
+        try {
+            saved = competenceRepository.save(competence);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("Competence already exists for this freelancer: " + competence.getName());
+        }
+        publishChange(existingCompetence.getFreelancer());
+        return saved;
     }
 
     @Override
     public void deleteCompetence(Long id) {
         Competence competence = getCompetenceById(id);
         competence.setIsActive(false);
-        competenceRepository.save(competence);
+        saveAndPublish(competence);
     }
 
     @Override
@@ -120,4 +137,16 @@ public class CompetenceServiceImpl implements CompetenceService {
         competence.setCertificationDate(LocalDate.now());
         return competenceRepository.save(competence);
     }
+
+    private Competence saveAndPublish(Competence competence) {
+        Competence saved = competenceRepository.save(competence);
+        publishChange(saved.getFreelancer());
+        return saved;
+    }
+
+    private void publishChange(Freelancer freelancer) {
+        if (freelancer != null && freelancer.getId() != null) {
+            eventPublisher.publishEvent(new FreelancerChangedEvent(freelancer.getId()));
+        }
+    }
 }
@@ -3,9 +3,11 @@ package com.towork.user.service.impl;
 import com.towork.exception.ResourceNotFoundException;
 import com.towork.user.entity.Domaine;
 import com.towork.user.dto.DomaineDto;
+import com.towork.user.event.DomaineChangedEvent;
 import com.towork.user.repository.DomaineRepository;
 import com.towork.user.service.DomaineService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,10 +19,11 @@ import java.util.List;
 public class DomaineServiceImpl implements DomaineService {
 
     private final DomaineRepository domaineRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Domaine createDomaine(Domaine domaine) {
-        return domaineRepository.save(domaine);
+        return publishChange(domaineRepository.save(domaine));
     }
 
     @Override
@@ -28,14 +31,14 @@ public class DomaineServiceImpl implements DomaineService {
         Domaine existingDomaine = getDomaineById(id);
         domaine.setId(existingDomaine.getId());
         domaine.setCreatedAt(existingDomaine.getCreatedAt());
-        return domaineRepository.save(domaine);
+        return publishChange(domaineRepository.save(domaine));
     }
 
     @Override
     public void deleteDomaine(Long id) {
         Domaine domaine = getDomaineById(id);
         domaine.setIsActive(false);
-        domaineRepository.save(domaine);
+        publishChange(domaineRepository.save(domaine));
     }
 
     @Override
@@ -100,13 +103,20 @@ public class DomaineServiceImpl implements DomaineService {
     public Domaine activateDomaine(Long id) {
         Domaine domaine = getDomaineById(id);
         domaine.setIsActive(true);
-        return domaineRepository.save(domaine);
+        return publishChange(domaineRepository.save(domaine));
     }
 
     @Override
     public Domaine deactivateDomaine(Long id) {
         Domaine domaine = getDomaineById(id);
         domaine.setIsActive(false);
-        return domaineRepository.save(domaine);
+        return publishChange(domaineRepository.save(domaine));
+    }
+
+    private Domaine publishChange(Domaine domaine) {
+        if (domaine != null) {
+            eventPublisher.publishEvent(new DomaineChangedEvent(domaine.getId()));
+        }
+        return domaine;
     }
 }
@@ -15,11 +15,13 @@ import com.towork.user.entity.Client;
 import com.towork.user.entity.Feedback;
 import com.towork.user.entity.FeedbackDirection;
 import com.towork.user.entity.Freelancer;
+import com.towork.user.event.FreelancerChangedEvent;
 import com.towork.user.repository.ClientRepository;
 import com.towork.user.repository.FeedbackRepository;
 import com.towork.user.repository.FreelancerRepository;
 import com.towork.user.service.FeedbackService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -37,6 +39,7 @@ public class FeedbackServiceImpl implements FeedbackService {
     private final MissionRepository missionRepository;
     private final ClientRepository clientRepository;
     private final FreelancerRepository freelancerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public FeedbackResponse createFeedback(Long missionId, CreateFeedbackRequest request, UserDetails currentUser) {
@@ -79,6 +82,9 @@ public class FeedbackServiceImpl implements FeedbackService {
         feedback.setComment(trimComment(request.getComment()));
 
         Feedback saved = feedbackRepository.save(feedback);
+        if (direction == FeedbackDirection.CLIENT_TO_FREELANCER) {
+            eventPublisher.publishEvent(new FreelancerChangedEvent(saved.getTargetUserId()));
+        }
         return toResponse(saved);
     }
 
@@ -3,9 +3,11 @@ package com.towork.user.service.impl;
 import com.towork.exception.ResourceNotFoundException;
 import com.towork.user.entity.Freelancer;
 import com.towork.user.dto.FreelancerDto;
+import com.towork.user.event.FreelancerChangedEvent;
 import com.towork.user.repository.FreelancerRepository;
 import com.towork.user.service.FreelancerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,10 +24,11 @@ import java.util.stream.Collectors;
 public class FreelancerServiceImpl implements FreelancerService {
 
     private final FreelancerRepository freelancerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Freelancer createFreelancer(Freelancer freelancer) {
-        return freelancerRepository.save(freelancer);
+        return saveAndPublish(freelancer);
     }
 
     @Override
@@ -33,14 +36,14 @@ public class FreelancerServiceImpl implements FreelancerService {
         Freelancer existingFreelancer = getFreelancerById(id);
         freelancer.setId(existingFreelancer.getId());
         freelancer.setCreatedAt(existingFreelancer.getCreatedAt());
-        return freelancerRepository.save(freelancer);
+        return saveAndPublish(freelancer);
     }
 
     @Override
     public void deleteFreelancer(Long id) {
         Freelancer freelancer = getFreelancerById(id);
         freelancerRepository.deleteById(id);
-        
+        eventPublisher.publishEvent(new FreelancerChangedEvent(id));
     }
 
     @Override
@@ -156,7 +159,7 @@ public class FreelancerServiceImpl implements FreelancerService {
     public Freelancer verifyFreelancer(Long id) {
         Freelancer freelancer = getFreelancerById(id);
         freelancer.setIsVerified(true);
-        return freelancerRepository.save(freelancer);
+        return saveAndPublish(freelancer);
     }
 
     @Override
@@ -187,14 +190,20 @@ public class FreelancerServiceImpl implements FreelancerService {
         if (freelancer.getIsAvailable() != null) {
             existingFreelancer.setIsAvailable(freelancer.getIsAvailable());
         }
-        return freelancerRepository.save(existingFreelancer);
+        return saveAndPublish(existingFreelancer);
     }
 
     @Override
     public Freelancer updateAvailability(Long id, Boolean isAvailable) {
         Freelancer freelancer = getFreelancerById(id);
         freelancer.setIsAvailable(isAvailable);
-        return freelancerRepository.save(freelancer);
+        return saveAndPublish(freelancer);
+    }
+
+    private Freelancer saveAndPublish(Freelancer freelancer) {
+        Freelancer saved = freelancerRepository.save(freelancer);
+        eventPublisher.publishEvent(new FreelancerChangedEvent(saved.getId()));
+        return saved;
     }
 
     private List<String> parseSkills(String raw) {
@@ -0,0 +1,30 @@
+-- Persisted embeddings for semantic matching (float32 little-endian vectors)
+CREATE TABLE IF NOT EXISTS freelancer_embeddings (
+    id BIGSERIAL PRIMARY KEY,
+    freelancer_id BIGINT NOT NULL,
+    model VARCHAR(100) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    dimensions INTEGER NOT NULL,
+    vector BYTEA NOT NULL,
+    created_at TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_freelancer_embeddings_freelancer UNIQUE (freelancer_id),
+    CONSTRAINT fk_freelancer_embeddings_freelancer FOREIGN KEY (freelancer_id) REFERENCES freelancers(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_freelancer_embeddings_model ON freelancer_embeddings (model);
+
+CREATE TABLE IF NOT EXISTS mission_embeddings (
+    id BIGSERIAL PRIMARY KEY,
+    mission_id BIGINT NOT NULL,
+    model VARCHAR(100) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    dimensions INTEGER NOT NULL,
+    vector BYTEA NOT NULL,
+    created_at TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_mission_embeddings_mission UNIQUE (mission_id),
+    CONSTRAINT fk_mission_embeddings_mission FOREIGN KEY (mission_id) REFERENCES missions(id) ON DELETE CASCADE
+);
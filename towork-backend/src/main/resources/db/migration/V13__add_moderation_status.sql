@@ -0,0 +1,11 @@
+-- Messages are saved first and moderated asynchronously; existing rows were moderated inline
+ALTER TABLE IF EXISTS messages
+    ADD COLUMN IF NOT EXISTS moderation_status VARCHAR(20) NOT NULL DEFAULT 'APPROVED';
+
+ALTER TABLE IF EXISTS candidature_messages
+    ADD COLUMN IF NOT EXISTS moderation_status VARCHAR(20) NOT NULL DEFAULT 'APPROVED';
+
+CREATE INDEX IF NOT EXISTS idx_messages_moderation_pending
+    ON messages (created_at) WHERE moderation_status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_candidature_messages_moderation_pending
+    ON candidature_messages (created_at) WHERE moderation_status = 'PENDING';
@@ -0,0 +1,21 @@
+-- Background AI jobs (resume extraction), polled through GET /ai/jobs/{id}
+CREATE TABLE IF NOT EXISTS ai_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(40) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    progress INTEGER NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    freelancer_id BIGINT,
+    file_key VARCHAR(255),
+    language VARCHAR(10),
+    result TEXT,
+    error TEXT,
+    started_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    finished_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    created_at TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT fk_ai_jobs_freelancer FOREIGN KEY (freelancer_id) REFERENCES freelancers(id) ON DELETE SET NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_ai_jobs_status_created ON ai_jobs (status, created_at);
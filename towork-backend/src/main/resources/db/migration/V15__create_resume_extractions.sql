@@ -0,0 +1,14 @@
+-- Resume extraction results keyed by SHA-256 of the uploaded file, so re-uploads skip parsing and the model
+CREATE TABLE IF NOT EXISTS resume_extractions (
+    id BIGSERIAL PRIMARY KEY,
+    content_hash VARCHAR(64) NOT NULL,
+    language VARCHAR(10) NOT NULL,
+    summary TEXT,
+    skills TEXT NOT NULL,
+    created_at TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_resume_extractions_hash_language UNIQUE (content_hash, language)
+);
+
+ALTER TABLE ai_jobs ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
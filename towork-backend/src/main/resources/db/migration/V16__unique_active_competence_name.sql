@@ -0,0 +1,13 @@
+-- One active competence per freelancer and case-insensitive name; enables INSERT ... ON CONFLICT DO NOTHING
+UPDATE competences c
+SET is_active = FALSE
+FROM competences keep
+WHERE c.is_active = TRUE
+  AND keep.is_active = TRUE
+  AND c.freelancer_id = keep.freelancer_id
+  AND LOWER(c.name) = LOWER(keep.name)
+  AND c.id > keep.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_competences_freelancer_lower_name
+    ON competences (freelancer_id, LOWER(name))
+    WHERE is_active = TRUE;
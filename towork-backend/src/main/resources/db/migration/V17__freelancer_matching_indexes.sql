@@ -0,0 +1,12 @@
+-- Partial composite indexes for the matching hard-constraint prefilter (active, verified, available pool)
+CREATE INDEX IF NOT EXISTS idx_freelancers_matching_hourly_rate
+    ON freelancers (hourly_rate, rating)
+    WHERE is_active = TRUE AND is_verified = TRUE AND is_available = TRUE;
+
+CREATE INDEX IF NOT EXISTS idx_freelancers_matching_daily_rate
+    ON freelancers (daily_rate, rating)
+    WHERE is_active = TRUE AND is_verified = TRUE AND is_available = TRUE;
+
+CREATE INDEX IF NOT EXISTS idx_freelancers_matching_country
+    ON freelancers (LOWER(country), rating)
+    WHERE is_active = TRUE AND is_verified = TRUE AND is_available = TRUE;
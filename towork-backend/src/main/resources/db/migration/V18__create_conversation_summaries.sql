@@ -0,0 +1,15 @@
+-- Rolling conversation summary per candidature; last_message_id marks the newest message it covers, so only
+-- later messages are sent to the model on the next request
+CREATE TABLE IF NOT EXISTS conversation_summaries (
+    id BIGSERIAL PRIMARY KEY,
+    candidature_id BIGINT NOT NULL,
+    language VARCHAR(10) NOT NULL,
+    summary TEXT NOT NULL,
+    next_steps TEXT NOT NULL,
+    last_message_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_conversation_summaries_candidature UNIQUE (candidature_id),
+    CONSTRAINT fk_conversation_summaries_candidature FOREIGN KEY (candidature_id) REFERENCES candidatures(id) ON DELETE CASCADE
+);
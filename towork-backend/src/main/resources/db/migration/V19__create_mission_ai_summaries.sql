@@ -0,0 +1,15 @@
+-- Generated mission summaries per language; content_hash covers the summarized fields, so an edited mission
+-- is regenerated instead of served stale
+CREATE TABLE IF NOT EXISTS mission_ai_summaries (
+    id BIGSERIAL PRIMARY KEY,
+    mission_id BIGINT NOT NULL,
+    language VARCHAR(10) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    summary TEXT NOT NULL,
+    next_steps TEXT NOT NULL,
+    created_at TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP(6) WITHOUT TIME ZONE,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_mission_ai_summaries_mission_language UNIQUE (mission_id, language),
+    CONSTRAINT fk_mission_ai_summaries_mission FOREIGN KEY (mission_id) REFERENCES missions(id) ON DELETE CASCADE
+);
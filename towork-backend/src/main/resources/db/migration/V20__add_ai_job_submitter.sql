@@ -0,0 +1,2 @@
+-- Jobs are only readable by the account that submitted them; ids are sequential
+ALTER TABLE ai_jobs ADD COLUMN IF NOT EXISTS submitted_by VARCHAR(255);
@@ -0,0 +1,118 @@
+package com.towork;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.entity.AiJob;
+import com.towork.ai.entity.AiJobStatus;
+import com.towork.ai.repository.AiJobRepository;
+import com.towork.ai.service.AiJobService;
+import com.towork.ai.service.AiResumeService;
+import com.towork.exception.ResourceNotFoundException;
+import com.towork.file.StoredFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiJobServiceTest {
+
+    @Mock private AiJobRepository aiJobRepository;
+    @Mock private AiResumeService aiResumeService;
+
+    private AiJobService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AiJobService(aiJobRepository, aiResumeService, new AiProperties(), new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private AiJob job(long id, AiJobStatus status, int attempts) {
+        AiJob job = new AiJob();
+        job.setId(id);
+        job.setStatus(status);
+        job.setAttempts(attempts);
+        return job;
+    }
+
+    @Test
+    @DisplayName("getJob renvoie le résultat JSON désérialisé et lève ResourceNotFoundException si absent")
+    void getJob() {
+        AiJob done = job(1L, AiJobStatus.SUCCEEDED, 1);
+        done.setResult("{\"fileKey\":\"cv.pdf\",\"createdCount\":2}");
+        when(aiJobRepository.findByIdAndSubmittedBy(1L, "alice@towork.fr")).thenReturn(Optional.of(done));
+        when(aiJobRepository.findByIdAndSubmittedBy(404L, "alice@towork.fr")).thenReturn(Optional.empty());
+
+        assertThat(service.getJob(1L, "alice@towork.fr").getResult().get("createdCount").asInt()).isEqualTo(2);
+        assertThatThrownBy(() -> service.getJob(404L, "alice@towork.fr"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("404");
+    }
+
+    @Test
+    @DisplayName("getJob ne révèle pas le job d'un autre utilisateur")
+    void getJob_otherUser() {
+        when(aiJobRepository.findByIdAndSubmittedBy(1L, "bob@towork.fr")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getJob(1L, "bob@towork.fr"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.getJob(1L, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(aiJobRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("au démarrage, les jobs interrompus sont remis en file ou marqués FAILED après trop de tentatives")
+    void recoverInterruptedJobs() {
+        AiJob retry = job(1L, AiJobStatus.RUNNING, 1);
+        AiJob exhausted = job(2L, AiJobStatus.RUNNING, 3);
+        when(aiJobRepository.findByStatusOrderByCreatedAtAsc(eq(AiJobStatus.RUNNING), any(Pageable.class)))
+                .thenReturn(List.of(retry, exhausted));
+        when(aiJobRepository.findByStatusOrderByCreatedAtAsc(eq(AiJobStatus.QUEUED), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        service.recoverInterruptedJobs();
+
+        assertThat(retry.getStatus()).isEqualTo(AiJobStatus.QUEUED);
+        assertThat(exhausted.getStatus()).isEqualTo(AiJobStatus.FAILED);
+        verify(aiJobRepository).save(retry);
+        verify(aiJobRepository).save(exhausted);
+    }
+
+    @Test
+    @DisplayName("la langue du job est ramenée à une langue prise en charge avant d'être enregistrée")
+    void submitResumeExtraction_normalizesLanguage() {
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", new byte[]{1});
+        when(aiResumeService.storeResume(file)).thenReturn(new StoredFile("cv.pdf", "abc"));
+        when(aiJobRepository.save(any(AiJob.class))).thenAnswer(invocation -> {
+            AiJob job = invocation.getArgument(0);
+            job.setId(1L);
+            return job;
+        });
+
+        service.submitResumeExtraction(file, 7L, "en-US", "alice@towork.fr");
+        service.submitResumeExtraction(file, 7L, "klingon-de-la-galaxie", "alice@towork.fr");
+
+        ArgumentCaptor<AiJob> saved = ArgumentCaptor.forClass(AiJob.class);
+        verify(aiJobRepository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(AiJob::getLanguage).containsExactly("en", "fr");
+    }
+}
@@ -0,0 +1,158 @@
+package com.towork;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiFreelancerMatchDto;
+import com.towork.ai.matching.InvertedIndex;
+import com.towork.ai.service.AiFeatureService;
+import com.towork.ai.service.AiMatchingService;
+import com.towork.ai.service.AiTextService;
+import com.towork.ai.service.EmbeddingService;
+import com.towork.ai.service.FreelancerFeatureService;
+import com.towork.ai.service.FreelancerIndexService;
+import com.towork.candidature.repository.CandidatureRepository;
+import com.towork.mission.entity.BudgetType;
+import com.towork.mission.entity.Mission;
+import com.towork.mission.entity.NiveauExperience;
+import com.towork.mission.entity.TypeTravail;
+import com.towork.mission.repository.MissionRepository;
+import com.towork.user.entity.Freelancer;
+import com.towork.user.repository.CompetenceRepository;
+import com.towork.user.repository.FeedbackRepository;
+import com.towork.user.repository.FreelancerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiMatchingServiceTest {
+
+    @Mock private MissionRepository missionRepository;
+    @Mock private FreelancerRepository freelancerRepository;
+    @Mock private CompetenceRepository competenceRepository;
+    @Mock private CandidatureRepository candidatureRepository;
+    @Mock private AiTextService aiTextService;
+    @Mock private AiFeatureService aiFeatureService;
+    @Mock private FreelancerIndexService freelancerIndexService;
+    @Mock private EmbeddingService embeddingService;
+    @Mock private FeedbackRepository feedbackRepository;
+
+    private final AiProperties properties = new AiProperties();
+    private AiMatchingService service;
+    private Mission mission;
+
+    @BeforeEach
+    void setUp() {
+        service = new AiMatchingService(missionRepository, freelancerRepository, candidatureRepository,
+                aiTextService, aiFeatureService, properties, freelancerIndexService,
+                embeddingService, new FreelancerFeatureService(freelancerRepository, competenceRepository,
+                        feedbackRepository, properties));
+        mission = new Mission();
+        mission.setId(1L);
+        mission.setTitle("Backend Java");
+        mission.setBudgetType(BudgetType.HOURLY);
+        mission.setBudgetMax(new BigDecimal("50"));
+        mission.setTypeTravail(TypeTravail.REMOTE);
+        mission.setNiveauExperience(NiveauExperience.EXPERT);
+        when(missionRepository.findById(1L)).thenReturn(Optional.of(mission));
+        when(aiFeatureService.buildMissionText(any(), any(), any(), any())).thenReturn("Backend Java Spring");
+        when(embeddingService.isAvailable()).thenReturn(false);
+    }
+
+    private Freelancer freelancer(long id, String title, String rating) {
+        Freelancer freelancer = freelancer(id, title);
+        freelancer.setRating(new BigDecimal(rating));
+        return freelancer;
+    }
+
+    private Freelancer freelancer(long id, String title) {
+        Freelancer freelancer = new Freelancer();
+        freelancer.setId(id);
+        freelancer.setFirstName("F" + id);
+        freelancer.setTitle(title);
+        return freelancer;
+    }
+
+    @Test
+    @DisplayName("sans index, le pool de candidats vient de la requête Specification au lieu de tous les freelancers actifs")
+    void recommend_scansConstrainedPool() {
+        when(freelancerIndexService.size()).thenReturn(0);
+        when(freelancerRepository.findAll(any(Specification.class)))
+                .thenReturn(List.of(freelancer(2L, "Designer"), freelancer(3L, "Java Spring developer")));
+        when(freelancerIndexService.score(anyString(), anyCollection())).thenReturn(Map.of(2L, 0.0, 3L, 0.8));
+
+        List<AiFreelancerMatchDto> matches = service.recommendFreelancers(1L, 5);
+
+        assertThat(matches).extracting(AiFreelancerMatchDto::getFreelancerId).containsExactly(3L, 2L);
+        verify(freelancerRepository, never()).findActiveAvailableFreelancers();
+    }
+
+    @Test
+    @DisplayName("les résultats de l'index inversé hors contraintes sont écartés sans changer l'ordre des autres")
+    void recommend_filtersIndexHits() {
+        when(freelancerIndexService.size()).thenReturn(3);
+        when(freelancerIndexService.search(anyString(), anyInt())).thenReturn(List.of(
+                new InvertedIndex.Hit(4L, 2, 2, 1.0),
+                new InvertedIndex.Hit(5L, 2, 1, 0.9),
+                new InvertedIndex.Hit(6L, 1, 1, 0.5)));
+        when(freelancerRepository.findAll(any(Specification.class)))
+                .thenReturn(List.of(freelancer(6L, "Java"), freelancer(4L, "Java Spring")));
+
+        List<AiFreelancerMatchDto> matches = service.recommendFreelancers(1L, 5);
+
+        assertThat(matches).extracting(AiFreelancerMatchDto::getFreelancerId).containsExactly(4L, 6L);
+        verify(freelancerIndexService).search(anyString(), eq(150));
+        verify(freelancerRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("le classement linéaire sur les features peut remonter un profil mieux noté au-dessus de la récupération")
+    void recommend_ranksOnFeatures() {
+        properties.getMatching().setWeights(Map.of("RETRIEVAL", 0.2, "RATING", 0.8));
+        when(freelancerIndexService.size()).thenReturn(2);
+        when(freelancerIndexService.search(anyString(), anyInt())).thenReturn(List.of(
+                new InvertedIndex.Hit(4L, 2, 2, 1.0),
+                new InvertedIndex.Hit(5L, 1, 1, 0.5)));
+        when(freelancerRepository.findAll(any(Specification.class)))
+                .thenReturn(List.of(freelancer(4L, "Java", "1.0"), freelancer(5L, "Java", "5.0")));
+
+        List<AiFreelancerMatchDto> matches = service.recommendFreelancers(1L, 5);
+
+        assertThat(matches).extracting(AiFreelancerMatchDto::getFreelancerId).containsExactly(5L, 4L);
+        assertThat(matches.get(0).getScore()).isCloseTo(0.9, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("seuls les premiers candidats classés sont envoyés au modèle pour le reclassement")
+    void recommend_rerankOnlyTopCandidates() {
+        properties.setEnabled(true);
+        properties.getMatching().setRerankSize(2);
+        when(freelancerIndexService.size()).thenReturn(0);
+        when(freelancerRepository.findAll(any(Specification.class))).thenReturn(List.of(
+                freelancer(2L, "Java"), freelancer(3L, "Java Spring"), freelancer(7L, "Designer")));
+        when(freelancerIndexService.score(anyString(), anyCollection())).thenReturn(Map.of(2L, 0.4, 3L, 0.7));
+        when(aiTextService.chatJsonAsync(any(), anyString(), anyString(), anyDouble(), anyInt(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("down")));
+
+        List<AiFreelancerMatchDto> matches = service.recommendFreelancers(1L, 1);
+
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(aiTextService).chatJsonAsync(any(), anyString(), prompt.capture(), anyDouble(), anyInt(), any());
+        assertThat(prompt.getValue()).contains("id=3", "id=2").doesNotContain("id=7");
+        assertThat(matches).extracting(AiFreelancerMatchDto::getFreelancerId).containsExactly(3L);
+    }
+}
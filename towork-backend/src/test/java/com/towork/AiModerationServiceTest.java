@@ -0,0 +1,72 @@
+package com.towork;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiModerationResponse;
+import com.towork.ai.service.AiFeatureService;
+import com.towork.ai.service.AiModerationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiModerationServiceTest {
+
+    @Mock private AiFeatureService aiFeatureService;
+
+    private AiModerationService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private AiModerationService service(int batchSize) {
+        AiProperties properties = new AiProperties();
+        properties.getModeration().setBatchSize(batchSize);
+        properties.getModeration().setBatchWaitMillis(5_000);
+        return new AiModerationService(aiFeatureService, properties);
+    }
+
+    @Test
+    @DisplayName("moderateAsync regroupe les messages concurrents dans un seul prompt et redistribue les verdicts")
+    void moderateAsync_batches() {
+        service = service(2);
+        when(aiFeatureService.moderateLocally(anyString())).thenReturn(Optional.empty());
+        when(aiFeatureService.moderateTexts(anyList())).thenAnswer(inv -> ((List<String>) inv.getArgument(0)).stream()
+                .map(content -> new AiModerationResponse(content.contains("arnaque"), 0.9, "SCAM", content))
+                .collect(Collectors.toList()));
+
+        CompletableFuture<AiModerationResponse> first = service.moderateAsync("bonjour");
+        CompletableFuture<AiModerationResponse> second = service.moderateAsync("une arnaque");
+
+        assertThat(first.join().getFlagged()).isFalse();
+        assertThat(second.join().getFlagged()).isTrue();
+        assertThat(second.join().getReason()).isEqualTo("une arnaque");
+        verify(aiFeatureService, times(1)).moderateTexts(List.of("bonjour", "une arnaque"));
+    }
+
+    @Test
+    @DisplayName("moderateAsync ne met pas en file les contenus tranchés localement")
+    void moderateAsync_localVerdictSkipsBatch() {
+        service = service(2);
+        when(aiFeatureService.moderateLocally("ok")).thenReturn(
+                Optional.of(new AiModerationResponse(false, 0.0, "OK", "Local prefilter: no signal")));
+
+        assertThat(service.moderateAsync("ok").join().getLabel()).isEqualTo("OK");
+        verify(aiFeatureService, never()).moderateTexts(anyList());
+    }
+}
@@ -0,0 +1,67 @@
+package com.towork;
+
+import com.towork.ai.client.AdaptiveConcurrencyLimiter;
+import com.towork.ai.client.CircuitBreaker;
+import com.towork.ai.client.LatencyWindow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AiResilienceTest {
+
+    @Test
+    @DisplayName("le limiteur refuse au-delà de la limite et la réduit après une surcharge")
+    void limiter_rejectsAndBacksOff() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 0.5);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.onDropped();
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("le circuit s'ouvre après N échecs puis laisse passer une seule sonde")
+    void circuitBreaker_opensThenProbes() {
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, Duration.ofSeconds(10), clock::get);
+
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    @DisplayName("la fenêtre de latence ne donne un percentile qu'avec assez d'échantillons")
+    void latencyWindow_percentile() {
+        LatencyWindow window = new LatencyWindow(100, 10);
+        window.record(5);
+        assertThat(window.percentile(95)).isEqualTo(-1);
+
+        for (long i = 1; i <= 100; i++) {
+            window.record(i);
+        }
+
+        assertThat(window.percentile(95)).isEqualTo(95);
+    }
+}
@@ -0,0 +1,121 @@
+package com.towork;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.cache.AiResponseCache;
+import com.towork.ai.config.AiFeature;
+import com.towork.ai.config.AiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AiResponseCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private AiResponseCache cache(AiProperties properties, SimpleMeterRegistry registry) {
+        return new AiResponseCache(properties, new ObjectMapper(), registry);
+    }
+
+    @Test
+    @DisplayName("une réponse mise en cache est resservie pour la même clé et comptée comme hit")
+    void get_returnsCachedContent() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AiResponseCache cache = cache(new AiProperties(), registry);
+        String key = cache.key("system", "user", 0.2, 350);
+
+        assertThat(cache.get(AiFeature.MISSION_SUMMARY, key)).isEmpty();
+        cache.put(AiFeature.MISSION_SUMMARY, key, "{\"summary\":\"ok\"}");
+
+        assertThat(cache.get(AiFeature.MISSION_SUMMARY, key)).contains("{\"summary\":\"ok\"}");
+        assertThat(cache.key("system", "user", 0.3, 350)).isNotEqualTo(key);
+        assertThat(registry.counter("ai.cache.requests", "feature", "mission-summary", "result", "hit", "tier", "memory")
+                .count()).isEqualTo(1.0);
+        assertThat(registry.counter("ai.cache.requests", "feature", "mission-summary", "result", "miss", "tier", "none")
+                .count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("un TTL de 0 désactive le cache pour la fonctionnalité")
+    void put_ignoredWhenFeatureTtlIsZero() {
+        AiProperties properties = new AiProperties();
+        properties.getCache().getTtlMinutes().put("moderation", 0);
+        AiResponseCache cache = cache(properties, new SimpleMeterRegistry());
+        String key = cache.key("system", "user", 0.0, 200);
+
+        cache.put(AiFeature.MODERATION, key, "{}");
+
+        assertThat(cache.get(AiFeature.MODERATION, key)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("le tier disque survit à une nouvelle instance du cache")
+    void diskTier_survivesRestart() {
+        AiProperties properties = new AiProperties();
+        properties.getCache().setDiskEnabled(true);
+        properties.getCache().setDiskDirectory(cacheDir.toString());
+        AiResponseCache first = cache(properties, new SimpleMeterRegistry());
+        String key = first.key("system", "user", 0.4, 700);
+        first.put(AiFeature.MISSION_DRAFT, key, "{\"title\":\"Draft\"}");
+
+        AiResponseCache restarted = cache(properties, new SimpleMeterRegistry());
+
+        assertThat(restarted.get(AiFeature.MISSION_DRAFT, key)).contains("{\"title\":\"Draft\"}");
+    }
+
+    @Test
+    @DisplayName("la modération et l'extraction de CV ne sont jamais écrites sur disque")
+    void diskTier_skipsExcludedFeatures() {
+        AiProperties properties = new AiProperties();
+        properties.getCache().setDiskEnabled(true);
+        properties.getCache().setDiskDirectory(cacheDir.toString());
+        AiResponseCache first = cache(properties, new SimpleMeterRegistry());
+        String key = first.key("system", "message privé", 0.0, 200);
+        first.put(AiFeature.MODERATION, key, "{\"flagged\":false}");
+
+        AiResponseCache restarted = cache(properties, new SimpleMeterRegistry());
+
+        assertThat(first.get(AiFeature.MODERATION, key)).contains("{\"flagged\":false}");
+        assertThat(restarted.get(AiFeature.MODERATION, key)).isEmpty();
+        assertThat(cacheDir).isEmptyDirectory();
+    }
+
+    @Test
+    @DisplayName("le balayage du disque supprime les entrées expirées puis les plus anciennes au-delà du plafond")
+    void sweepDisk_dropsExpiredAndOldest() throws Exception {
+        AiProperties properties = new AiProperties();
+        properties.getCache().setDiskEnabled(true);
+        properties.getCache().setDiskDirectory(cacheDir.toString());
+        properties.getCache().setDiskMaxEntries(1);
+        ObjectMapper objectMapper = new ObjectMapper();
+        AiResponseCache cache = new AiResponseCache(properties, objectMapper, new SimpleMeterRegistry());
+        String oldest = cache.key("system", "a", 0.4, 700);
+        String newest = cache.key("system", "b", 0.4, 700);
+        String expired = cache.key("system", "c", 0.4, 700);
+        cache.put(AiFeature.MISSION_DRAFT, oldest, "{\"title\":\"A\"}");
+        cache.put(AiFeature.MISSION_DRAFT, newest, "{\"title\":\"B\"}");
+        Path oldestFile = diskFile(oldest);
+        Files.setLastModifiedTime(oldestFile, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        Path expiredFile = diskFile(expired);
+        Files.createDirectories(expiredFile.getParent());
+        objectMapper.writeValue(expiredFile.toFile(), new AiResponseCache.Entry("{}", System.currentTimeMillis() - 1));
+
+        cache.sweepDisk();
+
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(diskFile(newest));
+        }
+    }
+
+    private Path diskFile(String key) {
+        return cacheDir.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+}
@@ -0,0 +1,118 @@
+package com.towork;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiResumeExtractionResponse;
+import com.towork.ai.dto.AiResumeExtractionResult;
+import com.towork.ai.dto.AiSkillDto;
+import com.towork.ai.entity.ResumeExtraction;
+import com.towork.ai.repository.ResumeExtractionRepository;
+import com.towork.ai.service.AiFeatureService;
+import com.towork.ai.service.AiResumeService;
+import com.towork.ai.service.ResumeTextExtractor;
+import com.towork.file.FileStorageService;
+import com.towork.file.StoredFile;
+import com.towork.user.repository.CompetenceRepository;
+import com.towork.user.repository.FreelancerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiResumeServiceTest {
+
+    @Mock private FileStorageService fileStorageService;
+    @Mock private ResumeTextExtractor resumeTextExtractor;
+    @Mock private AiFeatureService aiFeatureService;
+    @Spy private AiProperties properties = new AiProperties();
+    @Mock private FreelancerRepository freelancerRepository;
+    @Mock private CompetenceRepository competenceRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private ResumeExtractionRepository resumeExtractionRepository;
+    @Spy private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private AiResumeService service;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("processStoredResume réutilise l'extraction d'un CV déjà vu sans PDFBox ni modèle")
+    void processStoredResume_cachedHash() {
+        ResumeExtraction stored = new ResumeExtraction();
+        stored.setSummary("Dev Java");
+        stored.setSkills("[{\"name\":\"Java\",\"level\":\"EXPERT\"}]");
+        when(resumeExtractionRepository.findByContentHashAndLanguage("abc", "fr")).thenReturn(Optional.of(stored));
+
+        AiResumeExtractionResponse response = service.processStoredResume("cv.pdf", "abc", null, null, p -> { });
+
+        assertThat(response.getSummary()).isEqualTo("Dev Java");
+        assertThat(response.getSkills()).extracting(AiSkillDto::getName).containsExactly("Java");
+        verifyNoInteractions(resumeTextExtractor, aiFeatureService);
+    }
+
+    @Test
+    @DisplayName("processStoredResume enregistre le résultat sous le hash, sauf s'il est vide (IA désactivée ou en échec)")
+    void processStoredResume_storesResult() throws Exception {
+        when(resumeExtractionRepository.findByContentHashAndLanguage(anyString(), eq("fr"))).thenReturn(Optional.empty());
+        when(resumeTextExtractor.extract(any(), anyInt())).thenReturn("Java Spring");
+        when(aiFeatureService.extractSkillsFromResume("Java Spring", "fr"))
+                .thenReturn(new AiResumeExtractionResult("Dev", List.of(new AiSkillDto())))
+                .thenReturn(new AiResumeExtractionResult("AI resume extraction failed", List.of()));
+
+        service.processStoredResume("cv.pdf", "abc", null, "FR", p -> { });
+        service.processStoredResume("cv2.pdf", "def", null, "fr", p -> { });
+
+        verify(resumeExtractionRepository, times(1)).save(argThat(e -> "abc".equals(e.getContentHash())));
+    }
+
+    @Test
+    @DisplayName("les compétences sont comparées aux noms existants en mémoire puis insérées en un seul lot")
+    void createCompetences_batch() {
+        ResumeExtraction stored = new ResumeExtraction();
+        stored.setSkills("[{\"name\":\"Java\"},{\"name\":\"spring \"},{\"name\":\"Spring\"},{\"name\":\"\"}]");
+        when(resumeExtractionRepository.findByContentHashAndLanguage("abc", "fr")).thenReturn(Optional.of(stored));
+        when(freelancerRepository.existsById(7L)).thenReturn(true);
+        when(competenceRepository.findActiveLowerNamesByFreelancerId(7L)).thenReturn(List.of("java"));
+        when(competenceRepository.insertIgnoringDuplicates(eq(7L), anyList())).thenReturn(1);
+
+        AiResumeExtractionResponse response = service.processStoredResume("cv.pdf", "abc", 7L, "fr", p -> { });
+
+        assertThat(response.getCreatedCount()).isEqualTo(1);
+        verify(competenceRepository).insertIgnoringDuplicates(eq(7L),
+                argThat(list -> list.size() == 1 && "spring".equals(list.get(0).getName())));
+        verify(competenceRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("storeFileWithHash calcule le SHA-256 pendant l'écriture du fichier")
+    void storeFileWithHash() throws Exception {
+        FileStorageService storage = new FileStorageService();
+        ReflectionTestUtils.setField(storage, "uploadDir", tempDir.toString());
+
+        StoredFile stored = storage.storeFileWithHash(
+                new MockMultipartFile("file", "cv.pdf", "application/pdf", "abc".getBytes()));
+
+        assertThat(stored.getSha256()).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(Files.readString(tempDir.resolve(stored.getFileName()))).isEqualTo("abc");
+    }
+}
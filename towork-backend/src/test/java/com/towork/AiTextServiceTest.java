@@ -0,0 +1,46 @@
+package com.towork;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.cache.AiResponseCache;
+import com.towork.ai.client.AiClient;
+import com.towork.ai.config.AiFeature;
+import com.towork.ai.service.AiTextService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiTextServiceTest {
+
+    @Mock private AiClient aiClient;
+    @Mock private AiResponseCache responseCache;
+
+    @Test
+    @DisplayName("des appels concurrents identiques partagent l'appel au modèle et seul le premier écrit en cache")
+    void chatJsonAsync_onlyLeaderCaches() {
+        AiTextService service = new AiTextService(aiClient, new ObjectMapper(), responseCache);
+        when(responseCache.key(anyString(), anyString(), any(), any())).thenReturn("k");
+        when(responseCache.get(AiFeature.REWRITE, "k")).thenReturn(Optional.empty());
+        CompletableFuture<String> response = new CompletableFuture<>();
+        when(aiClient.chatJsonAsync(anyString(), anyString(), any(), any())).thenReturn(response);
+
+        CompletableFuture<Map> first = service.chatJsonAsync(AiFeature.REWRITE, "system", "user", 0.2, 100, Map.class);
+        CompletableFuture<Map> second = service.chatJsonAsync(AiFeature.REWRITE, "system", "user", 0.2, 100, Map.class);
+        response.complete("{\"content\":\"ok\"}");
+
+        assertThat(first.join()).containsEntry("content", "ok");
+        assertThat(second.join()).containsEntry("content", "ok");
+        verify(aiClient, times(1)).chatJsonAsync(anyString(), anyString(), any(), any());
+        verify(responseCache, times(1)).put(AiFeature.REWRITE, "k", "{\"content\":\"ok\"}");
+    }
+}
@@ -0,0 +1,137 @@
+package com.towork;
+
+import com.towork.ai.client.AiException;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiModerationResponse;
+import com.towork.ai.event.ModerationRequestedEvent;
+import com.towork.ai.repository.ConversationSummaryRepository;
+import com.towork.ai.service.AiModerationService;
+import com.towork.ai.service.AsyncModerationService;
+import com.towork.candidature.entity.Candidature;
+import com.towork.candidature.entity.CandidatureMessage;
+import com.towork.candidature.repository.CandidatureMessageRepository;
+import com.towork.common.ModerationStatus;
+import com.towork.conversation.entity.Message;
+import com.towork.conversation.repository.MessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncModerationServiceTest {
+
+    @Mock private AiModerationService aiModerationService;
+    @Mock private MessageRepository messageRepository;
+    @Mock private CandidatureMessageRepository candidatureMessageRepository;
+    @Mock private ConversationSummaryRepository conversationSummaryRepository;
+
+    private AsyncModerationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AsyncModerationService(aiModerationService, messageRepository, candidatureMessageRepository,
+                conversationSummaryRepository, new AiProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private Message message(String content) {
+        Message message = new Message();
+        message.setId(1L);
+        message.setContent(content);
+        return message;
+    }
+
+    private void requestMessage() {
+        service.onModerationRequested(new ModerationRequestedEvent(ModerationRequestedEvent.Target.MESSAGE, 1L));
+    }
+
+    @Test
+    @DisplayName("un verdict sans signal approuve le message par une mise à jour ciblée")
+    void moderate_approves() {
+        when(messageRepository.findById(1L)).thenReturn(Optional.of(message("bonjour")));
+        AiModerationResponse verdict = new AiModerationResponse(false, 0.1, "OK", "RAS");
+        when(aiModerationService.moderateAsync("bonjour")).thenReturn(CompletableFuture.completedFuture(verdict));
+
+        requestMessage();
+
+        verify(messageRepository, timeout(2000)).applyModerationVerdict(1L, "bonjour", false, 0.1, "OK", "RAS",
+                ModerationStatus.APPROVED);
+        verify(messageRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("un verdict bloquant masque le message de candidature et efface le résumé de conversation")
+    void moderate_blocks() {
+        Candidature candidature = new Candidature();
+        candidature.setId(9L);
+        CandidatureMessage pending = new CandidatureMessage();
+        pending.setId(2L);
+        pending.setContent("western union");
+        pending.setCandidature(candidature);
+        when(candidatureMessageRepository.findById(2L)).thenReturn(Optional.of(pending));
+        AiModerationResponse verdict = new AiModerationResponse(true, 0.95, "SCAM", "Paiement hors plateforme");
+        when(aiModerationService.moderateAsync("western union")).thenReturn(CompletableFuture.completedFuture(verdict));
+        when(aiModerationService.shouldBlock(verdict)).thenReturn(true);
+        when(candidatureMessageRepository.applyModerationVerdict(2L, "western union", true, 0.95, "SCAM",
+                "Paiement hors plateforme", ModerationStatus.BLOCKED)).thenReturn(1);
+
+        service.onModerationRequested(
+                new ModerationRequestedEvent(ModerationRequestedEvent.Target.CANDIDATURE_MESSAGE, 2L));
+
+        verify(conversationSummaryRepository, timeout(2000)).deleteByCandidatureId(9L);
+        verify(candidatureMessageRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("un verdict sur un contenu déjà modifié n'est pas appliqué et le résumé est conservé")
+    void moderate_ignoresEditedContent() {
+        CandidatureMessage pending = new CandidatureMessage();
+        pending.setId(2L);
+        pending.setContent("avant");
+        when(candidatureMessageRepository.findById(2L)).thenReturn(Optional.of(pending));
+        AiModerationResponse verdict = new AiModerationResponse(true, 0.95, "SCAM", "Arnaque");
+        when(aiModerationService.moderateAsync("avant")).thenReturn(CompletableFuture.completedFuture(verdict));
+        when(aiModerationService.shouldBlock(verdict)).thenReturn(true);
+        when(candidatureMessageRepository.applyModerationVerdict(eq(2L), eq("avant"), anyBoolean(), any(), any(),
+                any(), any())).thenReturn(0);
+
+        service.onModerationRequested(
+                new ModerationRequestedEvent(ModerationRequestedEvent.Target.CANDIDATURE_MESSAGE, 2L));
+
+        verify(candidatureMessageRepository, timeout(2000)).applyModerationVerdict(eq(2L), eq("avant"),
+                anyBoolean(), any(), any(), any(), any());
+        verify(conversationSummaryRepository, after(200).never()).deleteByCandidatureId(any());
+    }
+
+    @Test
+    @DisplayName("un échec du modèle laisse le message en attente pour le balayage suivant")
+    void moderate_failureLeavesPending() {
+        when(messageRepository.findById(1L)).thenReturn(Optional.of(message("bonjour")));
+        when(aiModerationService.moderateAsync("bonjour"))
+                .thenReturn(CompletableFuture.failedFuture(new AiException("timeout")))
+                .thenReturn(CompletableFuture.completedFuture(new AiModerationResponse(false, 0.0, "OK", "RAS")));
+
+        requestMessage();
+        verify(messageRepository, after(200).never())
+                .applyModerationVerdict(any(), any(), anyBoolean(), any(), any(), any(), any());
+
+        requestMessage();
+        verify(messageRepository, timeout(2000)).applyModerationVerdict(1L, "bonjour", false, 0.0, "OK", "RAS",
+                ModerationStatus.APPROVED);
+    }
+}
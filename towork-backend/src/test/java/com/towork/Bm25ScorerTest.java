@@ -0,0 +1,51 @@
+package com.towork;
+
+import com.towork.ai.matching.Bm25Scorer;
+import com.towork.ai.matching.TextAnalyzer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class Bm25ScorerTest {
+
+    @Test
+    @DisplayName("l'analyseur compare des mots entiers, replie les accents et racinise fr/en")
+    void analyze_wholeTokensAndStems() {
+        assertThat(TextAnalyzer.analyze("Développeurs et développeuse C++ / C#"))
+                .containsExactly("developpeur", "developpeur", "c++", "c#");
+        assertThat(TextAnalyzer.analyze("JavaScript")).doesNotContain("java");
+        assertThat(TextAnalyzer.analyze("designers")).containsExactly("design");
+    }
+
+    @Test
+    @DisplayName("BM25 ne fait pas correspondre java à javascript et classe le document le plus pertinent en tête")
+    void score_ranksRelevantDocumentFirst() {
+        Bm25Scorer scorer = Bm25Scorer.build(List.of(
+                "JavaScript React frontend",
+                "Java Spring Boot backend, Java 17",
+                "Graphic designer"));
+
+        Bm25Scorer.Query query = scorer.query("Java Spring");
+
+        assertThat(scorer.score(query, 0)).isZero();
+        assertThat(scorer.score(query, 1)).isGreaterThan(0.0);
+        assertThat(scorer.score(query, 2)).isZero();
+    }
+
+    @Test
+    @DisplayName("le score normalisé reste dans [0, 1) et les termes inconnus du corpus le réduisent")
+    void normalizedScore_boundedAndPenalizesUnknownTerms() {
+        Bm25Scorer scorer = Bm25Scorer.build(List.of("Java Spring", "Angular TypeScript"));
+
+        double full = scorer.normalizedScore(scorer.query("Java Spring"), 0);
+        double partial = scorer.normalizedScore(scorer.query("Java Spring Kubernetes"), 0);
+
+        assertThat(full).isGreaterThan(0.0).isLessThan(1.0);
+        assertThat(partial).isGreaterThan(0.0).isLessThan(full);
+        assertThat(scorer.query("").isEmpty()).isTrue();
+        assertThat(scorer.normalizedScore(scorer.query("Kubernetes"), 0)).isZero();
+    }
+}
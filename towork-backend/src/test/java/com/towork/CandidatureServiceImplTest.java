@@ -3,6 +3,7 @@ package com.towork;
 import com.towork.exception.BusinessException;
 import com.towork.exception.ResourceNotFoundException;
 import com.towork.candidature.entity.Candidature;
+import com.towork.candidature.repository.CandidatureMessageRepository;
 import com.towork.candidature.repository.CandidatureRepository;
 import com.towork.candidature.service.impl.CandidatureServiceImpl;
 import com.towork.candidature.entity.CandidatureStatus;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
@@ -33,6 +35,8 @@ class CandidatureServiceImplTest {
     @Mock private CandidatureRepository candidatureRepository;
     @Mock private com.towork.user.repository.FreelancerRepository freelancerRepository;
     @Mock private com.towork.mission.repository.MissionRepository missionRepository;
+    @Mock private CandidatureMessageRepository candidatureMessageRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CandidatureServiceImpl service;
@@ -76,6 +80,7 @@ class CandidatureServiceImplTest {
         stubLookups();
         when(candidatureRepository.findByFreelancerAndMission(freelancer, mission)).thenReturn(Optional.empty());
         when(candidatureRepository.save(any(Candidature.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(candidatureRepository.findById(any())).thenReturn(Optional.of(candidature));
 
         Candidature saved = service.createCandidature(candidature);
 
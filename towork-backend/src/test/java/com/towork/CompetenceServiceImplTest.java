@@ -1,5 +1,6 @@
 package com.towork;
 
+import com.towork.exception.ConflictException;
 import com.towork.exception.ResourceNotFoundException;
 import com.towork.user.entity.Competence;
 import com.towork.user.dto.CompetenceDto;
@@ -12,6 +13,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
@@ -26,6 +29,7 @@ import static org.mockito.Mockito.*;
 class CompetenceServiceImplTest {
 
     @Mock private CompetenceRepository competenceRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CompetenceServiceImpl service;
@@ -57,6 +61,20 @@ class CompetenceServiceImplTest {
         assertThat(saved.getName()).isEqualTo("Spring");
     }
 
+    @Test
+    @DisplayName("updateCompetence vers un nom déjà pris renvoie un conflit sans publier d'événement")
+    void update_duplicateNameConflicts() {
+        when(competenceRepository.findById(1L)).thenReturn(Optional.of(competence()));
+        when(competenceRepository.save(any(Competence.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_competences_freelancer_name"));
+
+        Competence updates = competence();
+        updates.setName("Spring");
+
+        assertThatThrownBy(() -> service.updateCompetence(1L, updates)).isInstanceOf(ConflictException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     @DisplayName("certifyCompetence marque certifié et date du jour")
     void certifyCompetence_setsFields() {
@@ -0,0 +1,129 @@
+package com.towork;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiSummaryResponse;
+import com.towork.ai.entity.ConversationSummary;
+import com.towork.ai.repository.ConversationSummaryRepository;
+import com.towork.ai.service.AiFeatureService;
+import com.towork.ai.service.ConversationSummaryService;
+import com.towork.candidature.entity.Candidature;
+import com.towork.candidature.entity.CandidatureMessage;
+import com.towork.candidature.repository.CandidatureMessageRepository;
+import com.towork.common.ModerationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConversationSummaryServiceTest {
+
+    @Mock private AiFeatureService aiFeatureService;
+    @Mock private ConversationSummaryRepository conversationSummaryRepository;
+    @Mock private CandidatureMessageRepository candidatureMessageRepository;
+
+    private ConversationSummaryService service;
+    private Candidature candidature;
+
+    @BeforeEach
+    void setUp() {
+        service = new ConversationSummaryService(aiFeatureService, conversationSummaryRepository,
+                candidatureMessageRepository, new AiProperties(), new ObjectMapper());
+        candidature = new Candidature();
+        candidature.setId(3L);
+    }
+
+    private ConversationSummary stored(long lastMessageId) {
+        ConversationSummary summary = new ConversationSummary();
+        summary.setCandidatureId(3L);
+        summary.setLanguage("fr");
+        summary.setSummary("Accord sur le périmètre");
+        summary.setNextSteps("[\"Envoyer le devis\"]");
+        summary.setLastMessageId(lastMessageId);
+        return summary;
+    }
+
+    private CandidatureMessage message(long id, String content) {
+        CandidatureMessage message = new CandidatureMessage();
+        message.setId(id);
+        message.setContent(content);
+        return message;
+    }
+
+    @Test
+    @DisplayName("sans nouveau message, le résumé stocké est renvoyé sans appel au modèle")
+    void summarize_returnsStoredWhenNothingNew() {
+        when(conversationSummaryRepository.findByCandidatureId(3L)).thenReturn(Optional.of(stored(10L)));
+        when(candidatureMessageRepository.findByCandidatureAndModerationStatusNotAndIdGreaterThanOrderByIdAsc(
+                eq(candidature), eq(ModerationStatus.BLOCKED), eq(10L), any())).thenReturn(List.of());
+
+        AiSummaryResponse summary = service.summarize(candidature, null);
+
+        assertThat(summary.getSummary()).isEqualTo("Accord sur le périmètre");
+        assertThat(summary.getNextSteps()).containsExactly("Envoyer le devis");
+        verifyNoInteractions(aiFeatureService);
+        verify(conversationSummaryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("une langue non prise en charge ou trop longue retombe sur le français et réutilise le résumé stocké")
+    void summarize_normalizesUnsupportedLanguage() {
+        when(conversationSummaryRepository.findByCandidatureId(3L)).thenReturn(Optional.of(stored(10L)));
+        when(candidatureMessageRepository.findByCandidatureAndModerationStatusNotAndIdGreaterThanOrderByIdAsc(
+                eq(candidature), eq(ModerationStatus.BLOCKED), eq(10L), any())).thenReturn(List.of());
+
+        AiSummaryResponse summary = service.summarize(candidature, "tlh-x-langue-inventee");
+
+        assertThat(summary.getSummary()).isEqualTo("Accord sur le périmètre");
+        verifyNoInteractions(aiFeatureService);
+    }
+
+    @Test
+    @DisplayName("seuls les messages postérieurs au résumé sont envoyés au modèle, avec le résumé précédent")
+    void summarize_foldsOnlyNewMessages() {
+        ConversationSummary stored = stored(10L);
+        when(conversationSummaryRepository.findByCandidatureId(3L)).thenReturn(Optional.of(stored));
+        when(candidatureMessageRepository.findByCandidatureAndModerationStatusNotAndIdGreaterThanOrderByIdAsc(
+                eq(candidature), eq(ModerationStatus.BLOCKED), eq(10L), any()))
+                .thenReturn(List.of(message(11L, "Devis envoyé"), message(12L, "Je valide")));
+        AiSummaryResponse updated = new AiSummaryResponse("Devis validé", List.of("Démarrer la mission"));
+        when(aiFeatureService.updateConversationSummary(any(), anyList(), any(), eq("fr")))
+                .thenReturn(Optional.of(updated));
+
+        assertThat(service.summarize(candidature, "FR")).isSameAs(updated);
+
+        ArgumentCaptor<AiSummaryResponse> previous = ArgumentCaptor.forClass(AiSummaryResponse.class);
+        verify(aiFeatureService).updateConversationSummary(previous.capture(),
+                eq(List.of("Devis envoyé", "Je valide")), any(), eq("fr"));
+        assertThat(previous.getValue().getSummary()).isEqualTo("Accord sur le périmètre");
+        verify(conversationSummaryRepository).save(stored);
+        assertThat(stored.getLastMessageId()).isEqualTo(12L);
+        assertThat(stored.getNextSteps()).isEqualTo("[\"Démarrer la mission\"]");
+    }
+
+    @Test
+    @DisplayName("sans modèle disponible, le résumé de repli n'est pas enregistré")
+    void summarize_doesNotStoreFallback() {
+        when(conversationSummaryRepository.findByCandidatureId(3L)).thenReturn(Optional.empty());
+        when(candidatureMessageRepository.findByCandidatureAndModerationStatusNotOrderByIdDesc(
+                eq(candidature), eq(ModerationStatus.BLOCKED), any()))
+                .thenReturn(List.of(message(2L, "Second"), message(1L, "Premier")));
+        when(aiFeatureService.updateConversationSummary(isNull(), anyList(), any(), any())).thenReturn(Optional.empty());
+        AiSummaryResponse fallback = new AiSummaryResponse("Premier Second", List.of());
+        when(aiFeatureService.fallbackConversationSummary(List.of("Premier", "Second"))).thenReturn(fallback);
+
+        assertThat(service.summarize(candidature, null)).isSameAs(fallback);
+        verify(conversationSummaryRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,88 @@
+package com.towork;
+
+import com.towork.ai.service.DomaineIndexService;
+import com.towork.user.entity.Domaine;
+import com.towork.user.event.DomaineChangedEvent;
+import com.towork.user.repository.DomaineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DomaineIndexServiceTest {
+
+    @Mock private DomaineRepository domaineRepository;
+
+    private DomaineIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DomaineIndexService(domaineRepository);
+    }
+
+    private Domaine domaine(long id, String name, String description) {
+        Domaine domaine = new Domaine();
+        domaine.setId(id);
+        domaine.setName(name);
+        domaine.setDescription(description);
+        return domaine;
+    }
+
+    @Test
+    @DisplayName("les candidats sont classés localement et limités, sans domaine hors sujet")
+    void candidates_rankedAndLimited() {
+        when(domaineRepository.findActiveDomainesOrderByName()).thenReturn(List.of(
+                domaine(1L, "Design", "Maquettes, identité visuelle"),
+                domaine(2L, "Développement web", "Applications web, API backend Java"),
+                domaine(3L, "Data", "Analyse de données, tableaux de bord Java")));
+        service.rebuild();
+
+        List<DomaineIndexService.Candidate> candidates = service.candidates("API backend Java", 2);
+
+        assertThat(candidates).extracting(candidate -> candidate.getDomaine().getId()).containsExactly(2L, 3L);
+        assertThat(candidates.get(0).getScore()).isGreaterThan(candidates.get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("la couverture du domaine ne diminue pas avec la longueur de la mission, contrairement au score")
+    void candidates_coverageIndependentOfMissionLength() {
+        when(domaineRepository.findActiveDomainesOrderByName()).thenReturn(List.of(
+                domaine(1L, "Design", "Maquettes, identité visuelle"),
+                domaine(2L, "Développement web", "Applications web, API backend Java")));
+        service.rebuild();
+        String shortMission = "Application web : API backend Java";
+        String longMission = shortMission + " pour notre plateforme de réservation : authentification, paiements,"
+                + " notifications par email, tests automatisés, documentation, mise en production et suivi.";
+
+        DomaineIndexService.Candidate brief = service.candidates(shortMission, 1).get(0);
+        DomaineIndexService.Candidate detailed = service.candidates(longMission, 1).get(0);
+
+        assertThat(detailed.getDomaine().getId()).isEqualTo(2L);
+        assertThat(detailed.getScore()).isLessThan(brief.getScore() / 2);
+        assertThat(detailed.getCoverage()).isEqualTo(brief.getCoverage()).isGreaterThanOrEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("une modification de domaine reconstruit l'index")
+    void onDomaineChanged_rebuildsIndex() {
+        when(domaineRepository.findActiveDomainesOrderByName())
+                .thenReturn(List.of(domaine(1L, "Design", "Maquettes")))
+                .thenReturn(List.of(domaine(1L, "Design", "Maquettes"), domaine(4L, "Traduction", "Localisation")));
+        service.rebuild();
+        assertThat(service.candidates("traduction", 5)).isEmpty();
+
+        service.onDomaineChanged(new DomaineChangedEvent(4L));
+
+        assertThat(service.size()).isEqualTo(2);
+        assertThat(service.candidates("traduction", 5)).extracting(candidate -> candidate.getDomaine().getId())
+                .containsExactly(4L);
+    }
+}
@@ -0,0 +1,70 @@
+package com.towork;
+
+import com.towork.ai.matching.EmbeddingMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EmbeddingMatrixTest {
+
+    @Test
+    @DisplayName("search retourne les k vecteurs les plus proches par similarité cosinus")
+    void search_returnsNearestByCosine() {
+        EmbeddingMatrix matrix = new EmbeddingMatrix(3, 1);
+        matrix.put(1L, new float[]{1f, 0f, 0f});
+        matrix.put(2L, new float[]{0f, 2f, 0f});
+        matrix.put(3L, new float[]{3f, 3f, 0f});
+
+        List<EmbeddingMatrix.Hit> hits = matrix.search(new float[]{1f, 0.1f, 0f}, 2);
+
+        assertThat(hits).extracting(EmbeddingMatrix.Hit::getId).containsExactly(1L, 3L);
+        assertThat(hits.get(0).getScore()).isCloseTo(0.995, within(1e-3));
+    }
+
+    @Test
+    @DisplayName("remove déplace la dernière ligne sans corrompre les autres vecteurs")
+    void remove_keepsRemainingRowsIntact() {
+        EmbeddingMatrix matrix = new EmbeddingMatrix(2);
+        matrix.put(1L, new float[]{1f, 0f});
+        matrix.put(2L, new float[]{0f, 1f});
+        matrix.put(3L, new float[]{-1f, 0f});
+
+        matrix.remove(1L);
+
+        assertThat(matrix.size()).isEqualTo(2);
+        assertThat(matrix.contains(1L)).isFalse();
+        assertThat(matrix.search(new float[]{-1f, 0f}, 1))
+                .extracting(EmbeddingMatrix.Hit::getId).containsExactly(3L);
+        assertThat(matrix.search(new float[]{0f, 1f}, 1))
+                .extracting(EmbeddingMatrix.Hit::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("le produit scalaire est correct pour des dimensions non multiples de la largeur SIMD")
+    void search_scoresOddDimensions() {
+        int dimensions = 37;
+        Random random = new Random(42);
+        EmbeddingMatrix matrix = new EmbeddingMatrix(dimensions);
+        float[] target = new float[dimensions];
+        for (long id = 1; id <= 100; id++) {
+            float[] vector = new float[dimensions];
+            for (int i = 0; i < dimensions; i++) {
+                vector[i] = random.nextFloat() - 0.5f;
+            }
+            if (id == 42) {
+                target = vector;
+            }
+            matrix.put(id, vector);
+        }
+
+        List<EmbeddingMatrix.Hit> hits = matrix.search(target, 3);
+
+        assertThat(hits).hasSize(3);
+        assertThat(hits.get(0).getId()).isEqualTo(42L);
+        assertThat(hits.get(0).getScore()).isCloseTo(1.0, within(1e-4));
+    }
+}
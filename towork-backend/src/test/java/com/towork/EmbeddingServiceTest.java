@@ -0,0 +1,111 @@
+package com.towork;
+
+import com.towork.ai.client.AiClient;
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.entity.FreelancerEmbedding;
+import com.towork.ai.matching.EmbeddingMatrix;
+import com.towork.ai.matching.QuantizedHnswIndex;
+import com.towork.ai.repository.FreelancerEmbeddingRepository;
+import com.towork.ai.repository.MissionEmbeddingRepository;
+import com.towork.ai.service.EmbeddingService;
+import com.towork.ai.util.AiVectorUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddingServiceTest {
+
+    @Mock private AiClient aiClient;
+    @Mock private FreelancerEmbeddingRepository freelancerEmbeddingRepository;
+    @Mock private MissionEmbeddingRepository missionEmbeddingRepository;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("un snapshot produit par un autre modèle est ignoré au lieu de rejeter tous les nouveaux vecteurs")
+    void load_discardsSnapshotOfAnotherModel() throws Exception {
+        Path snapshot = directory.resolve("freelancers.hnsw");
+        QuantizedHnswIndex previous = new QuantizedHnswIndex(4, 4, 16, 16, 2);
+        previous.put(99L, new float[]{1f, 0f, 0f, 0f});
+        previous.save(snapshot, "text-embedding-3-small");
+
+        AiProperties properties = new AiProperties();
+        properties.getEmbedding().setProvider("hashing");
+        properties.getEmbedding().setIndex("hnsw");
+        properties.getEmbedding().setSnapshotPath(snapshot.toString());
+        EmbeddingService service = new EmbeddingService(aiClient, properties, freelancerEmbeddingRepository,
+                missionEmbeddingRepository);
+
+        service.load(Map.of(1L, "Développeur Java Spring", 2L, "Designer UX Figma"));
+
+        assertThat(service.size()).isEqualTo(2);
+        assertThat(service.searchFreelancers(service.missionVector(7L, "Java Spring").orElseThrow(), 1))
+                .extracting(EmbeddingMatrix.Hit::getId).containsExactly(1L);
+        assertThat(QuantizedHnswIndex.load(snapshot, 16, 16, 2).model()).startsWith("hashing-");
+    }
+
+    @Test
+    @DisplayName("un snapshot de vecteurs hachés n'est pas réutilisé après un nouvel ajustement de l'IDF sur d'autres profils")
+    void load_discardsHashingSnapshotFittedOnAnotherCorpus() throws Exception {
+        Path snapshot = directory.resolve("freelancers.hnsw");
+        AiProperties properties = new AiProperties();
+        properties.getEmbedding().setProvider("hashing");
+        properties.getEmbedding().setIndex("hnsw");
+        properties.getEmbedding().setSnapshotPath(snapshot.toString());
+        properties.getEmbedding().setCompactDeletedRatio(1.0);
+        new EmbeddingService(aiClient, properties, freelancerEmbeddingRepository, missionEmbeddingRepository)
+                .load(Map.of(1L, "Développeur Java Spring", 2L, "Designer UX Figma"));
+
+        new EmbeddingService(aiClient, properties, freelancerEmbeddingRepository, missionEmbeddingRepository)
+                .load(Map.of(1L, "Développeur Java Spring", 2L, "Designer UX Figma", 3L, "Rédacteur SEO"));
+
+        QuantizedHnswIndex restored = QuantizedHnswIndex.load(snapshot, 16, 16, 2);
+        assertThat(restored.size()).isEqualTo(3);
+        assertThat(restored.deletedRatio()).isZero();
+    }
+
+    @Test
+    @DisplayName("une mise à jour de profil reçue pendant le chargement est rejouée sur le nouvel index")
+    void load_replaysRefreshesMadeDuringLoad() {
+        AiProperties properties = new AiProperties();
+        EmbeddingService service = new EmbeddingService(aiClient, properties, freelancerEmbeddingRepository,
+                missionEmbeddingRepository);
+        String model = properties.getOpenai().getEmbeddingModel();
+        FreelancerEmbedding stored = embedding(1L, model, "Développeur Java", new float[]{1f, 0f, 0f});
+        FreelancerEmbedding refreshed = embedding(3L, model, "Designer UX", new float[]{0f, 1f, 0f});
+        when(freelancerEmbeddingRepository.findByFreelancerId(3L)).thenReturn(Optional.of(refreshed));
+        when(freelancerEmbeddingRepository.findByModel(model)).thenAnswer(invocation -> {
+            service.refreshFreelancer(3L, "Designer UX");
+            return List.of(stored);
+        });
+
+        service.load(Map.of(1L, "Développeur Java"));
+
+        assertThat(service.size()).isEqualTo(2);
+        assertThat(service.searchFreelancers(new float[]{0f, 1f, 0f}, 1))
+                .extracting(EmbeddingMatrix.Hit::getId).containsExactly(3L);
+    }
+
+    private static FreelancerEmbedding embedding(Long freelancerId, String model, String text, float[] vector) {
+        FreelancerEmbedding embedding = new FreelancerEmbedding();
+        embedding.setFreelancerId(freelancerId);
+        embedding.setModel(model);
+        embedding.setContentHash(AiVectorUtils.sha256(text));
+        embedding.setDimensions(vector.length);
+        embedding.setVector(AiVectorUtils.toBytes(vector));
+        return embedding;
+    }
+}
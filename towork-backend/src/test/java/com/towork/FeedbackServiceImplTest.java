@@ -23,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -40,6 +41,7 @@ class FeedbackServiceImplTest {
     @Mock private MissionRepository missionRepository;
     @Mock private ClientRepository clientRepository;
     @Mock private FreelancerRepository freelancerRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private FeedbackServiceImpl service;
@@ -0,0 +1,67 @@
+package com.towork;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.service.EmbeddingService;
+import com.towork.ai.service.FreelancerIndexService;
+import com.towork.user.entity.Freelancer;
+import com.towork.user.repository.CompetenceRepository;
+import com.towork.user.repository.FreelancerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FreelancerIndexServiceTest {
+
+    @Mock private FreelancerRepository freelancerRepository;
+    @Mock private CompetenceRepository competenceRepository;
+    @Mock private EmbeddingService embeddingService;
+
+    private FreelancerIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FreelancerIndexService(freelancerRepository, competenceRepository, embeddingService,
+                new AiProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("reindex met à jour l'index lexical sans attendre le calcul de l'embedding")
+    void reindex_refreshesEmbeddingOffThread() throws Exception {
+        Freelancer freelancer = new Freelancer();
+        freelancer.setId(4L);
+        freelancer.setTitle("Développeur Java");
+        freelancer.setIsActive(true);
+        freelancer.setIsVerified(true);
+        freelancer.setIsAvailable(true);
+        when(freelancerRepository.findById(4L)).thenReturn(Optional.of(freelancer));
+        when(competenceRepository.findActiveByFreelancer(freelancer)).thenReturn(List.of());
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> release.await(5, TimeUnit.SECONDS))
+                .when(embeddingService).refreshFreelancer(eq(4L), anyString());
+
+        service.reindex(4L);
+
+        assertThat(service.search("java", 5)).hasSize(1);
+        release.countDown();
+        verify(embeddingService, timeout(2000)).refreshFreelancer(4L, "Développeur Java\n");
+    }
+}
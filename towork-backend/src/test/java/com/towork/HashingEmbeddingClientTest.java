@@ -0,0 +1,54 @@
+package com.towork;
+
+import com.towork.ai.client.HashingEmbeddingClient;
+import com.towork.ai.config.AiProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HashingEmbeddingClientTest {
+
+    private final HashingEmbeddingClient client = new HashingEmbeddingClient(new AiProperties.Embedding());
+
+    private static double cosine(List<Double> a, List<Double> b) {
+        double dot = 0.0;
+        for (int i = 0; i < a.size(); i++) {
+            dot += a.get(i) * b.get(i);
+        }
+        return dot;
+    }
+
+    @Test
+    @DisplayName("les vecteurs sont normés, déterministes et de la dimension configurée")
+    void embed_isNormalizedAndDeterministic() {
+        List<Double> first = client.embed("Développeur Java Spring Boot");
+        List<Double> second = client.embed("Développeur Java Spring Boot");
+
+        assertThat(first).hasSize(512).isEqualTo(second);
+        assertThat(cosine(first, first)).isCloseTo(1.0, within(1e-9));
+        assertThat(client.embed("")).allMatch(value -> value == 0.0);
+    }
+
+    @Test
+    @DisplayName("les variantes d'un même métier sont plus proches qu'un métier sans rapport")
+    void embed_placesRelatedTextsCloser() {
+        List<Double> query = client.embed("Développeuse backend Java Spring");
+        List<Double> related = client.embed("Java developer, Spring Boot microservices backend");
+        List<Double> unrelated = client.embed("Graphiste illustration logo Photoshop");
+
+        assertThat(cosine(query, related)).isGreaterThan(cosine(query, unrelated) + 0.2);
+    }
+
+    @Test
+    @DisplayName("après fit, un mot présent partout pèse moins qu'une compétence rare")
+    void fit_downweightsCommonTerms() {
+        client.fit(List.of("freelance java", "freelance python", "freelance design", "freelance kotlin"));
+
+        List<Double> query = client.embed("freelance kotlin");
+
+        assertThat(cosine(query, client.embed("kotlin"))).isGreaterThan(cosine(query, client.embed("freelance")));
+    }
+}
@@ -0,0 +1,44 @@
+package com.towork;
+
+import com.towork.ai.util.IncrementalJsonParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IncrementalJsonParserTest {
+
+    @Test
+    @DisplayName("les champs texte sont émis au fil des fragments reçus")
+    void feed_emitsPartialFieldValues() {
+        List<String> deltas = new ArrayList<>();
+        IncrementalJsonParser parser = new IncrementalJsonParser((field, text) -> deltas.add(field + "=" + text));
+
+        parser.feed("{\"tit");
+        parser.feed("le\": \"Dévelop");
+        parser.feed("peur Java\", \"notes\": \"ok\"}");
+
+        assertThat(deltas).containsExactly("title=Dévelop", "title=peur Java", "notes=ok");
+        assertThat(parser.content()).isEqualTo("{\"title\": \"Développeur Java\", \"notes\": \"ok\"}");
+    }
+
+    @Test
+    @DisplayName("les échappements sont décodés et les valeurs imbriquées ignorées")
+    void feed_decodesEscapesAndSkipsNested() {
+        Map<String, StringBuilder> fields = new LinkedHashMap<>();
+        IncrementalJsonParser parser = new IncrementalJsonParser(
+                (field, text) -> fields.computeIfAbsent(field, key -> new StringBuilder()).append(text));
+
+        parser.feed("{\"meta\": {\"x\": \"skip\"}, \"tags\": [\"a\", \"b\"], ");
+        parser.feed("\"content\": \"ligne 1\\nligne \\\"2\\\" \\u00e9\\");
+        parser.feed("té\"}");
+
+        assertThat(fields).containsOnlyKeys("content");
+        assertThat(fields.get("content").toString()).isEqualTo("ligne 1\nligne \"2\" é\té");
+    }
+}
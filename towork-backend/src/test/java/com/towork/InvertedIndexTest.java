@@ -0,0 +1,104 @@
+package com.towork;
+
+import com.towork.ai.matching.InvertedIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    @Test
+    @DisplayName("search classe par ratio de termes trouvés puis par fréquence")
+    void search_ranksByCoverageThenFrequency() {
+        InvertedIndex index = new InvertedIndex();
+        index.rebuild(Map.of(
+                1L, "Java developer, Spring Boot",
+                2L, "Java Java backend with Spring and PostgreSQL",
+                3L, "Graphic designer"
+        ));
+
+        List<InvertedIndex.Hit> hits = index.search(InvertedIndex.queryTerms("Spring Java PostgreSQL"), 10);
+
+        assertThat(hits).extracting(InvertedIndex.Hit::getDocumentId).containsExactly(2L, 1L);
+        assertThat(hits.get(0).getScore()).isEqualTo(1.0);
+        assertThat(hits.get(1).getMatchedTerms()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("put remplace le document et remove le retire des posting lists")
+    void put_and_remove_updatePostings() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, "Angular frontend");
+        index.put(2L, "Angular and React");
+        index.put(1L, "Kotlin mobile");
+
+        assertThat(index.search(InvertedIndex.queryTerms("angular"), 5))
+                .extracting(InvertedIndex.Hit::getDocumentId).containsExactly(2L);
+        assertThat(index.search(InvertedIndex.queryTerms("kotlin"), 5))
+                .extracting(InvertedIndex.Hit::getDocumentId).containsExactly(1L);
+
+        index.remove(2L);
+        index.put(3L, "React native");
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search(InvertedIndex.queryTerms("angular react"), 5))
+                .extracting(InvertedIndex.Hit::getDocumentId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("search limite le nombre de résultats")
+    void search_respectsLimit() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 50; id++) {
+            index.put(id, "python data " + (id % 2 == 0 ? "pandas" : ""));
+        }
+
+        List<InvertedIndex.Hit> hits = index.search(InvertedIndex.queryTerms("python pandas"), 5);
+
+        assertThat(hits).hasSize(5);
+        assertThat(hits).allMatch(hit -> hit.getMatchedTerms() == 2);
+    }
+
+    @Test
+    @DisplayName("bm25 note les documents indexés et un profil hors index avec les mêmes statistiques du corpus")
+    void bm25_scoresIndexedAndOutsideDocuments() {
+        InvertedIndex index = new InvertedIndex();
+        index.rebuild(Map.of(
+                1L, "Java developer, Spring Boot",
+                2L, "Java Java backend with Spring and PostgreSQL",
+                3L, "Graphic designer"
+        ));
+
+        var terms = InvertedIndex.queryTerms("Spring PostgreSQL");
+        Map<Long, Double> scores = index.bm25(terms, List.of(1L, 2L, 3L, 42L));
+
+        assertThat(scores).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(scores.get(2L)).isGreaterThan(scores.get(1L)).isLessThan(1.0);
+        assertThat(scores.get(3L)).isZero();
+        assertThat(index.bm25(terms, "Java developer, Spring Boot")).isCloseTo(scores.get(1L), within(1e-9));
+    }
+
+    @Test
+    @DisplayName("searchBm25 privilégie les termes rares et renvoie le score BM25 normalisé")
+    void searchBm25_ranksByBm25() {
+        InvertedIndex index = new InvertedIndex();
+        index.rebuild(Map.of(
+                1L, "Java Java Java developer",
+                2L, "Java Kubernetes",
+                3L, "Java backend",
+                4L, "Java frontend"
+        ));
+
+        var terms = InvertedIndex.queryTerms("Java Kubernetes");
+        List<InvertedIndex.Hit> hits = index.searchBm25(terms, 2);
+
+        assertThat(hits).extracting(InvertedIndex.Hit::getDocumentId).containsExactly(2L, 1L);
+        assertThat(hits.get(0).getScore())
+                .isCloseTo(index.bm25(terms, List.of(2L)).get(2L), within(1e-9))
+                .isLessThan(1.0);
+    }
+}
@@ -1,6 +1,7 @@
 package com.towork;
 
 
+import com.towork.common.ModerationStatus;
 import com.towork.exception.BusinessException;
 import com.towork.exception.ResourceNotFoundException;
 import com.towork.conversation.entity.Message;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
@@ -32,6 +34,7 @@ class MessageServiceImplTest {
     @Mock private MessageRepository messageRepository;
     @Mock private com.towork.user.repository.ClientRepository clientRepository;
     @Mock private com.towork.user.repository.FreelancerRepository freelancerRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private MessageServiceImpl service;
@@ -69,6 +72,7 @@ class MessageServiceImplTest {
         Message saved = service.createMessage(message);
 
         assertThat(saved.getIsRead()).isFalse();
+        assertThat(saved.getModerationStatus()).isEqualTo(ModerationStatus.PENDING);
         verify(messageRepository).save(saved);
     }
 
@@ -103,6 +107,28 @@ class MessageServiceImplTest {
                 .hasMessageContaining("Cannot update a read message");
     }
 
+    @Test
+    @DisplayName("updateMessage repasse en attente et efface le signalement de l'ancien contenu")
+    void update_clearsPreviousVerdict() {
+        Message existing = newMessage();
+        existing.setIsRead(false);
+        existing.setModerationStatus(ModerationStatus.FLAGGED);
+        existing.setIsFlagged(true);
+        existing.setFlagScore(0.7);
+        existing.setFlagLabel("SPAM");
+        existing.setFlagReason("lien suspect");
+        when(messageRepository.findById(3L)).thenReturn(Optional.of(existing));
+        when(messageRepository.save(any(Message.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Message updated = service.updateMessage(3L, newMessage());
+
+        assertThat(updated.getModerationStatus()).isEqualTo(ModerationStatus.PENDING);
+        assertThat(updated.getIsFlagged()).isFalse();
+        assertThat(updated.getFlagScore()).isNull();
+        assertThat(updated.getFlagLabel()).isNull();
+        assertThat(updated.getFlagReason()).isNull();
+    }
+
     @Test
     @DisplayName("markAsRead bascule le flag ou lève une exception si déjà lu")
     void markAsRead_behavior() {
@@ -126,10 +152,12 @@ class MessageServiceImplTest {
         Message message = newMessage();
         when(clientRepository.findById(1L)).thenReturn(Optional.of(sender));
         when(freelancerRepository.findById(2L)).thenReturn(Optional.of(receiver));
-        when(messageRepository.findBySender(sender)).thenReturn(List.of(message));
-        when(messageRepository.findByReceiver(receiver)).thenReturn(List.of(message));
-        when(messageRepository.findBySenderAndReceiver(sender, receiver)).thenReturn(List.of(message));
-        when(messageRepository.findAll(Pageable.unpaged())).thenReturn(new PageImpl<>(List.of(message)));
+        when(messageRepository.findBySenderAndModerationStatusNot(sender, ModerationStatus.BLOCKED)).thenReturn(List.of(message));
+        when(messageRepository.findByReceiverAndModerationStatusNot(receiver, ModerationStatus.BLOCKED)).thenReturn(List.of(message));
+        when(messageRepository.findBySenderAndReceiverAndModerationStatusNot(sender, receiver, ModerationStatus.BLOCKED))
+                .thenReturn(List.of(message));
+        when(messageRepository.findByModerationStatusNot(ModerationStatus.BLOCKED, Pageable.unpaged()))
+                .thenReturn(new PageImpl<>(List.of(message)));
         when(messageRepository.findUnreadMessagesByReceiver(receiver)).thenReturn(List.of(message));
         when(messageRepository.countUnreadMessagesByReceiver(receiver)).thenReturn(1L);
 
@@ -142,9 +170,9 @@ class MessageServiceImplTest {
     }
 
     @Test
-    @DisplayName("getMessageById lève ResourceNotFoundException si absent")
+    @DisplayName("getMessageById lève ResourceNotFoundException si absent ou bloqué")
     void getMessageById_missing() {
-        when(messageRepository.findById(404L)).thenReturn(Optional.empty());
+        when(messageRepository.findByIdAndModerationStatusNot(404L, ModerationStatus.BLOCKED)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.getMessageById(404L))
                 .isInstanceOf(ResourceNotFoundException.class)
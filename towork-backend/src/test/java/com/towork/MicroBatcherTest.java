@@ -0,0 +1,113 @@
+package com.towork;
+
+import com.towork.ai.util.MicroBatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MicroBatcherTest {
+
+    @Test
+    @DisplayName("submit regroupe les appels et rend chaque résultat à son appelant")
+    void submit_coalescesIntoOneBatch() {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        try (MicroBatcher<String, Integer> batcher = new MicroBatcher<>("test", 3, Duration.ofSeconds(5), 2, inputs -> {
+            batchSizes.add(inputs.size());
+            return inputs.stream().map(String::length).collect(Collectors.toList());
+        })) {
+            CompletableFuture<Integer> a = batcher.submit("a");
+            CompletableFuture<Integer> bb = batcher.submit("bb");
+            CompletableFuture<Integer> ccc = batcher.submit("ccc");
+
+            assertThat(List.of(a.join(), bb.join(), ccc.join())).containsExactly(1, 2, 3);
+            assertThat(batchSizes).containsExactly(3);
+        }
+    }
+
+    @Test
+    @DisplayName("le délai maximal déclenche un lot partiel")
+    void submit_flushesAfterMaxWait() {
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", 100, Duration.ofMillis(10), 2,
+                inputs -> inputs.stream().map(String::toUpperCase).collect(Collectors.toList()))) {
+            assertThat(batcher.submit("java").join()).isEqualTo("JAVA");
+        }
+    }
+
+    @Test
+    @DisplayName("une erreur du handler est propagée à tous les appelants du lot")
+    void submit_propagatesHandlerFailure() {
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", 2, Duration.ofSeconds(5), 2, inputs -> {
+            throw new IllegalStateException("boom");
+        })) {
+            CompletableFuture<String> first = batcher.submit("x");
+            CompletableFuture<String> second = batcher.submit("y");
+
+            assertThatThrownBy(first::join).isInstanceOf(CompletionException.class).hasRootCauseMessage("boom");
+            assertThatThrownBy(second::join).isInstanceOf(CompletionException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("au-delà des lots en cours et en attente, un lot déclenché est rejeté au lieu d'ouvrir un thread")
+    void flush_rejectsBeyondConcurrencyBound() {
+        CountDownLatch release = new CountDownLatch(1);
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", 100, Duration.ofSeconds(5), 1, inputs -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return inputs;
+        })) {
+            CompletableFuture<String> running = batcher.submit("a");
+            batcher.flush();
+            CompletableFuture<String> waiting = batcher.submit("b");
+            batcher.flush();
+            CompletableFuture<String> rejected = batcher.submit("c");
+            batcher.flush();
+
+            assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+            release.countDown();
+            assertThat(running.join()).isEqualTo("a");
+            assertThat(waiting.join()).isEqualTo("b");
+        }
+    }
+
+    @Test
+    @DisplayName("un lot plein est traité hors du thread appelant et rejeté au-delà de la borne de concurrence")
+    void submit_dispatchesFullBatchOffCallerThread() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> handlerThreads = new CopyOnWriteArrayList<>();
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>("test", 1, Duration.ofSeconds(5), 1, inputs -> {
+            handlerThreads.add(Thread.currentThread());
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return inputs;
+        })) {
+            CompletableFuture<String> running = batcher.submit("a");
+            CompletableFuture<String> waiting = batcher.submit("b");
+            CompletableFuture<String> rejected = batcher.submit("c");
+
+            assertThat(running).isNotDone();
+            assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+            release.countDown();
+            assertThat(running.join()).isEqualTo("a");
+            assertThat(waiting.join()).isEqualTo("b");
+            assertThat(handlerThreads).doesNotContain(Thread.currentThread());
+        }
+    }
+}
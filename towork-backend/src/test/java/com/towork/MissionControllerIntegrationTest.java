@@ -1,10 +1,14 @@
 package com.towork;
 
+import com.towork.ai.service.MissionFeedService;
+import com.towork.ai.service.MissionRecommendationService;
+import com.towork.ai.service.MissionSummaryService;
 import com.towork.candidature.service.CandidatureService;
 import com.towork.mission.controller.MissionController;
 import com.towork.mission.entity.Mission;
 import com.towork.mission.entity.MissionStatus;
 import com.towork.mission.service.MissionService;
+import com.towork.security.JwtService;
 import com.towork.user.repository.ClientRepository;
 import com.towork.user.repository.FreelancerRepository;
 import org.junit.jupiter.api.Test;
@@ -12,7 +16,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -42,6 +48,24 @@ class MissionControllerIntegrationTest {
     @MockBean
     private FreelancerRepository freelancerRepository;
 
+    @MockBean
+    private MissionRecommendationService missionRecommendationService;
+
+    @MockBean
+    private MissionFeedService missionFeedService;
+
+    @MockBean
+    private MissionSummaryService missionSummaryService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
     @Test
     void submitFinalDelivery_returnsPendingClosureMission() throws Exception {
         Mission mission = new Mission();
@@ -0,0 +1,172 @@
+package com.towork;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.service.MissionFeedService;
+import com.towork.mission.entity.Mission;
+import com.towork.mission.entity.MissionStatus;
+import com.towork.mission.event.MissionChangedEvent;
+import com.towork.mission.repository.MissionRepository;
+import com.towork.user.entity.Freelancer;
+import com.towork.user.repository.CompetenceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MissionFeedServiceTest {
+
+    @Mock private MissionRepository missionRepository;
+    @Mock private CompetenceRepository competenceRepository;
+
+    private final AiProperties properties = new AiProperties();
+    private final Map<Long, Mission> missions = new HashMap<>();
+    private MissionFeedService service;
+    private Freelancer freelancer;
+
+    @BeforeEach
+    void setUp() {
+        properties.getFeed().setLatencyBudgetMillis(2000);
+        service = new MissionFeedService(missionRepository, competenceRepository, properties);
+        freelancer = new Freelancer();
+        freelancer.setId(9L);
+        freelancer.setTitle("Java developer");
+        freelancer.setSkills("Spring Boot, PostgreSQL");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private Mission mission(long id, String title, MissionStatus status) {
+        Mission mission = new Mission();
+        mission.setId(id);
+        mission.setTitle(title);
+        mission.setDescription(title);
+        mission.setStatus(status);
+        missions.put(id, mission);
+        return mission;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubLookups() {
+        when(missionRepository.findAllById(any())).thenAnswer(inv -> ((Collection<Long>) inv.getArgument(0)).stream()
+                .map(missions::get).toList());
+    }
+
+    @Test
+    @DisplayName("le fil classe les missions publiées selon le profil du freelancer et pagine le résultat")
+    void feed_ranksAndPaginates() {
+        when(missionRepository.findPublishedMissionsOrderByCreatedAt()).thenReturn(List.of(
+                mission(1L, "Backend Java Spring PostgreSQL", MissionStatus.PUBLISHED),
+                mission(2L, "Logo designer", MissionStatus.PUBLISHED),
+                mission(3L, "Java batch", MissionStatus.PUBLISHED)));
+        stubLookups();
+        service.rebuild();
+
+        Page<Mission> first = service.feed(freelancer, PageRequest.of(0, 1));
+        Page<Mission> second = service.feed(freelancer, PageRequest.of(1, 1));
+
+        assertThat(first.getContent()).extracting(Mission::getId).containsExactly(1L);
+        assertThat(second.getContent()).extracting(Mission::getId).containsExactly(3L);
+        assertThat(first.getTotalElements()).isEqualTo(2);
+        verify(competenceRepository, times(1)).findActiveByFreelancer(freelancer);
+    }
+
+    @Test
+    @DisplayName("une mission publiée ou clôturée met à jour les fils en cache sans les recalculer")
+    void onMissionChanged_patchesCachedFeeds() {
+        when(missionRepository.findPublishedMissionsOrderByCreatedAt())
+                .thenReturn(List.of(mission(1L, "Java", MissionStatus.PUBLISHED)));
+        stubLookups();
+        service.rebuild();
+        service.feed(freelancer, PageRequest.of(0, 10));
+
+        Mission published = mission(4L, "Java Spring PostgreSQL", MissionStatus.PUBLISHED);
+        Mission closed = mission(1L, "Java", MissionStatus.COMPLETED);
+        when(missionRepository.findById(4L)).thenReturn(Optional.of(published));
+        when(missionRepository.findById(1L)).thenReturn(Optional.of(closed));
+        service.onMissionChanged(new MissionChangedEvent(4L));
+        service.onMissionChanged(new MissionChangedEvent(1L));
+
+        assertThat(service.feed(freelancer, PageRequest.of(0, 10)).getContent())
+                .extracting(Mission::getId).containsExactly(4L);
+        verify(competenceRepository, times(1)).findActiveByFreelancer(freelancer);
+    }
+
+    @Test
+    @DisplayName("hors budget de latence, le fil froid répond avec les dernières missions publiées")
+    void feed_fallsBackWhenOverBudget() {
+        properties.getFeed().setLatencyBudgetMillis(0);
+        Page<Mission> latest = new PageImpl<>(List.of(mission(5L, "Recent", MissionStatus.PUBLISHED)));
+        when(missionRepository.findByStatusAndIsActiveTrueOrderByCreatedAtDesc(eq(MissionStatus.PUBLISHED), any()))
+                .thenReturn(latest);
+        lenient().when(competenceRepository.findActiveByFreelancer(freelancer)).thenAnswer(inv -> {
+            Thread.sleep(200);
+            return List.of();
+        });
+
+        assertThat(service.feed(freelancer, PageRequest.of(0, 10))).isSameAs(latest);
+    }
+
+    @Test
+    @DisplayName("un profil sans terme indexable reçoit les dernières missions publiées au lieu d'un fil vide")
+    void feed_emptyProfileFallsBack() {
+        Freelancer blank = new Freelancer();
+        blank.setId(10L);
+        Page<Mission> latest = new PageImpl<>(List.of(mission(5L, "Recent", MissionStatus.PUBLISHED)));
+        when(missionRepository.findByStatusAndIsActiveTrueOrderByCreatedAtDesc(eq(MissionStatus.PUBLISHED), any()))
+                .thenReturn(latest);
+
+        assertThat(service.feed(blank, PageRequest.of(0, 10))).isSameAs(latest);
+    }
+
+    @Test
+    @DisplayName("un fil calculé pendant une modification de mission n'est pas mis en cache")
+    void feed_skipsCachingAcrossMissionChange() throws Exception {
+        when(missionRepository.findPublishedMissionsOrderByCreatedAt())
+                .thenReturn(List.of(mission(1L, "Java", MissionStatus.PUBLISHED)));
+        stubLookups();
+        service.rebuild();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(competenceRepository.findActiveByFreelancer(freelancer)).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        Mission published = mission(4L, "Java Spring", MissionStatus.PUBLISHED);
+        when(missionRepository.findById(4L)).thenReturn(Optional.of(published));
+
+        CompletableFuture<Page<Mission>> first = CompletableFuture.supplyAsync(
+                () -> service.feed(freelancer, PageRequest.of(0, 10)));
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+        service.onMissionChanged(new MissionChangedEvent(4L));
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertThat(service.feed(freelancer, PageRequest.of(0, 10)).getContent())
+                .extracting(Mission::getId).contains(4L);
+        verify(competenceRepository, times(2)).findActiveByFreelancer(freelancer);
+    }
+}
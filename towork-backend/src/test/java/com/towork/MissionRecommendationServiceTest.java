@@ -0,0 +1,132 @@
+package com.towork;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiFreelancerMatchDto;
+import com.towork.ai.service.AiMatchingService;
+import com.towork.ai.service.MissionRecommendationService;
+import com.towork.mission.entity.Mission;
+import com.towork.mission.entity.MissionStatus;
+import com.towork.mission.event.MissionChangedEvent;
+import com.towork.mission.repository.MissionRepository;
+import com.towork.user.event.FreelancerChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MissionRecommendationServiceTest {
+
+    @Mock private AiMatchingService aiMatchingService;
+    @Mock private MissionRepository missionRepository;
+
+    private MissionRecommendationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MissionRecommendationService(aiMatchingService, missionRepository, new AiProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private CompletableFuture<List<AiFreelancerMatchDto>> matches(long... freelancerIds) {
+        List<AiFreelancerMatchDto> matches = new ArrayList<>();
+        for (long id : freelancerIds) {
+            matches.add(new AiFreelancerMatchDto(id, "F" + id, null, 0.5, "Keyword overlap"));
+        }
+        return CompletableFuture.completedFuture(matches);
+    }
+
+    @Test
+    @DisplayName("les limites d'un même palier partagent une entrée en cache et la liste est tronquée")
+    void recommend_servesRepeatViewsFromCache() {
+        when(aiMatchingService.recommendFreelancersAsync(1L, 10)).thenReturn(matches(1, 2, 3, 4, 5, 6, 7));
+
+        List<AiFreelancerMatchDto> first = service.recommend(1L, 7).join();
+        List<AiFreelancerMatchDto> second = service.recommend(1L, 6).join();
+
+        assertThat(first).hasSize(7);
+        assertThat(second).extracting(AiFreelancerMatchDto::getFreelancerId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        verify(aiMatchingService, times(1)).recommendFreelancersAsync(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("une modification de mission vide ses entrées et relance le calcul en arrière-plan si publiée")
+    void onMissionChanged_invalidatesAndWarms() {
+        Mission mission = new Mission();
+        mission.setStatus(MissionStatus.PUBLISHED);
+        when(missionRepository.findById(1L)).thenReturn(Optional.of(mission));
+        when(aiMatchingService.recommendFreelancersAsync(1L, 5)).thenReturn(matches(1), matches(2));
+
+        service.recommend(1L, 5).join();
+        service.onMissionChanged(new MissionChangedEvent(1L));
+
+        verify(aiMatchingService, timeout(2000).times(2)).recommendFreelancersAsync(1L, 5);
+    }
+
+    @Test
+    @DisplayName("un freelancer modifié disparaît immédiatement des listes en cache qui le contiennent")
+    void onFreelancerChanged_dropsEntriesListingFreelancer() {
+        when(aiMatchingService.recommendFreelancersAsync(1L, 5)).thenReturn(matches(1, 2), matches(2));
+
+        service.recommend(1L, 5).join();
+        service.onFreelancerChanged(new FreelancerChangedEvent(1L));
+        List<AiFreelancerMatchDto> after = service.recommend(1L, 5).join();
+
+        assertThat(after).extracting(AiFreelancerMatchDto::getFreelancerId).containsExactly(2L);
+        verify(aiMatchingService, times(2)).recommendFreelancersAsync(1L, 5);
+    }
+
+    @Test
+    @DisplayName("un freelancer absent des listes en cache ne provoque aucun recalcul")
+    void onFreelancerChanged_keepsUnrelatedEntries() {
+        when(aiMatchingService.recommendFreelancersAsync(1L, 5)).thenReturn(matches(1, 2));
+
+        service.recommend(1L, 5).join();
+        service.onFreelancerChanged(new FreelancerChangedEvent(9L));
+        service.recommend(1L, 5).join();
+
+        verify(aiMatchingService, after(200).times(1)).recommendFreelancersAsync(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("un freelancer modifié pendant le calcul empêche la mise en cache du résultat")
+    void compute_skipsCachingAcrossFreelancerChange() {
+        CompletableFuture<List<AiFreelancerMatchDto>> pending = new CompletableFuture<>();
+        when(aiMatchingService.recommendFreelancersAsync(1L, 5)).thenReturn(pending, matches(2));
+
+        CompletableFuture<List<AiFreelancerMatchDto>> first = service.recommend(1L, 5);
+        service.onFreelancerChanged(new FreelancerChangedEvent(1L));
+        pending.complete(matches(1, 2).join());
+
+        assertThat(first.join()).hasSize(2);
+        assertThat(service.recommend(1L, 5).join()).extracting(AiFreelancerMatchDto::getFreelancerId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("une limite au-delà du dernier palier partage l'entrée de ce palier")
+    void recommend_clampsLargeLimits() {
+        when(aiMatchingService.recommendFreelancersAsync(1L, 50)).thenReturn(matches(1, 2, 3));
+
+        service.recommend(1L, 500).join();
+        service.recommend(1L, 80).join();
+
+        verify(aiMatchingService, times(1)).recommendFreelancersAsync(1L, 50);
+    }
+}
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
@@ -46,6 +47,7 @@ class MissionServiceImplTest {
    @Mock private CandidatureRepository candidatureRepository;
    @Mock private MilestoneRepository milestoneRepository;
    @Mock private PaymentService paymentService;
+   @Mock private ApplicationEventPublisher eventPublisher;
 
    @InjectMocks
    private MissionServiceImpl service;
@@ -0,0 +1,127 @@
+package com.towork;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.dto.AiSummaryResponse;
+import com.towork.ai.entity.MissionAiSummary;
+import com.towork.ai.repository.MissionAiSummaryRepository;
+import com.towork.ai.service.AiFeatureService;
+import com.towork.ai.service.MissionSummaryService;
+import com.towork.ai.util.AiVectorUtils;
+import com.towork.mission.entity.Mission;
+import com.towork.mission.entity.MissionStatus;
+import com.towork.mission.event.MissionChangedEvent;
+import com.towork.mission.repository.MissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MissionSummaryServiceTest {
+
+    private static final String TEXT = "Backend Java";
+
+    @Mock private AiFeatureService aiFeatureService;
+    @Mock private MissionAiSummaryRepository missionAiSummaryRepository;
+    @Mock private MissionRepository missionRepository;
+
+    private MissionSummaryService service;
+    private Mission mission;
+
+    @BeforeEach
+    void setUp() {
+        service = new MissionSummaryService(aiFeatureService, missionAiSummaryRepository, missionRepository,
+                new ObjectMapper());
+        mission = new Mission();
+        mission.setId(5L);
+        mission.setTitle("Backend Java");
+        mission.setStatus(MissionStatus.PUBLISHED);
+        when(aiFeatureService.buildMissionText(any(), any(), any(), any())).thenReturn(TEXT);
+    }
+
+    private MissionAiSummary stored(String hash) {
+        MissionAiSummary summary = new MissionAiSummary();
+        summary.setMissionId(5L);
+        summary.setLanguage("fr");
+        summary.setContentHash(hash);
+        summary.setSummary("Mission backend");
+        summary.setNextSteps("[\"Publier\"]");
+        return summary;
+    }
+
+    @Test
+    @DisplayName("un résumé stocké pour la version courante est servi sans appel au modèle")
+    void summarize_servesCurrentVersionFromTable() {
+        when(missionAiSummaryRepository.findByMissionIdAndLanguage(5L, "fr"))
+                .thenReturn(Optional.of(stored(AiVectorUtils.sha256(TEXT + "\nPUBLISHED"))));
+
+        AiSummaryResponse summary = service.summarize(mission, null).join();
+
+        assertThat(summary.getSummary()).isEqualTo("Mission backend");
+        assertThat(summary.getNextSteps()).containsExactly("Publier");
+        verify(aiFeatureService, never()).generateMissionSummaryAsync(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("un résumé d'une version précédente est régénéré et remplacé")
+    void summarize_regeneratesStaleVersion() {
+        MissionAiSummary stale = stored("old");
+        when(missionAiSummaryRepository.findByMissionIdAndLanguage(5L, "fr")).thenReturn(Optional.of(stale));
+        AiSummaryResponse generated = new AiSummaryResponse("Nouvelle version", List.of("Recruter"));
+        when(aiFeatureService.generateMissionSummaryAsync(TEXT, "PUBLISHED", "fr"))
+                .thenReturn(CompletableFuture.completedFuture(generated));
+
+        assertThat(service.summarize(mission, "FR").join()).isSameAs(generated);
+
+        verify(missionAiSummaryRepository).save(stale);
+        assertThat(stale.getContentHash()).isEqualTo(AiVectorUtils.sha256(TEXT + "\nPUBLISHED"));
+        assertThat(stale.getSummary()).isEqualTo("Nouvelle version");
+    }
+
+    @Test
+    @DisplayName("une modification de mission régénère en arrière-plan les langues déjà générées")
+    void onMissionChanged_regeneratesStoredLanguages() {
+        MissionAiSummary english = stored("old");
+        english.setLanguage("en");
+        when(missionAiSummaryRepository.findByMissionId(5L)).thenReturn(List.of(english));
+        when(missionRepository.findById(5L)).thenReturn(Optional.of(mission));
+        when(missionAiSummaryRepository.findByMissionIdAndLanguage(5L, "en")).thenReturn(Optional.of(english));
+        when(aiFeatureService.generateMissionSummaryAsync(TEXT, "PUBLISHED", "en"))
+                .thenReturn(CompletableFuture.completedFuture(new AiSummaryResponse("Backend mission", List.of())));
+
+        service.onMissionChanged(new MissionChangedEvent(5L));
+
+        ArgumentCaptor<MissionAiSummary> saved = ArgumentCaptor.forClass(MissionAiSummary.class);
+        verify(missionAiSummaryRepository).save(saved.capture());
+        assertThat(saved.getValue().getLanguage()).isEqualTo("en");
+        assertThat(saved.getValue().getSummary()).isEqualTo("Backend mission");
+    }
+
+    @Test
+    @DisplayName("une langue inconnue est ramenée au français et une variante régionale à sa langue principale")
+    void summarize_normalizesLanguage() {
+        String hash = AiVectorUtils.sha256(TEXT + "\nPUBLISHED");
+        when(missionAiSummaryRepository.findByMissionIdAndLanguage(5L, "fr")).thenReturn(Optional.of(stored(hash)));
+        MissionAiSummary english = stored(hash);
+        english.setLanguage("en");
+        when(missionAiSummaryRepository.findByMissionIdAndLanguage(5L, "en")).thenReturn(Optional.of(english));
+
+        service.summarize(mission, "x".repeat(200)).join();
+        service.summarize(mission, "en-US").join();
+
+        verify(missionAiSummaryRepository).findByMissionIdAndLanguage(5L, "fr");
+        verify(missionAiSummaryRepository).findByMissionIdAndLanguage(5L, "en");
+        verify(aiFeatureService, never()).generateMissionSummaryAsync(any(), any(), any());
+    }
+}
@@ -0,0 +1,80 @@
+package com.towork;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.dto.AiModerationResponse;
+import com.towork.ai.service.ModerationPrefilter;
+import com.towork.ai.util.AhoCorasick;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ModerationPrefilterTest {
+
+    private SimpleMeterRegistry registry;
+    private ModerationPrefilter prefilter;
+
+    @BeforeEach
+    void setUp() {
+        AiProperties properties = new AiProperties();
+        properties.getModeration().getPrefilter().setLexicon(Map.of(
+                "SCAM", List.of("western union", "carte cadeau"),
+                "HARASSMENT", List.of("connard")));
+        registry = new SimpleMeterRegistry();
+        prefilter = new ModerationPrefilter(properties, registry);
+    }
+
+    @Test
+    @DisplayName("AhoCorasick trouve toutes les occurrences, y compris imbriquées, sans tenir compte de la casse")
+    void automaton_overlappingMatches() {
+        AhoCorasick automaton = new AhoCorasick(List.of("he", "she", "hers", "his"));
+        List<String> found = new ArrayList<>();
+        String text = "uSHErs";
+
+        automaton.scan(text, (pattern, start, end) -> found.add(text.substring(start, end).toLowerCase()));
+
+        assertThat(found).containsExactlyInAnyOrder("she", "he", "hers");
+    }
+
+    @Test
+    @DisplayName("un message sans signal est accepté localement et un message d'arnaque est rejeté sans appel au modèle")
+    void acceptAndReject() {
+        Optional<AiModerationResponse> clean = prefilter.evaluate("Bonjour, disponible lundi.");
+        Optional<AiModerationResponse> scam = prefilter.evaluate(
+                "Paiement par Western Union ou carte cadeau, écrivez-moi : https://bit.ly/x ou 06 12 34 56 78");
+
+        assertThat(clean).hasValueSatisfying(r -> assertThat(r.getFlagged()).isFalse());
+        assertThat(scam).hasValueSatisfying(r -> {
+            assertThat(r.getFlagged()).isTrue();
+            assertThat(r.getLabel()).isEqualTo("SCAM");
+        });
+        assertThat(registry.counter("ai.moderation.prefilter", "decision", "accept").count()).isEqualTo(1.0);
+        assertThat(registry.counter("ai.moderation.prefilter", "decision", "reject").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("un signal isolé ou un long message sans signal est laissé au modèle et les termes ne matchent qu'en mot entier")
+    void ambiguousGoesToModel() {
+        assertThat(prefilter.evaluate("Voici mon portfolio : https://exemple.fr")).isEmpty();
+        assertThat(prefilter.evaluate(
+                "Pour avancer plus vite, réglez l'acompte directement sur mon compte personnel.")).isEmpty();
+        assertThat(prefilter.evaluate("Les connardises ne comptent pas")).isPresent()
+                .hasValueSatisfying(r -> assertThat(r.getFlagged()).isFalse());
+    }
+
+    @Test
+    @DisplayName("des dates jj/mm/aaaa ne sont pas comptées comme numéros de téléphone")
+    void datesAreNotPhoneNumbers() {
+        assertThat(prefilter.evaluate("Disponible du 12/05/2024 au 15/06/2024"))
+                .hasValueSatisfying(r -> assertThat(r.getFlagged()).isFalse());
+        assertThat(prefilter.evaluate("Appelez le +33 6 12 34 56 78 ou le 06.12.34.56.78 directement"))
+                .hasValueSatisfying(r -> assertThat(r.getReason()).contains("2 phone number(s)"));
+    }
+}
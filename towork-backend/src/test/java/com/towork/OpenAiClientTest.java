@@ -0,0 +1,88 @@
+package com.towork;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.towork.ai.client.AiException;
+import com.towork.ai.client.OpenAiClient;
+import com.towork.ai.config.AiProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OpenAiClientTest {
+
+    @Mock private HttpClient httpClient;
+    @Mock private HttpResponse<String> response;
+
+    private final AiProperties properties = new AiProperties();
+    private OpenAiClient client;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.getOpenai().setApiKey("test-key");
+        properties.getOpenai().setEmbeddingCoalesceMillis(0);
+        client = new OpenAiClient(properties, new ObjectMapper(), httpClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    private void respond(String body) {
+        when(response.statusCode()).thenReturn(200);
+        when(response.body()).thenReturn(body);
+        when(httpClient.<String>sendAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(response));
+    }
+
+    @Test
+    @DisplayName("les embeddings sont replacés selon leur index dans la réponse")
+    void embedBatch_ordersByIndex() {
+        respond("{\"data\":[{\"index\":1,\"embedding\":[2.0]},{\"index\":0,\"embedding\":[1.0]}]}");
+
+        assertThat(client.embedBatch(List.of("a", "b"))).containsExactly(List.of(1.0), List.of(2.0));
+    }
+
+    @Test
+    @DisplayName("un index dupliqué ou hors bornes fait échouer tout le lot au lieu de laisser un trou")
+    void embedBatch_rejectsInvalidIndices() {
+        respond("{\"data\":[{\"index\":0,\"embedding\":[1.0]},{\"index\":0,\"embedding\":[2.0]}]}");
+        assertThatThrownBy(() -> client.embedBatch(List.of("a", "b"))).isInstanceOf(AiException.class);
+
+        respond("{\"data\":[{\"index\":0,\"embedding\":[1.0]},{\"index\":5,\"embedding\":[2.0]}]}");
+        assertThatThrownBy(() -> client.embedBatch(List.of("a", "b"))).isInstanceOf(AiException.class);
+    }
+
+    @Test
+    @DisplayName("les latences des appels sans hedging alimentent la fenêtre, le hedging s'active dès qu'on l'allume")
+    void chat_recordsLatenciesWithHedgingOff() {
+        respond("{\"choices\":[{\"message\":{\"content\":\"ok\"}}]}");
+        for (int i = 0; i < 20; i++) {
+            assertThat(client.chat("system", "user", 0.2, 50)).isEqualTo("ok");
+        }
+
+        properties.getResilience().setHedgingEnabled(true);
+        properties.getResilience().setHedgingMinDelayMillis(10);
+        when(httpClient.<String>sendAsync(any(), any()))
+                .thenReturn(new CompletableFuture<>())
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        assertThat(client.chatAsync("system", "user", 0.2, 50).orTimeout(2, TimeUnit.SECONDS).join()).isEqualTo("ok");
+        verify(httpClient, times(22)).sendAsync(any(), any());
+    }
+}
@@ -0,0 +1,105 @@
+package com.towork;
+
+import com.towork.ai.matching.EmbeddingMatrix;
+import com.towork.ai.matching.QuantizedHnswIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class QuantizedHnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @TempDir
+    Path directory;
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static Set<Long> ids(List<EmbeddingMatrix.Hit> hits) {
+        return hits.stream().map(EmbeddingMatrix.Hit::getId).collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("la recherche approchée retrouve l'essentiel des voisins exacts et des scores en précision pleine")
+    void search_matchesExactScanRecall() {
+        Random random = new Random(7);
+        QuantizedHnswIndex index = new QuantizedHnswIndex(DIMENSIONS, 16, 100, 64, 4);
+        EmbeddingMatrix exact = new EmbeddingMatrix(DIMENSIONS);
+        for (long id = 0; id < 2000; id++) {
+            float[] vector = randomVector(random);
+            index.put(id, vector);
+            exact.put(id, vector);
+        }
+
+        int found = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomVector(random);
+            List<EmbeddingMatrix.Hit> expected = exact.search(query, 10);
+            List<EmbeddingMatrix.Hit> actual = index.search(query, 10);
+            Set<Long> overlap = new HashSet<>(ids(expected));
+            overlap.retainAll(ids(actual));
+            found += overlap.size();
+            assertThat(actual.get(0).getScore()).as("re-ranked scores are exact cosines")
+                    .isCloseTo(expected.get(0).getScore(), within(1e-4));
+        }
+        assertThat(found / 500.0).isGreaterThan(0.9);
+    }
+
+    @Test
+    @DisplayName("une suppression ou un remplacement retire l'ancien vecteur des résultats")
+    void removeAndReplace_hideOldVectors() {
+        QuantizedHnswIndex index = new QuantizedHnswIndex(2, 4, 16, 16, 2);
+        index.put(1L, new float[]{1f, 0f});
+        index.put(2L, new float[]{0f, 1f});
+        index.put(3L, new float[]{-1f, 0f});
+
+        index.remove(1L);
+        index.put(2L, new float[]{0.9f, 0.1f});
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search(new float[]{1f, 0f}, 3)).extracting(EmbeddingMatrix.Hit::getId)
+                .containsExactly(2L, 3L);
+        assertThat(index.deletedRatio()).isEqualTo(0.5);
+        assertThat(index.compacted().deletedRatio()).isZero();
+    }
+
+    @Test
+    @DisplayName("un snapshot rechargé par mmap répond comme l'index d'origine et accepte de nouvelles insertions")
+    void saveAndLoad_roundTrips() throws Exception {
+        Random random = new Random(11);
+        QuantizedHnswIndex index = new QuantizedHnswIndex(DIMENSIONS, 8, 50, 32, 4);
+        for (long id = 0; id < 300; id++) {
+            index.put(id, randomVector(random));
+        }
+        index.remove(5L);
+        Path snapshot = directory.resolve("freelancers.hnsw");
+        float[] query = randomVector(random);
+
+        index.save(snapshot, "text-embedding-3-small");
+        QuantizedHnswIndex loaded = QuantizedHnswIndex.load(snapshot, 50, 32, 4);
+        float[] added = randomVector(random);
+        loaded.put(1000L, added);
+
+        assertThat(loaded.model()).isEqualTo("text-embedding-3-small");
+        assertThat(loaded.size()).isEqualTo(300);
+        assertThat(loaded.contains(5L)).isFalse();
+        assertThat(loaded.search(query, 5)).extracting(EmbeddingMatrix.Hit::getId)
+                .containsExactlyElementsOf(index.search(query, 5).stream().map(EmbeddingMatrix.Hit::getId).toList());
+        assertThat(loaded.search(added, 1)).extracting(EmbeddingMatrix.Hit::getId).containsExactly(1000L);
+    }
+}
@@ -0,0 +1,60 @@
+package com.towork;
+
+import com.towork.ai.config.AiProperties;
+import com.towork.ai.service.ResumeTextExtractor;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ResumeTextExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path pdf(int pages) throws Exception {
+        Path file = tempDir.resolve("cv.pdf");
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 12);
+                    content.newLineAtOffset(50, 700);
+                    content.showText("Page " + i + " Java Spring");
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+
+    @Test
+    @DisplayName("extract s'arrête à la limite de pages")
+    void extract_pageLimit() throws Exception {
+        AiProperties properties = new AiProperties();
+        properties.getResume().setMaxPages(2);
+        properties.getResume().setScratchDirectory(tempDir.toString());
+
+        String text = new ResumeTextExtractor(properties).extract(pdf(4), 10_000);
+
+        assertThat(text).contains("Page 1", "Page 2").doesNotContain("Page 3");
+    }
+
+    @Test
+    @DisplayName("extract s'arrête dès que le budget de caractères est atteint")
+    void extract_charBudget() throws Exception {
+        String text = new ResumeTextExtractor(new AiProperties()).extract(pdf(3), 10);
+
+        assertThat(text).hasSize(10).startsWith("Page 1");
+    }
+}